@@ -0,0 +1,147 @@
+package com.recipeadjuster.benchmarks;
+
+import com.recipeadjuster.ingredient.service.SemanticMatchService;
+import com.recipeadjuster.ingredient.similarity.ScalarVectorSimilarity;
+import com.recipeadjuster.ingredient.similarity.SimdVectorSimilarity;
+import com.recipeadjuster.ingredient.similarity.VectorSimilarity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy boxed cosine vs. the scalar and Vector API kernels on 384-dim
+ * embeddings, one-vs-one and one-vs-many.
+ * <pre>
+ * java --add-modules jdk.incubator.vector -jar target/benchmarks.jar CosineSimilarityBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class CosineSimilarityBenchmark {
+
+    private static final int DIMENSIONS = 384;
+
+    @Param({"1000"})
+    private int rows;
+
+    private List<Double> boxedA;
+    private List<Double> boxedB;
+    private float[] floatA;
+    private float[] floatB;
+    private byte[] int8A;
+    private byte[] int8B;
+    private float[] matrix;
+    private float[] norms;
+    private float[] scores;
+
+    // cosineSimilarity touches no collaborators
+    private final SemanticMatchService legacy = new SemanticMatchService(null, null, null);
+    private final VectorSimilarity scalar = new ScalarVectorSimilarity();
+    private final VectorSimilarity simd = new SimdVectorSimilarity();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        floatA = randomVector(random);
+        floatB = randomVector(random);
+        boxedA = boxed(floatA);
+        boxedB = boxed(floatB);
+        int8A = quantize(floatA);
+        int8B = quantize(floatB);
+
+        matrix = new float[rows * DIMENSIONS];
+        norms = new float[rows];
+        for (int row = 0; row < rows; row++) {
+            float[] vector = randomVector(random);
+            System.arraycopy(vector, 0, matrix, row * DIMENSIONS, DIMENSIONS);
+            norms[row] = (float) Math.sqrt(scalar.dot(vector, vector));
+        }
+        scores = new float[rows];
+    }
+
+    @Benchmark
+    public double legacyBoxed() {
+        return legacy.cosineSimilarity(boxedA, boxedB);
+    }
+
+    @Benchmark
+    public float scalarFloat() {
+        return scalar.cosine(floatA, floatB);
+    }
+
+    @Benchmark
+    public float simdFloat() {
+        return simd.cosine(floatA, floatB);
+    }
+
+    @Benchmark
+    public float scalarInt8() {
+        return scalar.cosine(int8A, int8B);
+    }
+
+    @Benchmark
+    public float simdInt8() {
+        return simd.cosine(int8A, int8B);
+    }
+
+    @Benchmark
+    public float[] scalarBatch() {
+        cosineBatch(scalar, floatA, matrix, norms, rows, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] simdBatch() {
+        cosineBatch(simd, floatA, matrix, norms, rows, scores);
+        return scores;
+    }
+
+    /**
+     * Scores {@code query} against every row of a row-major {@code matrix}
+     * with precomputed row norms, writing cosine similarities into {@code out}.
+     */
+    private static void cosineBatch(VectorSimilarity similarity, float[] query, float[] matrix, float[] norms,
+                                    int rows, float[] out) {
+        int dimensions = query.length;
+        float queryNorm = (float) Math.sqrt(similarity.dot(query, 0, query, 0, dimensions));
+        for (int row = 0; row < rows; row++) {
+            float denominator = queryNorm * norms[row];
+            out[row] = denominator == 0f ? 0f : similarity.dot(query, 0, matrix, row * dimensions, dimensions) / denominator;
+        }
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static List<Double> boxed(float[] vector) {
+        List<Double> list = new ArrayList<>(vector.length);
+        for (float value : vector) {
+            list.add((double) value);
+        }
+        return list;
+    }
+
+    private static byte[] quantize(float[] vector) {
+        float max = 0f;
+        for (float value : vector) {
+            max = Math.max(max, Math.abs(value));
+        }
+        byte[] quantized = new byte[vector.length];
+        for (int d = 0; d < vector.length; d++) {
+            quantized[d] = (byte) Math.round(vector[d] / max * 127f);
+        }
+        return quantized;
+    }
+}
@@ -0,0 +1,98 @@
+package com.recipeadjuster.benchmarks;
+
+import com.recipeadjuster.recipedatabase.dto.CreateRecipeRequest;
+import com.recipeadjuster.recipedatabase.dto.ValidationErrorResponse;
+import com.recipeadjuster.recipedatabase.model.Recipe;
+import com.recipeadjuster.recipedatabase.repository.IngredientRepository;
+import com.recipeadjuster.recipedatabase.repository.RecipeRepository;
+import com.recipeadjuster.recipedatabase.service.RecipeValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RecipeValidationService#validateRecipe} on a new recipe, which is
+ * dominated by duplicate detection against every stored recipe. Repositories
+ * are in-memory proxies, so this times the comparison and not Mongo.
+ * <pre>
+ * java -jar target/benchmarks.jar DuplicateDetectionBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuplicateDetectionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int recipes;
+
+    private RecipeValidationService service;
+    private CreateRecipeRequest distinctTitle;
+    private CreateRecipeRequest similarTitle;
+
+    @Setup
+    public void setUp() {
+        SyntheticCatalog catalog = new SyntheticCatalog(recipes, 2000, 42);
+        List<Recipe> stored = new ArrayList<>(recipes);
+        for (SyntheticCatalog.Recipe recipe : catalog.recipes) {
+            Recipe entity = new Recipe();
+            entity.setId(recipe.id());
+            entity.setTitle(recipe.title());
+            entity.setIngredients(ingredients(recipe.ingredients()));
+            stored.add(entity);
+        }
+        service = new RecipeValidationService(repository(RecipeRepository.class, stored),
+            repository(IngredientRepository.class, List.of()));
+
+        SyntheticCatalog.Recipe near = catalog.recipes.get(recipes / 2);
+        distinctTitle = request("Weeknight Lentil Soup With Greens", catalog.pantry(8));
+        // One edit from a stored title but sharing no ingredients: the overlap is computed, then rejected.
+        similarTitle = request(near.title() + "s", List.of("saffron", "quince", "sumac", "sorrel"));
+    }
+
+    @Benchmark
+    public ValidationErrorResponse distinctTitle() {
+        return service.validateRecipe(distinctTitle);
+    }
+
+    @Benchmark
+    public ValidationErrorResponse similarTitle() {
+        return service.validateRecipe(similarTitle);
+    }
+
+    private static CreateRecipeRequest request(String title, List<String> ingredientNames) {
+        CreateRecipeRequest request = new CreateRecipeRequest();
+        request.setTitle(title);
+        request.setIngredients(ingredients(ingredientNames));
+        request.setInstructions(List.of("Combine everything and simmer."));
+        request.setPrepTime(10);
+        request.setCookTime(30);
+        return request;
+    }
+
+    private static List<Recipe.RecipeIngredient> ingredients(List<String> names) {
+        List<Recipe.RecipeIngredient> ingredients = new ArrayList<>(names.size());
+        for (String name : names) {
+            ingredients.add(new Recipe.RecipeIngredient(null, name, 1.0, "cup"));
+        }
+        return ingredients;
+    }
+
+    // findAll returns the synthetic catalog, existsById is always true; nothing else is called.
+    @SuppressWarnings("unchecked")
+    private static <R> R repository(Class<R> type, List<?> all) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "findAll" -> all;
+                case "existsById" -> true;
+                case "toString" -> type.getSimpleName();
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
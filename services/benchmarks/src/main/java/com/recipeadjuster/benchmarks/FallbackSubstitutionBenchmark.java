@@ -0,0 +1,43 @@
+package com.recipeadjuster.benchmarks;
+
+import com.recipeadjuster.substitution.model.SubstitutionSuggestion;
+import com.recipeadjuster.substitution.service.FallbackSubstitutionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FallbackSubstitutionService#getFallbackSubstitutions} for an
+ * ingredient with curated substitutes and for one that falls through to the
+ * generic answer.
+ * <pre>
+ * java -jar target/benchmarks.jar FallbackSubstitutionBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FallbackSubstitutionBenchmark {
+
+    private final FallbackSubstitutionService service = new FallbackSubstitutionService();
+
+    @Param({" Butter "})
+    private String curated;
+
+    @Param({"saffron"})
+    private String uncurated;
+
+    @Benchmark
+    public List<SubstitutionSuggestion> curated() {
+        return service.getFallbackSubstitutions(curated);
+    }
+
+    @Benchmark
+    public List<SubstitutionSuggestion> generic() {
+        return service.getFallbackSubstitutions(uncurated);
+    }
+}
@@ -0,0 +1,117 @@
+package com.recipeadjuster.benchmarks;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+import com.recipeadjuster.ingredient.index.IndexedRecipe;
+import com.recipeadjuster.ingredient.index.IngredientMatcher;
+import com.recipeadjuster.ingredient.index.MatchScorer;
+import com.recipeadjuster.ingredient.index.RecipeFilter;
+import com.recipeadjuster.ingredient.index.RecipeIndex;
+import com.recipeadjuster.shared.model.entity.Recipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pantry-to-recipe matching over the in-memory {@link RecipeIndex}: pantry
+ * resolution, unfiltered and filtered top-K ranking, and a batch of queries
+ * ranked in one pass.
+ * <pre>
+ * java -jar target/benchmarks.jar IngredientMatchBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class IngredientMatchBenchmark {
+
+    private static final int MIN_MATCH_PERCENTAGE = 50;
+    private static final int MAX_RESULTS = 20;
+    private static final int BATCH = 16;
+
+    @Param({"1000", "10000", "100000"})
+    private int recipes;
+
+    @Param({"12"})
+    private int pantrySize;
+
+    private RecipeIndex index;
+    private List<String> pantry;
+    private long[] pantryBits;
+    private RecipeFilter none;
+    private RecipeFilter filter;
+    private long[][] batchPantries;
+    private RecipeFilter[] batchFilters;
+    private int[] batchMinimums;
+    private int[] batchLimits;
+
+    @Setup
+    public void setUp() {
+        SyntheticCatalog catalog = new SyntheticCatalog(recipes, 2000, 42);
+        Map<String, List<String>> aliases = new HashMap<>();
+        for (String ingredient : catalog.ingredients) {
+            aliases.put(ingredient, List.of());
+        }
+        List<IndexedRecipe> indexed = new ArrayList<>(recipes);
+        for (SyntheticCatalog.Recipe recipe : catalog.recipes) {
+            indexed.add(IndexedRecipe.builder()
+                .id(recipe.id())
+                .title(recipe.title())
+                .cuisine(recipe.cuisine())
+                .cookTime(recipe.cookTime())
+                .difficulty(Recipe.Difficulty.values()[recipe.difficulty()])
+                .tags(recipe.tags())
+                .requiredIngredients(recipe.ingredients())
+                .build());
+        }
+        index = RecipeIndex.build(indexed, IngredientMatcher.build(aliases), 1L);
+
+        pantry = catalog.pantry(pantrySize);
+        pantryBits = index.resolvePantry(pantry);
+        none = RecipeFilter.from(null);
+        filter = RecipeFilter.from(IngredientMatchRequest.FilterOptions.builder()
+            .cuisines(List.of("italian", "greek"))
+            .maxCookTime(45)
+            .dietary(List.of("vegetarian"))
+            .build());
+
+        batchPantries = new long[BATCH][];
+        batchFilters = new RecipeFilter[BATCH];
+        for (int q = 0; q < BATCH; q++) {
+            batchPantries[q] = index.resolvePantry(catalog.pantry(pantrySize));
+            batchFilters[q] = q % 4 == 0 ? filter : none;
+        }
+        batchMinimums = new int[BATCH];
+        Arrays.fill(batchMinimums, MIN_MATCH_PERCENTAGE);
+        batchLimits = new int[BATCH];
+        Arrays.fill(batchLimits, MAX_RESULTS);
+    }
+
+    @Benchmark
+    public long[] resolvePantry() {
+        return index.resolvePantry(pantry);
+    }
+
+    @Benchmark
+    public long[] rankTopK() {
+        return MatchScorer.rank(index, pantryBits, none, MIN_MATCH_PERCENTAGE, MAX_RESULTS);
+    }
+
+    @Benchmark
+    public long[] rankTopKFiltered() {
+        return MatchScorer.rank(index, pantryBits, filter, MIN_MATCH_PERCENTAGE, MAX_RESULTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[][] rankBatch() {
+        return MatchScorer.rankBatch(index, batchPantries, batchFilters, batchMinimums, batchLimits);
+    }
+}
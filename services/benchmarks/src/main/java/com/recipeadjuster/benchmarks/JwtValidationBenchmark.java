@@ -0,0 +1,86 @@
+package com.recipeadjuster.benchmarks;
+
+import com.recipeadjuster.gateway.filter.JwtAuthenticationFilter;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The gateway's {@link JwtAuthenticationFilter} on a protected path: RS256
+ * signature check, claim extraction and exchange mutation for a valid token,
+ * and the rejection path for a token signed with another key. Each
+ * invocation builds a fresh mock exchange, as every request does.
+ * <pre>
+ * java -jar target/benchmarks.jar JwtValidationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String PATH = "/api/v1/users/me/preferences";
+
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    private JwtAuthenticationFilter filter;
+    private String validHeader;
+    private String foreignHeader;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = Jwts.SIG.RS256.keyPair().build();
+        filter = new JwtAuthenticationFilter();
+        filter.setPublicKeyForTests("-----BEGIN PUBLIC KEY-----\n"
+            + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded())
+            + "\n-----END PUBLIC KEY-----");
+
+        validHeader = "Bearer " + token(keyPair);
+        foreignHeader = "Bearer " + token(Jwts.SIG.RS256.keyPair().build());
+    }
+
+    @Benchmark
+    public HttpStatusCode validToken() {
+        return filter(validHeader);
+    }
+
+    @Benchmark
+    public HttpStatusCode foreignSignature() {
+        return filter(foreignHeader);
+    }
+
+    private HttpStatusCode filter(String authorization) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, authorization));
+        filter.filter(exchange, chain).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private static String token(KeyPair keyPair) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+            .subject("3f6c1d2e-6b1a-4c1e-9a55-0d4c2b7f8e10")
+            .claim("email", "cook@example.com")
+            .claim("roles", List.of("user"))
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(now.plus(1, ChronoUnit.DAYS)))
+            .signWith(keyPair.getPrivate())
+            .compact();
+    }
+}
@@ -0,0 +1,89 @@
+package com.recipeadjuster.benchmarks;
+
+import com.recipeadjuster.ingredient.cache.EmbeddingCache;
+import com.recipeadjuster.ingredient.index.IngredientCatalog;
+import com.recipeadjuster.ingredient.service.EmbeddingService;
+import com.recipeadjuster.ingredient.service.IngredientCatalogRefreshedEvent;
+import com.recipeadjuster.ingredient.service.IngredientCatalogService;
+import com.recipeadjuster.ingredient.service.SemanticMatchService;
+import com.recipeadjuster.ingredient.service.VectorSearchService;
+import com.recipeadjuster.ingredient.similarity.VectorSimilarities;
+import com.recipeadjuster.shared.model.entity.Embedding;
+import com.recipeadjuster.shared.model.entity.Ingredient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SemanticMatchService#expandIngredients} against an ingredient
+ * catalog of the given size: canonicalization, embedding lookup (L1 only)
+ * and the HNSW threshold search, wired without a Spring context.
+ * <pre>
+ * java -jar target/benchmarks.jar SemanticExpansionBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SemanticExpansionBenchmark {
+
+    private static final int DIMENSIONS = 384;
+
+    // Ingredient catalogs are far smaller than recipe catalogs; 100k would only time the HNSW build.
+    @Param({"1000", "10000"})
+    private int ingredients;
+
+    @Param({"12"})
+    private int pantrySize;
+
+    private SemanticMatchService service;
+    private List<String> pantry;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        EmbeddingService embeddings = new EmbeddingService(
+            new EmbeddingCache(null, registry, 50_000, false, Duration.ZERO), registry);
+
+        SyntheticCatalog catalog = new SyntheticCatalog(0, ingredients, 42);
+        List<Ingredient> entities = new ArrayList<>(ingredients);
+        for (String name : catalog.ingredients) {
+            entities.add(Ingredient.builder()
+                .name(name)
+                .aliases(List.of(name + " fresh"))
+                .embedding(Embedding.of(embeddings.embed(name)))
+                .build());
+        }
+        IngredientCatalog ingredientCatalog = IngredientCatalog.build(entities, DIMENSIONS, 1L);
+
+        IngredientCatalogService catalogService = new IngredientCatalogService(null, null, registry) {
+            @Override
+            public IngredientCatalog current() {
+                return ingredientCatalog;
+            }
+        };
+        VectorSearchService vectorSearch = new VectorSearchService(
+            VectorSimilarities.create(true), registry, 16, 100, 64, false);
+        vectorSearch.onCatalogRefreshed(new IngredientCatalogRefreshedEvent(ingredientCatalog));
+
+        service = new SemanticMatchService(catalogService, vectorSearch, embeddings);
+        ReflectionTestUtils.setField(service, "similarityThreshold", 0.8);
+        ReflectionTestUtils.setField(service, "maxExpansions", 20);
+
+        pantry = catalog.pantry(pantrySize);
+    }
+
+    @Benchmark
+    public List<String> expandIngredients() {
+        return service.expandIngredients(pantry);
+    }
+}
@@ -0,0 +1,100 @@
+package com.recipeadjuster.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic recipe data shared by the suites, so a result taken
+ * before a change can be compared with one taken after it.
+ * <p>
+ * Ingredient popularity is skewed (a few staples appear in most recipes, the
+ * long tail in very few), which is what makes posting-list and overlap costs
+ * uneven in production.
+ */
+final class SyntheticCatalog {
+
+    static final String[] CUISINES = {
+        "italian", "mexican", "indian", "chinese", "japanese", "thai",
+        "french", "greek", "spanish", "american", "korean", "moroccan"
+    };
+    static final String[] TAGS = {"vegetarian", "vegan", "gluten-free", "dairy-free", "nut-free", "low-carb"};
+
+    private static final String[] WORDS = {
+        "red", "green", "smoked", "fresh", "dried", "wild", "sweet", "black", "white", "roasted",
+        "onion", "garlic", "pepper", "tomato", "basil", "rice", "bean", "lentil", "chicken", "beef",
+        "salmon", "tofu", "butter", "cream", "cheese", "flour", "sugar", "lemon", "lime", "ginger"
+    };
+
+    final List<String> ingredients;
+    final List<Recipe> recipes;
+
+    private final Random random;
+
+    SyntheticCatalog(int recipeCount, int ingredientCount, long seed) {
+        this.random = new Random(seed);
+        this.ingredients = ingredientNames(ingredientCount);
+        this.recipes = new ArrayList<>(recipeCount);
+        for (int i = 0; i < recipeCount; i++) {
+            recipes.add(recipe(i));
+        }
+    }
+
+    /** A pantry of {@code size} distinct ingredients, drawn with the same skew as recipes. */
+    List<String> pantry(int size) {
+        Set<String> pantry = new LinkedHashSet<>();
+        while (pantry.size() < size) {
+            pantry.add(ingredient());
+        }
+        return new ArrayList<>(pantry);
+    }
+
+    String ingredient() {
+        // Squaring a uniform draw biases towards low indexes: the staples.
+        double u = random.nextDouble();
+        return ingredients.get((int) (u * u * ingredients.size()));
+    }
+
+    private Recipe recipe(int i) {
+        int count = 5 + random.nextInt(11);
+        Set<String> required = new LinkedHashSet<>();
+        while (required.size() < count) {
+            required.add(ingredient());
+        }
+        List<String> tags = new ArrayList<>(2);
+        for (String tag : TAGS) {
+            if (random.nextInt(5) == 0) {
+                tags.add(tag);
+            }
+        }
+        return new Recipe(
+            "recipe-" + i,
+            title(i),
+            CUISINES[random.nextInt(CUISINES.length)],
+            5 + random.nextInt(176),
+            random.nextInt(3),
+            tags,
+            new ArrayList<>(required));
+    }
+
+    private String title(int i) {
+        return WORDS[random.nextInt(WORDS.length)] + ' ' + WORDS[random.nextInt(WORDS.length)] + ' '
+            + WORDS[random.nextInt(WORDS.length)] + " bowl " + i;
+    }
+
+    private static List<String> ingredientNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String base = WORDS[i % WORDS.length];
+            names.add(i < WORDS.length ? base : base + ' ' + WORDS[(i / WORDS.length) % WORDS.length] + ' ' + i);
+        }
+        return names;
+    }
+
+    /** Service-neutral recipe; each suite maps it onto its own model. */
+    record Recipe(String id, String title, String cuisine, int cookTime, int difficulty,
+                  List<String> tags, List<String> ingredients) {
+    }
+}
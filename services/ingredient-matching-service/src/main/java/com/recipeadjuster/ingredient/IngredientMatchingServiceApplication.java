@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
     exclude = {DataSourceAutoConfiguration.class},
@@ -12,6 +13,7 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
 )
 @EnableDiscoveryClient
 @EnableMongoRepositories(basePackages = "com.recipeadjuster.shared.repository")
+@EnableScheduling
 public class IngredientMatchingServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(IngredientMatchingServiceApplication.class, args);
@@ -0,0 +1,215 @@
+package com.recipeadjuster.ingredient.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Two-level embedding cache: a bounded in-process Caffeine map in front of
+ * Redis, shared by this service's instances. Redis entries are raw
+ * little-endian floats rather than JSON, under their own
+ * {@code embeddings:f32::} prefix so no JSON-serialized cache reads them.
+ * <p>
+ * Redis is best effort: when it is unreachable lookups fall through to the
+ * generator and writes are dropped. Cached arrays are shared and must not be
+ * modified by callers.
+ */
+@Slf4j
+@Component
+public class EmbeddingCache {
+
+    static final String KEY_PREFIX = "embeddings:f32::";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final Cache<String, float[]> local;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    public EmbeddingCache(
+            RedisTemplate<String, byte[]> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${matching.embeddings.cache.max-size:50000}") long maxSize,
+            @Value("${matching.embeddings.cache.redis-enabled:true}") boolean redisEnabled,
+            @Value("${matching.embeddings.cache.redis-ttl:P7D}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+        this.redisTtl = redisTtl;
+        this.local = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+
+        this.localHits = requests(meterRegistry, "l1", "hit");
+        this.localMisses = requests(meterRegistry, "l1", "miss");
+        this.redisHits = requests(meterRegistry, "l2", "hit");
+        this.redisMisses = requests(meterRegistry, "l2", "miss");
+        this.redisErrors = Counter.builder("embedding.cache.errors")
+            .description("Failed Redis embedding cache operations")
+            .register(meterRegistry);
+        Gauge.builder("embedding.cache.size", local, Cache::estimatedSize)
+            .description("Embeddings held in the in-process cache")
+            .register(meterRegistry);
+    }
+
+    public float[] get(String text) {
+        float[] embedding = local.getIfPresent(text);
+        if (embedding != null) {
+            localHits.increment();
+            return embedding;
+        }
+        localMisses.increment();
+        if (!redisEnabled) {
+            return null;
+        }
+
+        byte[] value;
+        try {
+            value = redisTemplate.opsForValue().get(KEY_PREFIX + text);
+        } catch (DataAccessException e) {
+            redisErrors.increment();
+            log.debug("Skipping Redis embedding lookup: {}", e.getMessage());
+            return null;
+        }
+        if (value == null) {
+            redisMisses.increment();
+            return null;
+        }
+        redisHits.increment();
+        embedding = decode(value);
+        local.put(text, embedding);
+        return embedding;
+    }
+
+    /**
+     * Looks every text up in L1, then the L1 misses in L2 with a single
+     * MGET. L2 hits are promoted to L1. Texts found in neither are absent
+     * from the result.
+     */
+    public Map<String, float[]> getAll(Collection<String> texts) {
+        Map<String, float[]> found = new HashMap<>(texts.size() * 2);
+        Set<String> missed = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (found.containsKey(text) || missed.contains(text)) {
+                continue;
+            }
+            float[] embedding = local.getIfPresent(text);
+            if (embedding != null) {
+                found.put(text, embedding);
+            } else {
+                missed.add(text);
+            }
+        }
+        localHits.increment(found.size());
+        localMisses.increment(missed.size());
+
+        if (missed.isEmpty() || !redisEnabled) {
+            return found;
+        }
+
+        List<String> misses = new ArrayList<>(missed);
+        List<byte[]> values = readRedis(misses);
+        int hits = 0;
+        for (int i = 0; i < misses.size(); i++) {
+            byte[] value = values == null ? null : values.get(i);
+            if (value != null) {
+                float[] embedding = decode(value);
+                local.put(misses.get(i), embedding);
+                found.put(misses.get(i), embedding);
+                hits++;
+            }
+        }
+        redisHits.increment(hits);
+        redisMisses.increment(misses.size() - hits);
+        return found;
+    }
+
+    public void put(String text, float[] embedding) {
+        putAll(Map.of(text, embedding));
+    }
+
+    /**
+     * Writes to L1 and, pipelined, to L2 with the configured TTL.
+     */
+    public void putAll(Map<String, float[]> embeddings) {
+        if (embeddings.isEmpty()) {
+            return;
+        }
+        local.putAll(embeddings);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            Expiration expiration = Expiration.from(redisTtl);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, float[]> entry : embeddings.entrySet()) {
+                    connection.stringCommands().set(
+                        key(entry.getKey()), encode(entry.getValue()), expiration,
+                        RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            redisErrors.increment();
+            log.debug("Skipping Redis embedding write: {}", e.getMessage());
+        }
+    }
+
+    private List<byte[]> readRedis(List<String> texts) {
+        List<String> keys = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            keys.add(KEY_PREFIX + text);
+        }
+        try {
+            return redisTemplate.opsForValue().multiGet(keys);
+        } catch (DataAccessException e) {
+            redisErrors.increment();
+            log.debug("Skipping Redis embedding lookup: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] key(String text) {
+        return (KEY_PREFIX + text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] encode(float[] embedding) {
+        ByteBuffer buffer = ByteBuffer.allocate(embedding.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(embedding);
+        return buffer.array();
+    }
+
+    static float[] decode(byte[] value) {
+        float[] embedding = new float[value.length / Float.BYTES];
+        ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(embedding);
+        return embedding;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("embedding.cache.requests")
+            .description("Embedding cache lookups")
+            .tag("level", level)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+package com.recipeadjuster.ingredient.cache;
+
+/**
+ * Streaming 128-bit hash with MurmurHash3 x64_128's lane mixing and
+ * finalization, fed one {@code long} at a time. Output depends only on the
+ * input sequence, so it is stable across JVMs and restarts and safe to use in
+ * shared (Redis) keys. Not cryptographic.
+ */
+public final class Hash128 {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private long h1;
+    private long h2;
+    private long length;
+    private boolean finished;
+
+    public Hash128 putLong(long value) {
+        long k1 = Long.rotateLeft(value * C1, 31) * C2;
+        h1 ^= k1;
+        h1 = Long.rotateLeft(h1, 27) + h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        long k2 = Long.rotateLeft(value * C2, 33) * C1;
+        h2 ^= k2;
+        h2 = Long.rotateLeft(h2, 31) + h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        length++;
+        return this;
+    }
+
+    /**
+     * Length-prefixed, so adjacent strings cannot run together; {@code null}
+     * hashes differently from the empty string.
+     */
+    public Hash128 putString(String value) {
+        if (value == null) {
+            return putLong(-1);
+        }
+        putLong(value.length());
+        long packed = 0;
+        int i = 0;
+        for (; i < value.length(); i++) {
+            packed = (packed << 16) | value.charAt(i);
+            if ((i & 3) == 3) {
+                putLong(packed);
+                packed = 0;
+            }
+        }
+        if ((i & 3) != 0) {
+            putLong(packed);
+        }
+        return this;
+    }
+
+    public long high() {
+        finish();
+        return h1;
+    }
+
+    public long low() {
+        finish();
+        return h2;
+    }
+
+    private void finish() {
+        if (finished) {
+            return;
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        finished = true;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
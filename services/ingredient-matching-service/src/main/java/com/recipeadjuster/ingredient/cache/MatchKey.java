@@ -0,0 +1,95 @@
+package com.recipeadjuster.ingredient.cache;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+import com.recipeadjuster.ingredient.index.IngredientDictionary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * Identity of a match request against one index version: a 128-bit hash of
+ * the pantry's canonical terms (sorted), the normalized filters, the minimum
+ * percentage and the result limit. Requests that differ only in spelling,
+ * aliases, ingredient order, duplicates or filter order share a key. Terms are
+ * hashed by name rather than id, since instances holding the same content may
+ * number terms differently.
+ */
+public record MatchKey(long version, long high, long low) {
+
+    public static MatchKey of(long version, IngredientDictionary dictionary, long[] pantryBits,
+                              IngredientMatchRequest.FilterOptions filters, int minMatchPercentage, int maxResults) {
+        List<String> terms = new ArrayList<>();
+        for (int word = 0; word < pantryBits.length; word++) {
+            long bits = pantryBits[word];
+            while (bits != 0) {
+                terms.add(dictionary.name((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        Collections.sort(terms);
+
+        Hash128 hash = new Hash128();
+        hash.putLong(terms.size());
+        terms.forEach(hash::putString);
+        boolean filtered = filters != null;
+        putSorted(hash, filtered ? filters.getCuisines() : null, false);
+        hash.putLong(filtered && filters.getMaxCookTime() != null ? filters.getMaxCookTime() : -1);
+        putSorted(hash, filtered ? filters.getDifficulty() : null, true);
+        putSorted(hash, filtered ? filters.getDietary() : null, false);
+        hash.putLong(minMatchPercentage);
+        hash.putLong(maxResults);
+        return new MatchKey(version, hash.high(), hash.low());
+    }
+
+    /**
+     * Which filters a request uses, e.g. {@code cuisine+dietary} or {@code none};
+     * a low-cardinality metric tag.
+     */
+    public static String shape(IngredientMatchRequest.FilterOptions filters) {
+        if (filters == null) {
+            return "none";
+        }
+        StringJoiner shape = new StringJoiner("+");
+        if (isPresent(filters.getCuisines())) {
+            shape.add("cuisine");
+        }
+        if (filters.getMaxCookTime() != null) {
+            shape.add("cookTime");
+        }
+        if (isPresent(filters.getDifficulty())) {
+            shape.add("difficulty");
+        }
+        if (isPresent(filters.getDietary())) {
+            shape.add("dietary");
+        }
+        return shape.length() == 0 ? "none" : shape.toString();
+    }
+
+    public String hex() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    // Filters match cuisines and tags case-sensitively and difficulties case-insensitively.
+    private static void putSorted(Hash128 hash, List<String> values, boolean upperCase) {
+        if (!isPresent(values)) {
+            hash.putLong(-1);
+            return;
+        }
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String value : values) {
+            sorted.add(upperCase ? value.toUpperCase(Locale.ROOT) : value);
+        }
+        hash.putLong(sorted.size());
+        for (String value : sorted) {
+            hash.putString(value);
+        }
+    }
+
+    private static boolean isPresent(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
+}
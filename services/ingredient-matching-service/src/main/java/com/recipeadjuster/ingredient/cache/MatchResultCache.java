@@ -0,0 +1,164 @@
+package com.recipeadjuster.ingredient.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recipeadjuster.ingredient.dto.IngredientMatchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ranked match responses keyed by {@link MatchKey}: a Caffeine (W-TinyLFU)
+ * map in front of an optional Redis cache shared between instances.
+ * <p>
+ * Keys carry the index version, which is a content fingerprint, so a result
+ * can only be served against the index it was computed from. The first lookup
+ * under a new version empties L1; stale Redis entries are simply never read
+ * again and expire. Redis is best effort, as in {@link EmbeddingCache}.
+ * Cached responses are shared and must not be modified by callers.
+ * <p>
+ * Lookups are counted per filter shape ({@link MatchKey#shape}) so the hit
+ * ratio of each kind of query can be read off {@code match.cache.requests}.
+ */
+@Slf4j
+@Component
+public class MatchResultCache {
+
+    static final String KEY_PREFIX = "matches::";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final Cache<MatchKey, IngredientMatchResponse> local;
+    private final Map<String, Counter> requests = new ConcurrentHashMap<>();
+    private final Counter redisErrors;
+
+    private final AtomicLong version = new AtomicLong();
+
+    public MatchResultCache(
+            RedisTemplate<String, byte[]> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${matching.match-cache.enabled:true}") boolean enabled,
+            @Value("${matching.match-cache.max-size:20000}") long maxSize,
+            @Value("${matching.match-cache.redis-enabled:false}") boolean redisEnabled,
+            @Value("${matching.match-cache.redis-ttl:PT10M}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.redisEnabled = enabled && redisEnabled && redisTemplate != null;
+        this.redisTtl = redisTtl;
+        this.local = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+
+        this.redisErrors = Counter.builder("match.cache.errors")
+            .description("Failed Redis match cache operations")
+            .register(meterRegistry);
+        Gauge.builder("match.cache.size", local, Cache::estimatedSize)
+            .description("Match responses held in the in-process cache")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The cached response for {@code key}, or {@code null}. L2 hits are
+     * promoted to L1.
+     */
+    public IngredientMatchResponse get(MatchKey key, String shape) {
+        if (!enabled) {
+            return null;
+        }
+        onVersion(key.version());
+
+        IngredientMatchResponse response = local.getIfPresent(key);
+        if (response != null) {
+            count("l1", "hit", shape);
+            return response;
+        }
+        count("l1", "miss", shape);
+        if (!redisEnabled) {
+            return null;
+        }
+
+        byte[] value;
+        try {
+            value = redisTemplate.opsForValue().get(redisKey(key));
+        } catch (DataAccessException e) {
+            redisErrors.increment();
+            log.debug("Skipping Redis match lookup: {}", e.getMessage());
+            return null;
+        }
+        if (value == null) {
+            count("l2", "miss", shape);
+            return null;
+        }
+        try {
+            response = objectMapper.readValue(value, IngredientMatchResponse.class);
+        } catch (IOException e) {
+            redisErrors.increment();
+            log.warn("Discarding unreadable cached match response {}: {}", key.hex(), e.getMessage());
+            return null;
+        }
+        count("l2", "hit", shape);
+        local.put(key, response);
+        return response;
+    }
+
+    public void put(MatchKey key, IngredientMatchResponse response) {
+        if (!enabled || key.version() != version.get()) {
+            return;
+        }
+        local.put(key, response);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey(key), objectMapper.writeValueAsBytes(response), redisTtl);
+        } catch (DataAccessException | IOException e) {
+            redisErrors.increment();
+            log.debug("Skipping Redis match write: {}", e.getMessage());
+        }
+    }
+
+    private void onVersion(long indexVersion) {
+        long previous = version.get();
+        if (previous != indexVersion && version.compareAndSet(previous, indexVersion)) {
+            local.invalidateAll();
+            log.debug("Match cache cleared for index v{}", Long.toHexString(indexVersion));
+        }
+    }
+
+    private void count(String level, String result, String shape) {
+        requests.computeIfAbsent(level + ':' + result + ':' + shape, k -> Counter.builder("match.cache.requests")
+                .description("Match result cache lookups")
+                .tag("level", level)
+                .tag("result", result)
+                .tag("shape", shape)
+                .register(meterRegistry))
+            .increment();
+    }
+
+    private static String redisKey(MatchKey key) {
+        return KEY_PREFIX + Long.toHexString(key.version()) + ':' + key.hex();
+    }
+}
@@ -0,0 +1,24 @@
+package com.recipeadjuster.ingredient.config;
+
+import com.recipeadjuster.ingredient.similarity.VectorSimilarities;
+import com.recipeadjuster.ingredient.similarity.VectorSimilarity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class SimilarityConfig {
+
+    @Bean
+    public VectorSimilarity vectorSimilarity(@Value("${matching.similarity.simd:true}") boolean simd) {
+        VectorSimilarity similarity = VectorSimilarities.create(simd);
+        if (simd && !VectorSimilarities.isVectorApiAvailable()) {
+            log.warn("SIMD similarity requested but jdk.incubator.vector is not loaded; "
+                + "start the JVM with --add-modules jdk.incubator.vector");
+        }
+        log.info("Using {} vector similarity kernel", similarity.name());
+        return similarity;
+    }
+}
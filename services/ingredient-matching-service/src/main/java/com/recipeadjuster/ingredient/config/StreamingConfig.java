@@ -0,0 +1,27 @@
+package com.recipeadjuster.ingredient.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class StreamingConfig {
+
+    /**
+     * Runs streamed matches off the servlet thread, which returns as soon as
+     * the emitter is handed back. One virtual thread per stream when
+     * {@code spring.threads.virtual.enabled} is set, otherwise a fixed pool.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService matchStreamExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${matching.stream.threads:16}") int threads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("match-stream-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("match-stream-", 0).factory());
+    }
+}
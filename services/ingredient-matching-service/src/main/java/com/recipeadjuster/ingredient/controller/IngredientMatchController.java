@@ -1,13 +1,24 @@
 package com.recipeadjuster.ingredient.controller;
 
+import com.recipeadjuster.ingredient.dto.IngredientMatchBatchRequest;
+import com.recipeadjuster.ingredient.dto.IngredientMatchBatchResponse;
+import com.recipeadjuster.ingredient.dto.IngredientMatchFrame;
 import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
 import com.recipeadjuster.ingredient.dto.IngredientMatchResponse;
 import com.recipeadjuster.ingredient.service.IngredientMatchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
 
 @Slf4j
 @RestController
@@ -16,6 +27,10 @@ import org.springframework.web.bind.annotation.*;
 public class IngredientMatchController {
 
     private final IngredientMatchService ingredientMatchService;
+    private final ExecutorService matchStreamExecutor;
+
+    @Value("${matching.stream.timeout:PT30S}")
+    private Duration streamTimeout;
 
     @PostMapping("/match")
     public ResponseEntity<IngredientMatchResponse> matchIngredients(
@@ -34,4 +49,59 @@ public class IngredientMatchController {
         log.info("Found {} matching recipes", response.getTotalResults());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Scores many pantries in one call and one pass over the index, for
+     * callers such as meal planning that would otherwise loop over /match.
+     */
+    @PostMapping("/match/batch")
+    public ResponseEntity<IngredientMatchBatchResponse> matchBatch(
+            @Valid @RequestBody IngredientMatchBatchRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Session-Id", required = false) String sessionId) {
+        
+        log.info("Received batch match request with {} pantries", request.getRequests().size());
+        
+        IngredientMatchBatchResponse response = IngredientMatchBatchResponse.builder()
+            .results(ingredientMatchService.matchBatch(request.getRequests(), userId, sessionId))
+            .build();
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Server-sent events variant of {@link #matchIngredients}: "snapshot" events
+     * carry the running top-K as the index is scanned, and a final "complete"
+     * event carries the same ranking the blocking endpoint returns.
+     */
+    @PostMapping(value = "/match/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatches(
+            @Valid @RequestBody IngredientMatchRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Session-Id", required = false) String sessionId) {
+        
+        log.info("Received streaming match request with {} ingredients", request.getIngredients().size());
+        
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        matchStreamExecutor.execute(() -> {
+            try {
+                ingredientMatchService.streamMatches(request, userId, sessionId, frame -> send(emitter, frame));
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("Streaming match aborted: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, IngredientMatchFrame frame) {
+        try {
+            emitter.send(SseEmitter.event()
+                .name(frame.isComplete() ? "complete" : "snapshot")
+                .data(frame, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
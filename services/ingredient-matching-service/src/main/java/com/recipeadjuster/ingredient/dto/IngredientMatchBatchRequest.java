@@ -0,0 +1,22 @@
+package com.recipeadjuster.ingredient.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientMatchBatchRequest {
+    
+    @NotEmpty(message = "Requests list cannot be empty")
+    @Size(max = 64, message = "A batch cannot hold more than 64 requests")
+    private List<@Valid IngredientMatchRequest> requests;
+}
@@ -0,0 +1,19 @@
+package com.recipeadjuster.ingredient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One response per request of the batch, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientMatchBatchResponse {
+    private List<IngredientMatchResponse> results;
+}
@@ -0,0 +1,25 @@
+package com.recipeadjuster.ingredient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One event of a streamed match: the best matches among the first
+ * {@code scannedRecipes} of {@code totalRecipes}, best first. The last frame
+ * of a stream has {@code complete} set and holds the final ranking.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientMatchFrame {
+    private List<IngredientMatchResponse.RecipeMatch> matches;
+    private Integer totalResults;
+    private Integer scannedRecipes;
+    private Integer totalRecipes;
+    private boolean complete;
+}
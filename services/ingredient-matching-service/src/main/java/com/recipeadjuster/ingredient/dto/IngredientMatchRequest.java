@@ -21,10 +21,12 @@ public class IngredientMatchRequest {
     
     @Min(value = 0, message = "minMatchPercentage must be between 0 and 100")
     @Max(value = 100, message = "minMatchPercentage must be between 0 and 100")
+    @Builder.Default
     private Integer minMatchPercentage = 50;
     
     @Min(value = 1, message = "maxResults must be at least 1")
     @Max(value = 100, message = "maxResults cannot exceed 100")
+    @Builder.Default
     private Integer maxResults = 20;
     
     private FilterOptions filters;
@@ -0,0 +1,97 @@
+package com.recipeadjuster.ingredient.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row-major {@code float} matrix of ingredient embeddings with a name index.
+ * Immutable once built; one contiguous array keeps it compact and free of
+ * boxing.
+ */
+public final class EmbeddingMatrix {
+
+    private final int dimensions;
+    private final float[] data;
+    private final String[] names;
+    private final Map<String, Integer> rows;
+
+    private EmbeddingMatrix(int dimensions, float[] data, String[] names) {
+        this.dimensions = dimensions;
+        this.data = data;
+        this.names = names;
+        this.rows = new HashMap<>(names.length * 2);
+        for (int row = 0; row < names.length; row++) {
+            rows.putIfAbsent(names[row], row);
+        }
+    }
+
+    public static EmbeddingMatrix empty(int dimensions) {
+        return new EmbeddingMatrix(dimensions, new float[0], new String[0]);
+    }
+
+    /**
+     * Builds the matrix from parallel name/vector lists, skipping vectors whose
+     * length does not match {@code dimensions}.
+     */
+    public static EmbeddingMatrix of(int dimensions, List<String> names, List<float[]> vectors) {
+        int valid = 0;
+        for (float[] vector : vectors) {
+            if (vector != null && vector.length == dimensions) {
+                valid++;
+            }
+        }
+
+        float[] data = new float[valid * dimensions];
+        String[] rowNames = new String[valid];
+        int row = 0;
+
+        for (int i = 0; i < vectors.size(); i++) {
+            float[] vector = vectors.get(i);
+            if (vector == null || vector.length != dimensions) {
+                continue;
+            }
+            System.arraycopy(vector, 0, data, row * dimensions, dimensions);
+            rowNames[row] = names.get(i);
+            row++;
+        }
+
+        return new EmbeddingMatrix(dimensions, data, rowNames);
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int rows() {
+        return names.length;
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public int rowOf(String name) {
+        Integer row = rows.get(name);
+        return row == null ? -1 : row;
+    }
+
+    public float[] row(int row) {
+        return Arrays.copyOfRange(data, row * dimensions, (row + 1) * dimensions);
+    }
+
+    public boolean sameContent(EmbeddingMatrix other) {
+        return dimensions == other.dimensions && Arrays.equals(names, other.names) && Arrays.equals(data, other.data);
+    }
+
+    /**
+     * Whether row {@code row} holds the same values as {@code otherRow} of
+     * {@code other}.
+     */
+    public boolean sameRow(int row, EmbeddingMatrix other, int otherRow) {
+        return dimensions == other.dimensions && Arrays.equals(
+            data, row * dimensions, (row + 1) * dimensions,
+            other.data, otherRow * dimensions, (otherRow + 1) * dimensions);
+    }
+}
@@ -0,0 +1,225 @@
+package com.recipeadjuster.ingredient.index;
+
+import com.recipeadjuster.shared.model.entity.Recipe;
+
+import java.util.*;
+
+/**
+ * Per-value {@link OrdinalBitmap}s over a {@link RecipeIndex}: one per
+ * cuisine, difficulty and tag, plus cook times bucketed by
+ * {@value #COOK_BUCKET_MINUTES} minutes. A {@link RecipeFilter} is resolved
+ * into the set of ordinals it admits by intersecting one bitmap per clause,
+ * smallest first, so the scorer never looks at a recipe the filter rejects.
+ * <p>
+ * Immutable; {@link #update} copies only the bitmaps of the values that change.
+ */
+final class FilterIndex {
+
+    static final int COOK_BUCKET_MINUTES = 5;
+    static final int COOK_BUCKETS = 49;
+
+    private final Map<String, OrdinalBitmap> cuisines;
+    private final EnumMap<Recipe.Difficulty, OrdinalBitmap> difficulties;
+    private final Map<String, OrdinalBitmap> tags;
+    private final OrdinalBitmap[] cookBuckets;
+
+    private FilterIndex(Map<String, OrdinalBitmap> cuisines, EnumMap<Recipe.Difficulty, OrdinalBitmap> difficulties,
+                        Map<String, OrdinalBitmap> tags, OrdinalBitmap[] cookBuckets) {
+        this.cuisines = cuisines;
+        this.difficulties = difficulties;
+        this.tags = tags;
+        this.cookBuckets = cookBuckets;
+    }
+
+    static FilterIndex build(IndexedRecipe[] recipes) {
+        Map<String, IntList> byCuisine = new HashMap<>();
+        EnumMap<Recipe.Difficulty, IntList> byDifficulty = new EnumMap<>(Recipe.Difficulty.class);
+        Map<String, IntList> byTag = new HashMap<>();
+        IntList[] byCookBucket = new IntList[COOK_BUCKETS];
+
+        for (int ordinal = 0; ordinal < recipes.length; ordinal++) {
+            IndexedRecipe recipe = recipes[ordinal];
+            if (recipe.getCuisine() != null) {
+                byCuisine.computeIfAbsent(recipe.getCuisine(), c -> new IntList()).add(ordinal);
+            }
+            if (recipe.getDifficulty() != null) {
+                byDifficulty.computeIfAbsent(recipe.getDifficulty(), d -> new IntList()).add(ordinal);
+            }
+            for (String tag : tags(recipe)) {
+                byTag.computeIfAbsent(tag, t -> new IntList()).add(ordinal);
+            }
+            if (recipe.getCookTime() != null) {
+                int bucket = cookBucket(recipe.getCookTime());
+                if (byCookBucket[bucket] == null) {
+                    byCookBucket[bucket] = new IntList();
+                }
+                byCookBucket[bucket].add(ordinal);
+            }
+        }
+
+        Map<String, OrdinalBitmap> cuisines = new HashMap<>(byCuisine.size() * 2);
+        byCuisine.forEach((cuisine, ordinals) -> cuisines.put(cuisine, ordinals.toBitmap()));
+        EnumMap<Recipe.Difficulty, OrdinalBitmap> difficulties = new EnumMap<>(Recipe.Difficulty.class);
+        byDifficulty.forEach((difficulty, ordinals) -> difficulties.put(difficulty, ordinals.toBitmap()));
+        Map<String, OrdinalBitmap> tags = new HashMap<>(byTag.size() * 2);
+        byTag.forEach((tag, ordinals) -> tags.put(tag, ordinals.toBitmap()));
+        OrdinalBitmap[] cookBuckets = new OrdinalBitmap[COOK_BUCKETS];
+        for (int bucket = 0; bucket < COOK_BUCKETS; bucket++) {
+            cookBuckets[bucket] = byCookBucket[bucket] == null ? OrdinalBitmap.empty() : byCookBucket[bucket].toBitmap();
+        }
+        return new FilterIndex(cuisines, difficulties, tags, cookBuckets);
+    }
+
+    /**
+     * A copy with {@code ordinal} moved from {@code previous}'s values to
+     * {@code next}'s; either may be {@code null}.
+     */
+    FilterIndex update(int ordinal, IndexedRecipe previous, IndexedRecipe next) {
+        Map<String, OrdinalBitmap> nextCuisines = move(cuisines, ordinal,
+            previous == null ? null : previous.getCuisine(), next == null ? null : next.getCuisine());
+
+        EnumMap<Recipe.Difficulty, OrdinalBitmap> nextDifficulties = difficulties;
+        Recipe.Difficulty from = previous == null ? null : previous.getDifficulty();
+        Recipe.Difficulty to = next == null ? null : next.getDifficulty();
+        if (from != to) {
+            nextDifficulties = new EnumMap<>(difficulties);
+            if (from != null) {
+                nextDifficulties.computeIfPresent(from, (d, bitmap) -> bitmap.without(ordinal));
+            }
+            if (to != null) {
+                nextDifficulties.put(to, nextDifficulties.getOrDefault(to, OrdinalBitmap.empty()).with(ordinal));
+            }
+        }
+
+        Map<String, OrdinalBitmap> nextTags = tags;
+        Set<String> removedTags = previous == null ? new HashSet<>() : tags(previous);
+        Set<String> addedTags = next == null ? new HashSet<>() : tags(next);
+        Set<String> kept = new HashSet<>(removedTags);
+        kept.retainAll(addedTags);
+        removedTags.removeAll(kept);
+        addedTags.removeAll(kept);
+        if (!removedTags.isEmpty() || !addedTags.isEmpty()) {
+            nextTags = new HashMap<>(tags);
+            for (String tag : removedTags) {
+                nextTags.computeIfPresent(tag, (t, bitmap) -> bitmap.without(ordinal));
+            }
+            for (String tag : addedTags) {
+                nextTags.put(tag, nextTags.getOrDefault(tag, OrdinalBitmap.empty()).with(ordinal));
+            }
+        }
+
+        OrdinalBitmap[] nextCookBuckets = cookBuckets;
+        Integer previousTime = previous == null ? null : previous.getCookTime();
+        Integer nextTime = next == null ? null : next.getCookTime();
+        int fromBucket = previousTime == null ? -1 : cookBucket(previousTime);
+        int toBucket = nextTime == null ? -1 : cookBucket(nextTime);
+        if (fromBucket != toBucket) {
+            nextCookBuckets = cookBuckets.clone();
+            if (fromBucket >= 0) {
+                nextCookBuckets[fromBucket] = nextCookBuckets[fromBucket].without(ordinal);
+            }
+            if (toBucket >= 0) {
+                nextCookBuckets[toBucket] = nextCookBuckets[toBucket].with(ordinal);
+            }
+        }
+
+        return new FilterIndex(nextCuisines, nextDifficulties, nextTags, nextCookBuckets);
+    }
+
+    /**
+     * Ordinals below {@code index.size()} that {@code filter} admits, as a
+     * flat bitset, or {@code null} when it admits everything.
+     */
+    long[] select(RecipeFilter filter, RecipeIndex index) {
+        if (filter.isEmpty()) {
+            return null;
+        }
+        List<OrdinalBitmap> clauses = new ArrayList<>(4);
+        if (filter.cuisines() != null) {
+            clauses.add(union(filter.cuisines().stream().map(cuisines::get).toList()));
+        }
+        if (filter.difficulties() != null) {
+            clauses.add(union(filter.difficulties().stream().map(difficulties::get).toList()));
+        }
+        if (filter.dietary() != null) {
+            for (String tag : filter.dietary()) {
+                clauses.add(tags.getOrDefault(tag, OrdinalBitmap.empty()));
+            }
+        }
+        if (filter.maxCookTime() != null) {
+            clauses.add(cookTimeAtMost(filter.maxCookTime(), index));
+        }
+
+        clauses.sort(Comparator.comparingInt(OrdinalBitmap::cardinality));
+        OrdinalBitmap selected = clauses.get(0);
+        for (int i = 1; i < clauses.size() && !selected.isEmpty(); i++) {
+            selected = selected.and(clauses.get(i));
+        }
+        return selected.toWords(index.size());
+    }
+
+    // Buckets below the limit's own are admitted whole; that one is checked recipe by recipe.
+    private OrdinalBitmap cookTimeAtMost(int maxCookTime, RecipeIndex index) {
+        int limitBucket = cookBucket(maxCookTime);
+        OrdinalBitmap admitted = union(Arrays.asList(cookBuckets).subList(0, limitBucket));
+        long[] boundary = cookBuckets[limitBucket].toWords(index.size());
+        IntList partial = new IntList();
+        for (int w = 0; w < boundary.length; w++) {
+            for (long bits = boundary[w]; bits != 0; bits &= bits - 1) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(bits);
+                if (index.recipe(ordinal).getCookTime() <= maxCookTime) {
+                    partial.add(ordinal);
+                }
+            }
+        }
+        return admitted.or(partial.toBitmap());
+    }
+
+    private static OrdinalBitmap union(List<OrdinalBitmap> bitmaps) {
+        OrdinalBitmap union = OrdinalBitmap.empty();
+        for (OrdinalBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                union = union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private static Map<String, OrdinalBitmap> move(Map<String, OrdinalBitmap> bitmaps, int ordinal, String from, String to) {
+        if (Objects.equals(from, to)) {
+            return bitmaps;
+        }
+        Map<String, OrdinalBitmap> moved = new HashMap<>(bitmaps);
+        if (from != null) {
+            moved.computeIfPresent(from, (value, bitmap) -> bitmap.without(ordinal));
+        }
+        if (to != null) {
+            moved.put(to, moved.getOrDefault(to, OrdinalBitmap.empty()).with(ordinal));
+        }
+        return moved;
+    }
+
+    static int cookBucket(int cookTime) {
+        return Math.max(0, Math.min(cookTime / COOK_BUCKET_MINUTES, COOK_BUCKETS - 1));
+    }
+
+    private static Set<String> tags(IndexedRecipe recipe) {
+        return recipe.getTags() == null ? new HashSet<>() : new HashSet<>(recipe.getTags());
+    }
+
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        OrdinalBitmap toBitmap() {
+            return OrdinalBitmap.of(Arrays.copyOf(values, size));
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.recipeadjuster.ingredient.index;
+
+import com.recipeadjuster.ingredient.similarity.ScalarVectorSimilarity;
+import com.recipeadjuster.ingredient.similarity.VectorSimilarity;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical Navigable Small World graph for approximate cosine nearest
+ * neighbour search.
+ * <p>
+ * Vectors are L2-normalized on insert, so similarity is a plain dot product.
+ * Inserts are incremental and serialized behind a write lock; queries run
+ * concurrently under the read lock. Re-inserting an existing label replaces
+ * its vector but keeps its graph links, which is adequate for the small
+ * embedding drifts we see between catalog refreshes.
+ */
+public final class HnswIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final VectorSimilarity similarity;
+    private final SplittableRandom random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> nodesByLabel = new HashMap<>();
+
+    private volatile int efSearch;
+    private float[] vectors;
+    private String[] labels;
+    private int[][][] links;
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int m, int efConstruction, int efSearch) {
+        this(dimensions, m, efConstruction, efSearch, new ScalarVectorSimilarity(), 42L);
+    }
+
+    public HnswIndex(int dimensions, int m, int efConstruction, int efSearch, VectorSimilarity similarity) {
+        this(dimensions, m, efConstruction, efSearch, similarity, 42L);
+    }
+
+    public HnswIndex(int dimensions, int m, int efConstruction, int efSearch, VectorSimilarity similarity, long seed) {
+        if (dimensions <= 0 || m < 2 || efConstruction < 1 || efSearch < 1) {
+            throw new IllegalArgumentException("Invalid HNSW parameters: dimensions=" + dimensions
+                + ", m=" + m + ", efConstruction=" + efConstruction + ", efSearch=" + efSearch);
+        }
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.similarity = similarity;
+        this.random = new SplittableRandom(seed);
+        this.vectors = new float[INITIAL_CAPACITY * dimensions];
+        this.labels = new String[INITIAL_CAPACITY];
+        this.links = new int[INITIAL_CAPACITY][][];
+    }
+
+    public record Neighbor(String label, double similarity) {
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void setEfSearch(int efSearch) {
+        if (efSearch < 1) {
+            throw new IllegalArgumentException("efSearch must be positive");
+        }
+        this.efSearch = efSearch;
+    }
+
+    public void add(String label, float[] vector) {
+        checkDimensions(vector);
+        float[] normalized = normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodesByLabel.get(label);
+            if (existing != null) {
+                System.arraycopy(normalized, 0, vectors, existing * dimensions, dimensions);
+                return;
+            }
+            insert(label, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code k} most similar entries, best first.
+     */
+    public List<Neighbor> search(float[] query, int k) {
+        return search(query, k, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Entries with cosine similarity of at least {@code threshold}, best first,
+     * capped at {@code maxResults} ({@code <= 0} for no cap). Uncapped, the
+     * beam starts at {@code efSearch} and doubles while even its furthest entry
+     * clears the threshold, so it stops once the frontier falls below it.
+     * Recall is approximate; {@link #exactAbove} scans every entry instead.
+     */
+    public List<Neighbor> searchAbove(float[] query, double threshold, int maxResults) {
+        checkDimensions(query);
+        float[] normalized = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            int start = descend(normalized);
+            int ef = Math.max(efSearch, maxResults);
+            while (true) {
+                NodeHeap found = searchLayer(normalized, start, ef, 0);
+                boolean frontierAbove = found.size() >= ef && 1.0 - found.peekKey() >= threshold;
+                if (!frontierAbove || maxResults > 0 || ef >= size) {
+                    return closest(found, maxResults > 0 ? maxResults : Integer.MAX_VALUE, threshold);
+                }
+                ef = Math.min(ef * 2, size);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same contract as {@link #searchAbove}, answered exactly by comparing the
+     * query with every entry.
+     */
+    public List<Neighbor> exactAbove(float[] query, double threshold, int maxResults) {
+        checkDimensions(query);
+        float[] normalized = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            List<Neighbor> results = new ArrayList<>();
+            for (int node = 0; node < size; node++) {
+                double similarity = 1.0 - distance(normalized, node);
+                if (similarity >= threshold) {
+                    results.add(new Neighbor(labels[node], similarity));
+                }
+            }
+            results.sort(Comparator.comparingDouble(Neighbor::similarity).reversed());
+            return maxResults > 0 && results.size() > maxResults ? results.subList(0, maxResults) : results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Neighbor> search(float[] query, int k, double threshold) {
+        checkDimensions(query);
+        if (k <= 0) {
+            return List.of();
+        }
+        float[] normalized = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            return closest(searchLayer(normalized, descend(normalized), Math.max(efSearch, k), 0), k, threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Greedy walk from the entry point down to the closest node on layer 1.
+     */
+    private int descend(float[] query) {
+        int current = entryPoint;
+        for (int level = maxLevel; level > 0; level--) {
+            current = greedyClosest(query, current, level);
+        }
+        return current;
+    }
+
+    /**
+     * Drains a result heap into at most {@code k} neighbours at or above
+     * {@code threshold}, best first.
+     */
+    private List<Neighbor> closest(NodeHeap found, int k, double threshold) {
+        int count = found.size();
+        int[] nodes = new int[count];
+        float[] distances = new float[count];
+        for (int i = count - 1; i >= 0; i--) {
+            distances[i] = found.peekKey();
+            nodes[i] = found.poll();
+        }
+
+        List<Neighbor> results = new ArrayList<>(Math.min(k, count));
+        for (int i = 0; i < count && results.size() < k; i++) {
+            double similarity = 1.0 - distances[i];
+            if (similarity < threshold) {
+                break;
+            }
+            results.add(new Neighbor(labels[nodes[i]], similarity));
+        }
+        return results;
+    }
+
+    private void insert(String label, float[] vector) {
+        int node = size;
+        ensureCapacity(node + 1);
+        System.arraycopy(vector, 0, vectors, node * dimensions, dimensions);
+        labels[node] = label;
+        nodesByLabel.put(label, node);
+
+        int level = randomLevel();
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[0];
+        }
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            NodeHeap candidates = searchLayer(vector, current, efConstruction, l);
+            int[] closest = closestFirst(candidates);
+            current = closest[0];
+
+            int[] neighbors = Arrays.copyOf(closest, Math.min(m, closest.length));
+            links[node][l] = neighbors;
+            for (int neighbor : neighbors) {
+                connect(neighbor, node, l);
+            }
+        }
+
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+    }
+
+    private void connect(int from, int to, int level) {
+        int[] existing = links[from][level];
+        int[] updated = Arrays.copyOf(existing, existing.length + 1);
+        updated[existing.length] = to;
+
+        int limit = level == 0 ? maxM0 : m;
+        if (updated.length > limit) {
+            NodeHeap byDistance = new NodeHeap(updated.length, true);
+            for (int candidate : updated) {
+                byDistance.add(distance(from, candidate), candidate);
+            }
+            while (byDistance.size() > limit) {
+                byDistance.poll();
+            }
+            updated = closestFirst(byDistance);
+        }
+        links[from][level] = updated;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentDistance = distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : links[current][level]) {
+                float d = distance(query, neighbor);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one layer; returns a max-heap (worst on top) of up to
+     * {@code ef} closest nodes.
+     */
+    private NodeHeap searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(size);
+        NodeHeap candidates = new NodeHeap(ef * 2, false);
+        NodeHeap results = new NodeHeap(ef + 1, true);
+
+        float startDistance = distance(query, start);
+        visited.set(start);
+        candidates.add(startDistance, start);
+        results.add(startDistance, start);
+
+        while (candidates.size() > 0) {
+            float closestDistance = candidates.peekKey();
+            if (results.size() >= ef && closestDistance > results.peekKey()) {
+                break;
+            }
+            int closest = candidates.poll();
+
+            int[][] nodeLinks = links[closest];
+            if (level >= nodeLinks.length) {
+                continue;
+            }
+            for (int neighbor : nodeLinks[level]) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float d = distance(query, neighbor);
+                if (results.size() < ef || d < results.peekKey()) {
+                    candidates.add(d, neighbor);
+                    results.add(d, neighbor);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static int[] closestFirst(NodeHeap maxHeap) {
+        int[] ordered = new int[maxHeap.size()];
+        for (int i = ordered.length - 1; i >= 0; i--) {
+            ordered[i] = maxHeap.poll();
+        }
+        return ordered;
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble();
+        return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+    }
+
+    private float distance(float[] query, int node) {
+        return 1f - similarity.dot(query, 0, vectors, node * dimensions, dimensions);
+    }
+
+    private float distance(int a, int b) {
+        return 1f - similarity.dot(vectors, a * dimensions, vectors, b * dimensions, dimensions);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= labels.length) {
+            return;
+        }
+        int capacity = Math.max(required, labels.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity * dimensions);
+        labels = Arrays.copyOf(labels, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    private void checkDimensions(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(
+                "Expected vector of " + dimensions + " dimensions but got " + vector.length);
+        }
+    }
+
+    private static float[] normalize(float[] vector) {
+        double sumOfSquares = 0.0;
+        for (float value : vector) {
+            sumOfSquares += value * value;
+        }
+        float[] normalized = new float[vector.length];
+        if (sumOfSquares == 0.0) {
+            return normalized;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(sumOfSquares));
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * inverse;
+        }
+        return normalized;
+    }
+
+    /**
+     * Binary heap of (distance, node) pairs on primitive arrays.
+     */
+    private static final class NodeHeap {
+        private final boolean max;
+        private float[] keys;
+        private int[] nodes;
+        private int size;
+
+        NodeHeap(int capacity, boolean max) {
+            this.max = max;
+            this.keys = new float[Math.max(capacity, 4)];
+            this.nodes = new int[keys.length];
+        }
+
+        int size() {
+            return size;
+        }
+
+        float peekKey() {
+            return keys[0];
+        }
+
+        void add(float key, int node) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(key, keys[parent])) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                nodes[i] = nodes[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        int poll() {
+            int top = nodes[0];
+            size--;
+            if (size > 0) {
+                float key = keys[size];
+                int node = nodes[size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && before(keys[child + 1], keys[child])) {
+                        child++;
+                    }
+                    if (!before(keys[child], key)) {
+                        break;
+                    }
+                    keys[i] = keys[child];
+                    nodes[i] = nodes[child];
+                    i = child;
+                }
+                keys[i] = key;
+                nodes[i] = node;
+            }
+            return top;
+        }
+
+        private boolean before(float a, float b) {
+            return max ? a > b : a < b;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.recipeadjuster.ingredient.index;
+
+/**
+ * Top-K ranking computed one ordinal segment of the index at a time, so
+ * callers can publish the best matches found so far while the rest of the
+ * catalog is still being scored. After the last segment the snapshot equals
+ * {@link MatchScorer#rank} for the same arguments.
+ */
+public final class IncrementalRanking {
+
+    private final RecipeIndex index;
+    private final long[] pantryBits;
+    private final long[] admitted;
+    private final long minHundredths;
+    private final TopKHeap top;
+    private int position;
+
+    public IncrementalRanking(
+            RecipeIndex index, long[] pantryBits, RecipeFilter filter, int minMatchPercentage, int limit) {
+        this.index = index;
+        this.pantryBits = pantryBits;
+        this.admitted = index.admitted(filter);
+        this.minHundredths = minMatchPercentage * 100L;
+        this.top = new TopKHeap(Math.min(limit, index.size()));
+    }
+
+    public boolean isComplete() {
+        return position >= index.size();
+    }
+
+    public int scanned() {
+        return position;
+    }
+
+    /**
+     * Scores the next {@code segmentSize} recipes, at least one, so a loop
+     * until {@link #isComplete()} always terminates.
+     *
+     * @return whether the top-K changed
+     */
+    public boolean advance(int segmentSize) {
+        int to = (int) Math.min((long) position + Math.max(1, segmentSize), index.size());
+        boolean changed = MatchScorer.scoreRange(index, pantryBits, admitted, minHundredths, top, position, to);
+        position = to;
+        return changed;
+    }
+
+    /**
+     * Current best keys, best first.
+     */
+    public long[] snapshot() {
+        return top.toDescendingArray();
+    }
+}
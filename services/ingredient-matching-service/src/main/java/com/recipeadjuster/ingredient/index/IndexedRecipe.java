@@ -0,0 +1,26 @@
+package com.recipeadjuster.ingredient.index;
+
+import com.recipeadjuster.shared.model.entity.Recipe;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Summary of a recipe as held by the in-memory {@link RecipeIndex}: only the
+ * fields needed to filter, score and render a match.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class IndexedRecipe {
+    private final String id;
+    private final String title;
+    private final String imageUrl;
+    private final String cuisine;
+    private final Integer cookTime;
+    private final Recipe.Difficulty difficulty;
+    private final List<String> tags;
+    private final List<String> requiredIngredients;
+}
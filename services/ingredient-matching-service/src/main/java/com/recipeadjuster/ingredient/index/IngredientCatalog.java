@@ -0,0 +1,119 @@
+package com.recipeadjuster.ingredient.index;
+
+import com.recipeadjuster.ingredient.normalize.IngredientCanonicalizer;
+import com.recipeadjuster.ingredient.normalize.IngredientNormalizer;
+import com.recipeadjuster.shared.model.entity.Ingredient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory view of the {@code ingredients} collection: the
+ * embedding matrix used for semantic expansion, the alias lists keyed by
+ * canonical name, and the canonicalizer and mention matcher compiled from
+ * them. Names and aliases are held in {@link IngredientNormalizer} form.
+ */
+public final class IngredientCatalog {
+
+    private final long version;
+    private final EmbeddingMatrix embeddings;
+    private final Map<String, List<String>> aliasesByName;
+    private final IngredientCanonicalizer canonicalizer;
+    private final IngredientMatcher matcher;
+    private final int aliasesHash;
+
+    private IngredientCatalog(long version, EmbeddingMatrix embeddings, Map<String, List<String>> aliasesByName) {
+        this.version = version;
+        this.embeddings = embeddings;
+        this.aliasesByName = aliasesByName;
+        this.canonicalizer = IngredientCanonicalizer.build(aliasesByName);
+        this.matcher = IngredientMatcher.build(aliasesByName);
+        this.aliasesHash = aliasesByName.hashCode();
+    }
+
+    public static IngredientCatalog empty(int dimensions) {
+        return new IngredientCatalog(0L, EmbeddingMatrix.empty(dimensions), Map.of());
+    }
+
+    public static IngredientCatalog build(List<Ingredient> ingredients, int dimensions, long version) {
+        List<String> names = new ArrayList<>(ingredients.size());
+        List<float[]> vectors = new ArrayList<>(ingredients.size());
+        Map<String, List<String>> aliasesByName = new HashMap<>(ingredients.size() * 2);
+
+        for (Ingredient ingredient : ingredients) {
+            if (ingredient.getName() == null) {
+                continue;
+            }
+            String name = IngredientNormalizer.normalize(ingredient.getName());
+            if (name.isEmpty()) {
+                continue;
+            }
+            boolean first = !aliasesByName.containsKey(name);
+            List<String> aliases = aliasesByName.computeIfAbsent(name, n -> new ArrayList<>());
+            if (ingredient.getAliases() != null) {
+                for (String alias : ingredient.getAliases()) {
+                    String normalized = alias == null ? "" : IngredientNormalizer.normalize(alias);
+                    if (!normalized.isEmpty() && !normalized.equals(name) && !aliases.contains(normalized)) {
+                        aliases.add(normalized);
+                    }
+                }
+            }
+            if (first) {
+                names.add(name);
+                vectors.add(ingredient.getEmbedding() != null ? ingredient.getEmbedding().values() : null);
+            }
+        }
+        aliasesByName.replaceAll((name, aliases) -> Collections.unmodifiableList(aliases));
+
+        return new IngredientCatalog(version, EmbeddingMatrix.of(dimensions, names, vectors), aliasesByName);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return aliasesByName.size();
+    }
+
+    /**
+     * Content hash of the names and aliases, stable across instances; equal
+     * catalogs canonicalize and resolve ingredients identically.
+     */
+    public int aliasesHash() {
+        return aliasesHash;
+    }
+
+    /**
+     * Whether {@code other} has the same names, aliases and embeddings,
+     * whatever its version.
+     */
+    public boolean sameContent(IngredientCatalog other) {
+        return aliasesHash == other.aliasesHash
+            && aliasesByName.equals(other.aliasesByName)
+            && embeddings.sameContent(other.embeddings);
+    }
+
+    public IngredientCanonicalizer canonicalizer() {
+        return canonicalizer;
+    }
+
+    public IngredientMatcher matcher() {
+        return matcher;
+    }
+
+    public EmbeddingMatrix embeddings() {
+        return embeddings;
+    }
+
+    public boolean contains(String name) {
+        return aliasesByName.containsKey(name);
+    }
+
+    public List<String> aliases(String name) {
+        return aliasesByName.getOrDefault(name, List.of());
+    }
+}
@@ -0,0 +1,74 @@
+package com.recipeadjuster.ingredient.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense id assignment for ingredient terms. Ids run from {@code 0} to
+ * {@code size() - 1} in order of first appearance, so they can be used
+ * directly as bit positions.
+ */
+public final class IngredientDictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private final String[] names;
+    private final Map<String, Integer> ids;
+
+    private IngredientDictionary(String[] names, Map<String, Integer> ids) {
+        this.names = names;
+        this.ids = ids;
+    }
+
+    public static IngredientDictionary of(List<String> terms) {
+        Map<String, Integer> ids = new HashMap<>(terms.size() * 2);
+        for (String term : terms) {
+            ids.putIfAbsent(term, ids.size());
+        }
+        String[] names = new String[ids.size()];
+        ids.forEach((name, id) -> names[id] = name);
+        return new IngredientDictionary(names, ids);
+    }
+
+    /**
+     * This dictionary with the unseen {@code terms} appended; existing ids are
+     * unchanged. Returns {@code this} when every term is already known.
+     */
+    public IngredientDictionary extend(List<String> terms) {
+        Map<String, Integer> extended = null;
+        for (String term : terms) {
+            if (ids.containsKey(term) || (extended != null && extended.containsKey(term))) {
+                continue;
+            }
+            if (extended == null) {
+                extended = new HashMap<>(ids);
+            }
+            extended.put(term, extended.size());
+        }
+        if (extended == null) {
+            return this;
+        }
+        String[] extendedNames = Arrays.copyOf(names, extended.size());
+        extended.forEach((name, id) -> extendedNames[id] = name);
+        return new IngredientDictionary(extendedNames, extended);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int words() {
+        return (names.length + 63) >>> 6;
+    }
+
+    public int idOf(String term) {
+        Integer id = ids.get(term);
+        return id == null ? UNKNOWN : id;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+}
@@ -0,0 +1,291 @@
+package com.recipeadjuster.ingredient.index;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton over every ingredient name and alias in the catalog,
+ * mapping each pattern to its canonical ingredient id.
+ * <p>
+ * {@link #mentions} scans a string once and reports the ingredients mentioned
+ * in it. A pattern only counts when it starts and ends on a word boundary, so
+ * "oil" is not found in "boil"; overlapping hits are resolved leftmost-longest,
+ * so "olive oil" wins over "oil" inside "extra virgin olive oil". Patterns are
+ * matched lower-cased. Instances are immutable and safe to share.
+ */
+public final class IngredientMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final String[] names;
+    private final Map<String, Integer> ids;
+
+    // Goto function in CSR form: node n's edges are [edgeStart[n], edgeStart[n + 1]), sorted by label.
+    private final int[] edgeStart;
+    private final char[] edgeLabels;
+    private final int[] edgeTargets;
+    private final int[] failure;
+    private final int[] outputLink;
+    private final int[] patternId;
+    private final int[] depth;
+
+    private IngredientMatcher(String[] names, Map<String, Integer> ids, int[] edgeStart, char[] edgeLabels,
+                              int[] edgeTargets, int[] failure, int[] outputLink, int[] patternId, int[] depth) {
+        this.names = names;
+        this.ids = ids;
+        this.edgeStart = edgeStart;
+        this.edgeLabels = edgeLabels;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputLink = outputLink;
+        this.patternId = patternId;
+        this.depth = depth;
+    }
+
+    public static IngredientMatcher empty() {
+        return build(Map.of());
+    }
+
+    /**
+     * @param aliasesByName alias lists keyed by canonical ingredient name
+     */
+    public static IngredientMatcher build(Map<String, List<String>> aliasesByName) {
+        List<String> canonical = new ArrayList<>(new TreeSet<>(lowerCase(aliasesByName.keySet())));
+        String[] names = canonical.toArray(new String[0]);
+        Map<String, Integer> ids = new HashMap<>(names.length * 2);
+        for (int id = 0; id < names.length; id++) {
+            ids.put(names[id], id);
+        }
+
+        TrieBuilder trie = new TrieBuilder();
+        for (int id = 0; id < names.length; id++) {
+            trie.insert(names[id], id);
+        }
+        aliasesByName.forEach((name, aliases) -> {
+            int id = ids.get(name.toLowerCase(Locale.ROOT).trim());
+            for (String alias : aliases) {
+                if (alias != null) {
+                    trie.insert(alias.toLowerCase(Locale.ROOT).trim(), id);
+                }
+            }
+        });
+        return trie.compile(names, ids);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id == null ? IngredientDictionary.UNKNOWN : id;
+    }
+
+    /**
+     * Canonical ids of the ingredients mentioned in {@code text}, in order of
+     * appearance and without duplicates.
+     */
+    public int[] mentions(String text) {
+        String input = text.toLowerCase(Locale.ROOT);
+        int[] starts = new int[4];
+        int[] ends = new int[4];
+        int[] found = new int[4];
+        int count = 0;
+
+        int state = ROOT;
+        for (int i = 0; i < input.length(); i++) {
+            state = next(state, input.charAt(i));
+            for (int node = patternId[state] != NONE ? state : outputLink[state]; node != NONE; node = outputLink[node]) {
+                int end = i + 1;
+                int start = end - depth[node];
+                if (!isBoundary(input, start - 1) || !isBoundary(input, end)) {
+                    continue;
+                }
+                if (count == found.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                starts[count] = start;
+                ends[count] = end;
+                found[count] = patternId[node];
+                count++;
+            }
+        }
+        return leftmostLongest(starts, ends, found, count);
+    }
+
+    /**
+     * The single ingredient {@code text} names, or {@link IngredientDictionary#UNKNOWN}
+     * when it mentions none or several.
+     */
+    public int resolve(String text) {
+        int[] mentioned = mentions(text);
+        return mentioned.length == 1 ? mentioned[0] : IngredientDictionary.UNKNOWN;
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int target = edge(state, c);
+            if (target != NONE) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+    }
+
+    private int edge(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = edgeLabels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return NONE;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static int[] leftmostLongest(int[] starts, int[] ends, int[] found, int count) {
+        if (count == 0) {
+            return new int[0];
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> starts[a] != starts[b]
+            ? Integer.compare(starts[a], starts[b])
+            : Integer.compare(ends[b], ends[a]));
+
+        int[] selected = new int[count];
+        int selectedCount = 0;
+        int covered = 0;
+        for (int i : order) {
+            if (starts[i] < covered) {
+                continue;
+            }
+            covered = ends[i];
+            boolean duplicate = false;
+            for (int j = 0; j < selectedCount; j++) {
+                duplicate |= selected[j] == found[i];
+            }
+            if (!duplicate) {
+                selected[selectedCount++] = found[i];
+            }
+        }
+        return Arrays.copyOf(selected, selectedCount);
+    }
+
+    private static List<String> lowerCase(Collection<String> names) {
+        List<String> lowered = new ArrayList<>(names.size());
+        for (String name : names) {
+            lowered.add(name.toLowerCase(Locale.ROOT).trim());
+        }
+        return lowered;
+    }
+
+    /**
+     * Mutable trie used only while building; {@link #compile} flattens it and
+     * adds failure and output links breadth-first.
+     */
+    private static final class TrieBuilder {
+        private final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        private final List<Integer> patterns = new ArrayList<>();
+        private final List<Integer> depths = new ArrayList<>();
+
+        TrieBuilder() {
+            addNode(0);
+        }
+
+        void insert(String pattern, int id) {
+            if (pattern.isEmpty()) {
+                return;
+            }
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer child = children.get(node).get(c);
+                if (child == null) {
+                    child = addNode(i + 1);
+                    children.get(node).put(c, child);
+                }
+                node = child;
+            }
+            if (patterns.get(node) == NONE) {
+                patterns.set(node, id);
+            }
+        }
+
+        IngredientMatcher compile(String[] names, Map<String, Integer> ids) {
+            int nodes = children.size();
+            int[] edgeStart = new int[nodes + 1];
+            for (int node = 0; node < nodes; node++) {
+                edgeStart[node + 1] = edgeStart[node] + children.get(node).size();
+            }
+            char[] edgeLabels = new char[edgeStart[nodes]];
+            int[] edgeTargets = new int[edgeStart[nodes]];
+            for (int node = 0; node < nodes; node++) {
+                int cursor = edgeStart[node];
+                for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                    edgeLabels[cursor] = edge.getKey();
+                    edgeTargets[cursor] = edge.getValue();
+                    cursor++;
+                }
+            }
+
+            int[] patternId = new int[nodes];
+            int[] depth = new int[nodes];
+            for (int node = 0; node < nodes; node++) {
+                patternId[node] = patterns.get(node);
+                depth[node] = depths.get(node);
+            }
+
+            int[] failure = new int[nodes];
+            int[] outputLink = new int[nodes];
+            Arrays.fill(outputLink, NONE);
+            IngredientMatcher partial = new IngredientMatcher(
+                names, ids, edgeStart, edgeLabels, edgeTargets, failure, outputLink, patternId, depth);
+
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int child : children.get(ROOT).values()) {
+                failure[child] = ROOT;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                    int child = edge.getValue();
+                    int fallback = partial.next(failure[node], edge.getKey());
+                    failure[child] = fallback;
+                    outputLink[child] = patternId[fallback] != NONE ? fallback : outputLink[fallback];
+                    queue.add(child);
+                }
+            }
+            return partial;
+        }
+
+        private int addNode(int nodeDepth) {
+            children.add(new TreeMap<>());
+            patterns.add(NONE);
+            depths.add(nodeDepth);
+            return children.size() - 1;
+        }
+    }
+}
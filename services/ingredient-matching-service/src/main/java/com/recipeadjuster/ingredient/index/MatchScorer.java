@@ -0,0 +1,284 @@
+package com.recipeadjuster.ingredient.index;
+
+import java.util.Arrays;
+
+/**
+ * Selects the best-matching recipes among those sharing at least one
+ * ingredient with the pantry.
+ * <p>
+ * Candidates come from the posting lists of the pantry's term ids; each is
+ * scored with {@link RecipeIndex#matchedCount} and packed into a single
+ * {@code long} (score in the high half, ordinal in the low half) so ranking
+ * needs no per-candidate objects. Only the top {@code k} keys are kept, in a
+ * {@link TopKHeap}.
+ * <p>
+ * Pantry terms are walked in id order, so a recipe first reached through the
+ * i-th of {@code p} pantry terms can match at most {@code p - i} of them. That
+ * bound, capped by the recipe's required count, is checked against the
+ * minimum percentage and the current k-th best key before the popcount runs.
+ * <p>
+ * Filters are resolved up front to a bitset of admitted ordinals
+ * ({@link RecipeIndex#admitted}) that candidates are tested against with one
+ * bit probe. When that set is smaller than the pantry's posting lists, the
+ * admitted recipes are scored directly instead.
+ */
+public final class MatchScorer {
+
+    /**
+     * Largest batch {@link #rankBatch} accepts; query sets are single {@code long} masks.
+     */
+    public static final int MAX_BATCH = Long.SIZE;
+
+    private MatchScorer() {
+    }
+
+    /**
+     * Every qualifying recipe, best first.
+     */
+    public static long[] rank(RecipeIndex index, long[] pantryBits, RecipeFilter filter, int minMatchPercentage) {
+        return rank(index, pantryBits, filter, minMatchPercentage, index.size());
+    }
+
+    /**
+     * @return at most {@code limit} packed keys, best first; decode with
+     *         {@link #ordinal} and {@link #percentage}
+     */
+    public static long[] rank(
+            RecipeIndex index, long[] pantryBits, RecipeFilter filter, int minMatchPercentage, int limit) {
+        if (limit <= 0) {
+            return new long[0];
+        }
+        TopKHeap top = new TopKHeap(Math.min(limit, index.size()));
+        scoreRange(index, pantryBits, index.admitted(filter), minMatchPercentage * 100L, top, 0, index.size());
+        return top.drainDescending();
+    }
+
+    /**
+     * Scores the candidates with ordinals in {@code [from, to)} into {@code top}.
+     *
+     * @param admitted ordinals the filter admits, or {@code null} for all
+     * @return whether any key entered the heap
+     */
+    static boolean scoreRange(RecipeIndex index, long[] pantryBits, long[] admitted, long minHundredths,
+                              TopKHeap top, int from, int to) {
+        if (admitted != null
+                && (long) count(admitted, from, to) * index.size() < (long) postingTotal(index, pantryBits) * (to - from)) {
+            return scoreAdmitted(index, pantryBits, admitted, minHundredths, top, from, to);
+        }
+        long[] seen = new long[(to - from + 63) >>> 6];
+        int remainingTerms = pantryTerms(pantryBits);
+        boolean changed = false;
+
+        for (int word = 0; word < pantryBits.length; word++) {
+            long bits = pantryBits[word];
+            while (bits != 0) {
+                int termId = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int[] postings = index.postings(termId);
+                for (int p = lowerBound(postings, from); p < postings.length && postings[p] < to; p++) {
+                    int ordinal = postings[p];
+                    int slot = ordinal - from;
+                    long mask = 1L << slot;
+                    if ((seen[slot >>> 6] & mask) != 0) {
+                        continue;
+                    }
+                    seen[slot >>> 6] |= mask;
+                    if (admitted != null && !RecipeIndex.contains(admitted, ordinal)) {
+                        continue;
+                    }
+
+                    int required = index.requiredCount(ordinal);
+                    int bound = hundredths(Math.min(remainingTerms, required), required);
+                    if (bound < minHundredths || (top.isFull() && pack(bound, ordinal) <= top.min())) {
+                        continue;
+                    }
+
+                    int hundredths = hundredths(index.matchedCount(ordinal, pantryBits), required);
+                    if (hundredths >= minHundredths) {
+                        changed |= top.offer(pack(hundredths, ordinal));
+                    }
+                }
+                remainingTerms--;
+            }
+        }
+        return changed;
+    }
+
+    private static boolean scoreAdmitted(RecipeIndex index, long[] pantryBits, long[] admitted, long minHundredths,
+                                         TopKHeap top, int from, int to) {
+        boolean changed = false;
+        for (int word = from >>> 6, last = (to - 1) >>> 6; word <= last && from < to; word++) {
+            long bits = admitted[word] & rangeMask(word, from, to);
+            while (bits != 0) {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int matched = index.matchedCount(ordinal, pantryBits);
+                if (matched == 0) {
+                    continue;
+                }
+                int hundredths = hundredths(matched, index.requiredCount(ordinal));
+                if (hundredths >= minHundredths) {
+                    changed |= top.offer(pack(hundredths, ordinal));
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Ranks several pantries in one walk over the posting lists of their
+     * combined terms; {@code result[q]} equals {@link #rank} for query
+     * {@code q} alone.
+     * <p>
+     * Each recipe is visited once, when first reached through the lowest
+     * term any pantry shares with it. Pantries with no term at or above that
+     * one cannot match it, so only the still-active pantries are scored, each
+     * with its own remaining-terms bound and k-th best key.
+     */
+    public static long[][] rankBatch(RecipeIndex index, long[][] pantries, RecipeFilter[] filters,
+                                     int[] minMatchPercentages, int[] limits) {
+        int queries = pantries.length;
+        if (queries > MAX_BATCH) {
+            throw new IllegalArgumentException("Batch of " + queries + " exceeds " + MAX_BATCH + " pantries");
+        }
+        int words = index.dictionary().words();
+        long[] union = new long[words];
+        int[] remainingTerms = new int[queries];
+        long[] minHundredths = new long[queries];
+        TopKHeap[] tops = new TopKHeap[queries];
+        long[][] admitted = new long[queries][];
+        long active = 0;
+        for (int q = 0; q < queries; q++) {
+            for (int w = 0; w < words; w++) {
+                union[w] |= pantries[q][w];
+            }
+            remainingTerms[q] = pantryTerms(pantries[q]);
+            minHundredths[q] = minMatchPercentages[q] * 100L;
+            tops[q] = new TopKHeap(Math.min(limits[q], index.size()));
+            admitted[q] = index.admitted(filters[q]);
+            if (remainingTerms[q] > 0 && limits[q] > 0) {
+                active |= 1L << q;
+            }
+        }
+
+        long[] seen = new long[(index.size() + 63) >>> 6];
+        for (int word = 0; word < words && active != 0; word++) {
+            long bits = union[word];
+            while (bits != 0) {
+                int termId = (word << 6) + Long.numberOfTrailingZeros(bits);
+                long termBit = bits & -bits;
+                bits &= bits - 1;
+
+                for (int ordinal : index.postings(termId)) {
+                    long mask = 1L << ordinal;
+                    if ((seen[ordinal >>> 6] & mask) != 0) {
+                        continue;
+                    }
+                    seen[ordinal >>> 6] |= mask;
+
+                    int required = index.requiredCount(ordinal);
+                    for (long pending = active; pending != 0; pending &= pending - 1) {
+                        int q = Long.numberOfTrailingZeros(pending);
+                        if (admitted[q] != null && !RecipeIndex.contains(admitted[q], ordinal)) {
+                            continue;
+                        }
+                        TopKHeap top = tops[q];
+                        int bound = hundredths(Math.min(remainingTerms[q], required), required);
+                        if (bound < minHundredths[q] || (top.isFull() && pack(bound, ordinal) <= top.min())) {
+                            continue;
+                        }
+                        int matched = index.matchedCount(ordinal, pantries[q]);
+                        if (matched == 0) {
+                            continue;
+                        }
+                        int hundredths = hundredths(matched, required);
+                        if (hundredths >= minHundredths[q]) {
+                            top.offer(pack(hundredths, ordinal));
+                        }
+                    }
+                }
+
+                for (long pending = active; pending != 0; pending &= pending - 1) {
+                    int q = Long.numberOfTrailingZeros(pending);
+                    if ((pantries[q][word] & termBit) != 0 && --remainingTerms[q] == 0) {
+                        active &= ~(1L << q);
+                    }
+                }
+            }
+        }
+
+        long[][] ranked = new long[queries][];
+        for (int q = 0; q < queries; q++) {
+            ranked[q] = limits[q] > 0 ? tops[q].drainDescending() : new long[0];
+        }
+        return ranked;
+    }
+
+    private static int postingTotal(RecipeIndex index, long[] pantryBits) {
+        int total = 0;
+        for (int word = 0; word < pantryBits.length; word++) {
+            for (long bits = pantryBits[word]; bits != 0; bits &= bits - 1) {
+                total += index.postings((word << 6) + Long.numberOfTrailingZeros(bits)).length;
+            }
+        }
+        return total;
+    }
+
+    private static int count(long[] bits, int from, int to) {
+        int count = 0;
+        for (int word = from >>> 6, last = (to - 1) >>> 6; word <= last && from < to; word++) {
+            count += Long.bitCount(bits[word] & rangeMask(word, from, to));
+        }
+        return count;
+    }
+
+    // Bits of the given word that fall in [from, to).
+    private static long rangeMask(int word, int from, int to) {
+        long mask = -1L;
+        if (word == from >>> 6) {
+            mask &= -1L << from;
+        }
+        if (word == (to - 1) >>> 6) {
+            mask &= -1L >>> (63 - ((to - 1) & 63));
+        }
+        return mask;
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        if (value == 0) {
+            return 0;
+        }
+        int position = Arrays.binarySearch(sorted, value);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    public static int ordinal(long key) {
+        return Integer.MAX_VALUE - (int) key;
+    }
+
+    public static double percentage(long key) {
+        return (key >>> 32) / 100.0;
+    }
+
+    static int hundredths(int matched, int required) {
+        if (required == 0) {
+            return 0;
+        }
+        return (int) Math.round((matched * 100.0) / required * 100.0);
+    }
+
+    // Lower ordinals sort first among equal scores, preserving catalog order.
+    static long pack(int hundredths, int ordinal) {
+        return ((long) hundredths << 32) | (Integer.MAX_VALUE - ordinal);
+    }
+
+    private static int pantryTerms(long[] pantryBits) {
+        int terms = 0;
+        for (long bits : pantryBits) {
+            terms += Long.bitCount(bits);
+        }
+        return terms;
+    }
+}
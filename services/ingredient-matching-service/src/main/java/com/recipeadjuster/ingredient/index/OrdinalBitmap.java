@@ -0,0 +1,392 @@
+package com.recipeadjuster.ingredient.index;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of recipe ordinals in the Roaring layout: ordinals
+ * are split by their high 16 bits into chunks, and each chunk is stored as a
+ * sorted {@code char[]} while it holds at most {@value #ARRAY_MAX} values and
+ * as a 1024-word bitset above that. Sparse filter values (a rare cuisine or
+ * tag) stay small, dense ones cost at most 8 KiB per 65536 ordinals.
+ * <p>
+ * {@link #with} and {@link #without} copy only the chunk they touch.
+ */
+public final class OrdinalBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private static final OrdinalBitmap EMPTY = new OrdinalBitmap(new char[0], new Object[0], new int[0]);
+
+    // Chunk i holds the ordinals (keys[i] << 16) | low, low in containers[i]: a char[] or a long[BITMAP_WORDS].
+    private final char[] keys;
+    private final Object[] containers;
+    private final int[] cardinalities;
+    private final int cardinality;
+
+    private OrdinalBitmap(char[] keys, Object[] containers, int[] cardinalities) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinalities = cardinalities;
+        int total = 0;
+        for (int count : cardinalities) {
+            total += count;
+        }
+        this.cardinality = total;
+    }
+
+    public static OrdinalBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param sortedOrdinals ascending, without duplicates
+     */
+    public static OrdinalBitmap of(int[] sortedOrdinals) {
+        Builder builder = new Builder();
+        int start = 0;
+        while (start < sortedOrdinals.length) {
+            char key = (char) (sortedOrdinals[start] >>> 16);
+            int end = start;
+            while (end < sortedOrdinals.length && sortedOrdinals[end] >>> 16 == key) {
+                end++;
+            }
+            char[] values = new char[end - start];
+            for (int i = start; i < end; i++) {
+                values[i - start] = (char) sortedOrdinals[i];
+            }
+            builder.add(key, values.length > ARRAY_MAX ? toBitmap(values) : values, values.length);
+            start = end;
+        }
+        return builder.build();
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int ordinal) {
+        int chunk = Arrays.binarySearch(keys, (char) (ordinal >>> 16));
+        return chunk >= 0 && containerContains(containers[chunk], (char) ordinal);
+    }
+
+    public OrdinalBitmap with(int ordinal) {
+        char key = (char) (ordinal >>> 16);
+        char low = (char) ordinal;
+        int chunk = Arrays.binarySearch(keys, key);
+        if (chunk < 0) {
+            int at = -chunk - 1;
+            return new OrdinalBitmap(
+                insert(keys, at, key), insert(containers, at, new char[] {low}), insert(cardinalities, at, 1));
+        }
+        if (containerContains(containers[chunk], low)) {
+            return this;
+        }
+        Object container = containers[chunk];
+        int count = cardinalities[chunk] + 1;
+        if (container instanceof char[] values) {
+            int at = -Arrays.binarySearch(values, low) - 1;
+            char[] grown = insert(values, at, low);
+            container = grown.length > ARRAY_MAX ? toBitmap(grown) : grown;
+        } else {
+            long[] words = ((long[]) container).clone();
+            words[low >>> 6] |= 1L << low;
+            container = words;
+        }
+        return replace(chunk, container, count);
+    }
+
+    public OrdinalBitmap without(int ordinal) {
+        char low = (char) ordinal;
+        int chunk = Arrays.binarySearch(keys, (char) (ordinal >>> 16));
+        if (chunk < 0 || !containerContains(containers[chunk], low)) {
+            return this;
+        }
+        int count = cardinalities[chunk] - 1;
+        if (count == 0) {
+            return new OrdinalBitmap(remove(keys, chunk), remove(containers, chunk), remove(cardinalities, chunk));
+        }
+        Object container = containers[chunk];
+        if (container instanceof char[] values) {
+            container = remove(values, Arrays.binarySearch(values, low));
+        } else {
+            long[] words = ((long[]) container).clone();
+            words[low >>> 6] &= ~(1L << low);
+            container = count > ARRAY_MAX ? words : toArray(words, count);
+        }
+        return replace(chunk, container, count);
+    }
+
+    public OrdinalBitmap and(OrdinalBitmap other) {
+        Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object a = containers[i];
+                Object b = other.containers[j];
+                if (a instanceof char[] values) {
+                    builder.addSparse(keys[i], b instanceof char[] others ? intersect(values, others) : filter(values, (long[]) b));
+                } else if (b instanceof char[] values) {
+                    builder.addSparse(keys[i], filter(values, (long[]) a));
+                } else {
+                    builder.addDense(keys[i], andWords((long[]) a, (long[]) b));
+                }
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    public OrdinalBitmap or(OrdinalBitmap other) {
+        Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                builder.add(keys[i], containers[i], cardinalities[i]);
+                i++;
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                builder.add(other.keys[j], other.containers[j], other.cardinalities[j]);
+                j++;
+            } else {
+                Object a = containers[i];
+                Object b = other.containers[j];
+                if (a instanceof char[] values && b instanceof char[] others) {
+                    builder.addSparse(keys[i], union(values, others));
+                } else {
+                    long[] words = (a instanceof long[] dense ? dense : toBitmap((char[]) a)).clone();
+                    if (b instanceof char[] values) {
+                        for (char value : values) {
+                            words[value >>> 6] |= 1L << value;
+                        }
+                    } else {
+                        long[] others = (long[]) b;
+                        for (int w = 0; w < BITMAP_WORDS; w++) {
+                            words[w] |= others[w];
+                        }
+                    }
+                    builder.addDense(keys[i], words);
+                }
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Ordinals below {@code size} as a flat bitset of {@code (size + 63) / 64} words.
+     */
+    public long[] toWords(int size) {
+        long[] dense = new long[(size + 63) >>> 6];
+        for (int chunk = 0; chunk < keys.length; chunk++) {
+            int base = keys[chunk] << 16;
+            if (containers[chunk] instanceof char[] values) {
+                for (char value : values) {
+                    int ordinal = base | value;
+                    if (ordinal < size) {
+                        dense[ordinal >>> 6] |= 1L << ordinal;
+                    }
+                }
+            } else if (base < size) {
+                int offset = base >>> 6;
+                System.arraycopy(containers[chunk], 0, dense, offset, Math.min(BITMAP_WORDS, dense.length - offset));
+            }
+        }
+        if ((size & 63) != 0 && dense.length > 0) {
+            dense[dense.length - 1] &= (1L << size) - 1;
+        }
+        return dense;
+    }
+
+    private OrdinalBitmap replace(int chunk, Object container, int count) {
+        Object[] nextContainers = containers.clone();
+        int[] nextCardinalities = cardinalities.clone();
+        nextContainers[chunk] = container;
+        nextCardinalities[chunk] = count;
+        return new OrdinalBitmap(keys, nextContainers, nextCardinalities);
+    }
+
+    private static boolean containerContains(Object container, char low) {
+        if (container instanceof char[] values) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static long[] toBitmap(char[] values) {
+        long[] words = new long[BITMAP_WORDS];
+        for (char value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words, int count) {
+        char[] values = new char[count];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long bits = words[w];
+            while (bits != 0) {
+                values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+
+    private static char[] intersect(char[] a, char[] b) {
+        char[] out = new char[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static char[] union(char[] a, char[] b) {
+        char[] out = new char[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i == a.length || a[i] > b[j]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static char[] filter(char[] values, long[] words) {
+        char[] out = new char[values.length];
+        int n = 0;
+        for (char value : values) {
+            if ((words[value >>> 6] & (1L << value)) != 0) {
+                out[n++] = value;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long[] andWords(long[] a, long[] b) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] = a[w] & b[w];
+        }
+        return words;
+    }
+
+    private static char[] insert(char[] array, int at, char value) {
+        char[] copy = new char[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static Object[] insert(Object[] array, int at, Object value) {
+        Object[] copy = new Object[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static int[] insert(int[] array, int at, int value) {
+        int[] copy = new int[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static char[] remove(char[] array, int at) {
+        char[] copy = new char[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        System.arraycopy(array, at + 1, copy, at, copy.length - at);
+        return copy;
+    }
+
+    private static Object[] remove(Object[] array, int at) {
+        Object[] copy = new Object[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        System.arraycopy(array, at + 1, copy, at, copy.length - at);
+        return copy;
+    }
+
+    private static int[] remove(int[] array, int at) {
+        int[] copy = new int[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        System.arraycopy(array, at + 1, copy, at, copy.length - at);
+        return copy;
+    }
+
+    /**
+     * Collects chunks in ascending key order, dropping empty ones and
+     * switching each to whichever container suits its cardinality.
+     */
+    private static final class Builder {
+        private char[] keys = new char[4];
+        private Object[] containers = new Object[4];
+        private int[] cardinalities = new int[4];
+        private int size;
+
+        void addSparse(char key, char[] values) {
+            add(key, values.length > ARRAY_MAX ? toBitmap(values) : values, values.length);
+        }
+
+        void addDense(char key, long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            add(key, count > ARRAY_MAX ? words : toArray(words, count), count);
+        }
+
+        void add(char key, Object container, int count) {
+            if (count == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+                cardinalities = Arrays.copyOf(cardinalities, size * 2);
+            }
+            keys[size] = key;
+            containers[size] = container;
+            cardinalities[size] = count;
+            size++;
+        }
+
+        OrdinalBitmap build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new OrdinalBitmap(
+                Arrays.copyOf(keys, size), Arrays.copyOf(containers, size), Arrays.copyOf(cardinalities, size));
+        }
+    }
+}
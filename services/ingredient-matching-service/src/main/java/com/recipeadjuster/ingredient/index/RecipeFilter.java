@@ -0,0 +1,79 @@
+package com.recipeadjuster.ingredient.index;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+import com.recipeadjuster.shared.model.entity.Recipe;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory equivalent of the Mongo criteria the matcher used to apply:
+ * cuisine {@code $in}, cook time {@code $lte}, difficulty {@code $in} and
+ * dietary tags {@code $all}. Scoring resolves it to a set of ordinals through
+ * {@link RecipeIndex#admitted}.
+ */
+public final class RecipeFilter {
+
+    private static final RecipeFilter NONE = new RecipeFilter(null, null, null, null);
+
+    private final Set<String> cuisines;
+    private final Integer maxCookTime;
+    private final Set<Recipe.Difficulty> difficulties;
+    private final List<String> dietary;
+
+    private RecipeFilter(Set<String> cuisines, Integer maxCookTime,
+                         Set<Recipe.Difficulty> difficulties, List<String> dietary) {
+        this.cuisines = cuisines;
+        this.maxCookTime = maxCookTime;
+        this.difficulties = difficulties;
+        this.dietary = dietary;
+    }
+
+    public static RecipeFilter from(IngredientMatchRequest.FilterOptions filters) {
+        if (filters == null) {
+            return NONE;
+        }
+
+        Set<String> cuisines = null;
+        if (filters.getCuisines() != null && !filters.getCuisines().isEmpty()) {
+            cuisines = new HashSet<>(filters.getCuisines());
+        }
+
+        Set<Recipe.Difficulty> difficulties = null;
+        if (filters.getDifficulty() != null && !filters.getDifficulty().isEmpty()) {
+            difficulties = EnumSet.noneOf(Recipe.Difficulty.class);
+            for (String difficulty : filters.getDifficulty()) {
+                difficulties.add(Recipe.Difficulty.valueOf(difficulty.toUpperCase()));
+            }
+        }
+
+        List<String> dietary = null;
+        if (filters.getDietary() != null && !filters.getDietary().isEmpty()) {
+            dietary = filters.getDietary();
+        }
+
+        return new RecipeFilter(cuisines, filters.getMaxCookTime(), difficulties, dietary);
+    }
+
+    public boolean isEmpty() {
+        return cuisines == null && maxCookTime == null && difficulties == null && dietary == null;
+    }
+
+    Set<String> cuisines() {
+        return cuisines;
+    }
+
+    Integer maxCookTime() {
+        return maxCookTime;
+    }
+
+    Set<Recipe.Difficulty> difficulties() {
+        return difficulties;
+    }
+
+    List<String> dietary() {
+        return dietary;
+    }
+}
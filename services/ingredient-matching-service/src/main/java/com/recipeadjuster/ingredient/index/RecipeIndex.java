@@ -0,0 +1,413 @@
+package com.recipeadjuster.ingredient.index;
+
+import java.util.*;
+
+/**
+ * Immutable inverted index over the approved recipe catalog.
+ * <p>
+ * Required ingredients are canonicalized through the catalog's
+ * {@link IngredientMatcher} (so "garlic cloves" and "garlic" share a term)
+ * and every term gets a dense id from the {@link IngredientDictionary}. Each id maps to the sorted ordinals of the
+ * recipes that need it, and each recipe stores its required set as a sparse
+ * bitset (only the non-zero 64-bit words, packed back to back) so it can be
+ * scored against a pantry with word-level AND and popcount. A {@link FilterIndex}
+ * holds per-value bitmaps for the match filters.
+ * <p>
+ * Per-recipe data lives in fixed-size segments of {@value #SEGMENT_SIZE}
+ * ordinals. A full refresh builds a new instance; {@link #update} derives one
+ * that shares every segment and posting list the change does not touch. Either
+ * way the result is swapped in whole, so readers never need to lock.
+ */
+public final class RecipeIndex {
+
+    static final int SEGMENT_SHIFT = 10;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final long version;
+    private final int size;
+    private final int liveCount;
+    private final Segment[] segments;
+    private final IngredientDictionary dictionary;
+    private final IngredientMatcher matcher;
+    private final Map<String, Integer> termIds;
+    private final int[][] postings;
+    private final FilterIndex filters;
+
+    private RecipeIndex(long version, int size, int liveCount, Segment[] segments, IngredientDictionary dictionary,
+                        IngredientMatcher matcher, Map<String, Integer> termIds, int[][] postings, FilterIndex filters) {
+        this.version = version;
+        this.size = size;
+        this.liveCount = liveCount;
+        this.segments = segments;
+        this.dictionary = dictionary;
+        this.matcher = matcher;
+        this.termIds = termIds;
+        this.postings = postings;
+        this.filters = filters;
+    }
+
+    public static RecipeIndex empty() {
+        return build(List.of(), 0L);
+    }
+
+    public static RecipeIndex build(List<IndexedRecipe> catalog, long version) {
+        return build(catalog, IngredientMatcher.empty(), version);
+    }
+
+    public static RecipeIndex build(List<IndexedRecipe> catalog, IngredientMatcher matcher, long version) {
+        IndexedRecipe[] recipes = catalog.toArray(new IndexedRecipe[0]);
+
+        Map<String, String> canonicalTerms = new HashMap<>();
+        List<String> vocabulary = new ArrayList<>();
+        for (IndexedRecipe recipe : recipes) {
+            for (String ingredient : recipe.getRequiredIngredients()) {
+                vocabulary.add(canonicalTerms.computeIfAbsent(ingredient, i -> canonicalTerm(matcher, i)));
+            }
+        }
+        IngredientDictionary dictionary = IngredientDictionary.of(vocabulary);
+        Map<String, Integer> termIds = new HashMap<>(canonicalTerms.size() * 2);
+        canonicalTerms.forEach((ingredient, term) -> termIds.put(ingredient, dictionary.idOf(term)));
+
+        int[] postingSizes = new int[dictionary.size()];
+        int[][] recipeTermIds = new int[recipes.length][];
+        for (int ordinal = 0; ordinal < recipes.length; ordinal++) {
+            int[] recipeTerms = sortedTermIds(recipes[ordinal], termIds);
+            recipeTermIds[ordinal] = recipeTerms;
+            for (int termId : recipeTerms) {
+                postingSizes[termId]++;
+            }
+        }
+
+        int[][] postings = new int[dictionary.size()][];
+        for (int termId = 0; termId < postings.length; termId++) {
+            postings[termId] = new int[postingSizes[termId]];
+            postingSizes[termId] = 0;
+        }
+        for (int ordinal = 0; ordinal < recipes.length; ordinal++) {
+            for (int termId : recipeTermIds[ordinal]) {
+                postings[termId][postingSizes[termId]++] = ordinal;
+            }
+        }
+
+        Segment[] segments = new Segment[(recipes.length + SEGMENT_MASK) >>> SEGMENT_SHIFT];
+        for (int s = 0; s < segments.length; s++) {
+            int from = s << SEGMENT_SHIFT;
+            int to = Math.min(from + SEGMENT_SIZE, recipes.length);
+            segments[s] = Segment.of(Arrays.copyOfRange(recipes, from, to), Arrays.copyOfRange(recipeTermIds, from, to));
+        }
+
+        return new RecipeIndex(version, recipes.length, recipes.length, segments, dictionary, matcher, termIds, postings,
+            FilterIndex.build(recipes));
+    }
+
+    /**
+     * A copy with the recipe at {@code ordinal} replaced by {@code recipe}, or
+     * removed when {@code recipe} is {@code null}; {@code ordinal == size()}
+     * appends. Only the affected segment and posting lists are copied; new
+     * terms are appended to the dictionary, so existing term ids keep their
+     * meaning. Removed ordinals stay reserved until the next full build.
+     */
+    public RecipeIndex update(int ordinal, IndexedRecipe recipe, long version) {
+        if (ordinal < 0 || ordinal > size) {
+            throw new IndexOutOfBoundsException("Ordinal " + ordinal + " outside [0, " + size + "]");
+        }
+        boolean append = ordinal == size;
+        IndexedRecipe previous = append ? null : recipe(ordinal);
+
+        IngredientDictionary nextDictionary = dictionary;
+        Map<String, Integer> nextTermIds = termIds;
+        int[] newTerms = new int[0];
+        if (recipe != null) {
+            List<String> unseen = new ArrayList<>();
+            for (String ingredient : recipe.getRequiredIngredients()) {
+                if (!termIds.containsKey(ingredient)) {
+                    unseen.add(ingredient);
+                }
+            }
+            if (!unseen.isEmpty()) {
+                List<String> terms = new ArrayList<>(unseen.size());
+                unseen.forEach(ingredient -> terms.add(canonicalTerm(matcher, ingredient)));
+                nextDictionary = dictionary.extend(terms);
+                nextTermIds = new HashMap<>(termIds);
+                for (int i = 0; i < unseen.size(); i++) {
+                    nextTermIds.put(unseen.get(i), nextDictionary.idOf(terms.get(i)));
+                }
+            }
+            newTerms = sortedTermIds(recipe, nextTermIds);
+        }
+        int[] oldTerms = append ? new int[0] : segments[ordinal >>> SEGMENT_SHIFT].termIds(ordinal & SEGMENT_MASK);
+
+        int[][] nextPostings = Arrays.copyOf(postings, nextDictionary.size());
+        for (int termId = postings.length; termId < nextPostings.length; termId++) {
+            nextPostings[termId] = new int[0];
+        }
+        for (int termId : oldTerms) {
+            if (Arrays.binarySearch(newTerms, termId) < 0) {
+                nextPostings[termId] = without(nextPostings[termId], ordinal);
+            }
+        }
+        for (int termId : newTerms) {
+            if (Arrays.binarySearch(oldTerms, termId) < 0) {
+                nextPostings[termId] = with(nextPostings[termId], ordinal);
+            }
+        }
+
+        int segment = ordinal >>> SEGMENT_SHIFT;
+        Segment[] nextSegments = segment < segments.length ? segments.clone() : Arrays.copyOf(segments, segment + 1);
+        Segment current = segment < segments.length ? nextSegments[segment] : Segment.EMPTY;
+        nextSegments[segment] = current.with(ordinal & SEGMENT_MASK, recipe, newTerms);
+
+        int nextLive = liveCount - (previous != null ? 1 : 0) + (recipe != null ? 1 : 0);
+        return new RecipeIndex(version, append ? size + 1 : size, nextLive, nextSegments,
+            nextDictionary, matcher, nextTermIds, nextPostings, filters.update(ordinal, previous, recipe));
+    }
+
+    // Uncatalogued or ambiguous ingredients keep their own text as the term.
+    private static String canonicalTerm(IngredientMatcher matcher, String ingredient) {
+        int id = matcher.resolve(ingredient);
+        return id == IngredientDictionary.UNKNOWN ? ingredient : matcher.name(id);
+    }
+
+    private static int[] sortedTermIds(IndexedRecipe recipe, Map<String, Integer> termIds) {
+        return recipe.getRequiredIngredients().stream()
+            .mapToInt(termIds::get)
+            .distinct()
+            .sorted()
+            .toArray();
+    }
+
+    private static int[] with(int[] sortedOrdinals, int ordinal) {
+        int at = -Arrays.binarySearch(sortedOrdinals, ordinal) - 1;
+        int[] copy = new int[sortedOrdinals.length + 1];
+        System.arraycopy(sortedOrdinals, 0, copy, 0, at);
+        copy[at] = ordinal;
+        System.arraycopy(sortedOrdinals, at, copy, at + 1, sortedOrdinals.length - at);
+        return copy;
+    }
+
+    private static int[] without(int[] sortedOrdinals, int ordinal) {
+        int at = Arrays.binarySearch(sortedOrdinals, ordinal);
+        int[] copy = new int[sortedOrdinals.length - 1];
+        System.arraycopy(sortedOrdinals, 0, copy, 0, at);
+        System.arraycopy(sortedOrdinals, at + 1, copy, at, copy.length - at);
+        return copy;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Upper bound of the ordinal range, including removed ordinals.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Recipes currently in the index.
+     */
+    public int liveCount() {
+        return liveCount;
+    }
+
+    public int termCount() {
+        return dictionary.size();
+    }
+
+    public IngredientDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * The recipe at {@code ordinal}, or {@code null} if it was removed.
+     * Removed ordinals appear in no posting list.
+     */
+    public IndexedRecipe recipe(int ordinal) {
+        return segments[ordinal >>> SEGMENT_SHIFT].recipes[ordinal & SEGMENT_MASK];
+    }
+
+    public int requiredCount(int ordinal) {
+        return segments[ordinal >>> SEGMENT_SHIFT].requiredCounts[ordinal & SEGMENT_MASK];
+    }
+
+    /**
+     * Term id of a recipe's required ingredient as written in the recipe.
+     */
+    public int termId(String ingredient) {
+        return termIds.getOrDefault(ingredient, IngredientDictionary.UNKNOWN);
+    }
+
+    /**
+     * Resolves pantry entries to a bitset over term ids. Each entry is
+     * scanned once by the matcher and contributes the canonical ingredients
+     * it mentions; an entry spelled exactly like a recipe ingredient or term
+     * matches that term too, which covers ingredients missing from the catalog.
+     */
+    public long[] resolvePantry(List<String> pantry) {
+        long[] bits = new long[dictionary.words()];
+        for (String entry : pantry) {
+            set(bits, termId(entry));
+            set(bits, dictionary.idOf(entry));
+            for (int ingredientId : matcher.mentions(entry)) {
+                set(bits, dictionary.idOf(matcher.name(ingredientId)));
+            }
+        }
+        return bits;
+    }
+
+    private static void set(long[] bits, int termId) {
+        if (termId != IngredientDictionary.UNKNOWN) {
+            bits[termId >>> 6] |= 1L << termId;
+        }
+    }
+
+    /**
+     * Ordinals {@code filter} admits as a bitset over {@code [0, size())}, or
+     * {@code null} when it admits every recipe.
+     */
+    public long[] admitted(RecipeFilter filter) {
+        return filters.select(filter, this);
+    }
+
+    public int[] postings(int termId) {
+        return postings[termId];
+    }
+
+    /**
+     * Number of the recipe's required ingredients present in the pantry
+     * bitset. Allocation-free: one AND and popcount per non-zero word.
+     */
+    public int matchedCount(int ordinal, long[] pantryBits) {
+        return segments[ordinal >>> SEGMENT_SHIFT].matchedCount(ordinal & SEGMENT_MASK, pantryBits);
+    }
+
+    /**
+     * The recipe's required ingredients split by whether the pantry covers
+     * them, one entry per distinct term exactly as {@link #matchedCount} and
+     * {@link #requiredCount} count them, in the first spelling the recipe uses.
+     */
+    public Coverage coverage(int ordinal, long[] pantryBits) {
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (String required : recipe(ordinal).getRequiredIngredients()) {
+            int termId = termId(required);
+            if (seen.add(termId)) {
+                (contains(pantryBits, termId) ? matched : missing).add(required);
+            }
+        }
+        return new Coverage(matched, missing);
+    }
+
+    public record Coverage(List<String> matched, List<String> missing) {
+    }
+
+    public static boolean contains(long[] bits, int termId) {
+        return termId >= 0 && (bits[termId >>> 6] & (1L << termId)) != 0;
+    }
+
+    /**
+     * Recipes and sparse required-term bitsets for up to {@value #SEGMENT_SIZE}
+     * consecutive ordinals: slot {@code i}'s words are
+     * {@code [wordStart[i], wordStart[i + 1])}. Never modified once built.
+     */
+    private static final class Segment {
+
+        static final Segment EMPTY = new Segment(new IndexedRecipe[0], new int[0], new int[1], new int[0], new long[0]);
+
+        final IndexedRecipe[] recipes;
+        final int[] requiredCounts;
+        final int[] wordStart;
+        final int[] wordIndex;
+        final long[] wordBits;
+
+        private Segment(IndexedRecipe[] recipes, int[] requiredCounts, int[] wordStart, int[] wordIndex, long[] wordBits) {
+            this.recipes = recipes;
+            this.requiredCounts = requiredCounts;
+            this.wordStart = wordStart;
+            this.wordIndex = wordIndex;
+            this.wordBits = wordBits;
+        }
+
+        static Segment of(IndexedRecipe[] recipes, int[][] sortedTermIds) {
+            int totalWords = 0;
+            for (int[] terms : sortedTermIds) {
+                totalWords += distinctWords(terms);
+            }
+            int[] requiredCounts = new int[recipes.length];
+            int[] wordStart = new int[recipes.length + 1];
+            int[] wordIndex = new int[totalWords];
+            long[] wordBits = new long[totalWords];
+            int cursor = 0;
+
+            for (int slot = 0; slot < recipes.length; slot++) {
+                wordStart[slot] = cursor;
+                requiredCounts[slot] = sortedTermIds[slot].length;
+                int previousWord = -1;
+                for (int termId : sortedTermIds[slot]) {
+                    int word = termId >>> 6;
+                    if (word != previousWord) {
+                        wordIndex[cursor++] = word;
+                        previousWord = word;
+                    }
+                    wordBits[cursor - 1] |= 1L << termId;
+                }
+            }
+            wordStart[recipes.length] = cursor;
+            return new Segment(recipes, requiredCounts, wordStart, wordIndex, wordBits);
+        }
+
+        /**
+         * A copy with {@code slot} (at most one past the end) holding
+         * {@code recipe}, or emptied when it is {@code null}.
+         */
+        Segment with(int slot, IndexedRecipe recipe, int[] sortedTermIds) {
+            int count = Math.max(recipes.length, slot + 1);
+            IndexedRecipe[] nextRecipes = Arrays.copyOf(recipes, count);
+            int[][] terms = new int[count][];
+            for (int i = 0; i < count; i++) {
+                terms[i] = i == slot ? sortedTermIds : termIds(i);
+            }
+            nextRecipes[slot] = recipe;
+            return of(nextRecipes, terms);
+        }
+
+        int[] termIds(int slot) {
+            if (slot >= recipes.length) {
+                return new int[0];
+            }
+            int[] terms = new int[requiredCounts[slot]];
+            int n = 0;
+            for (int i = wordStart[slot], end = wordStart[slot + 1]; i < end; i++) {
+                long bits = wordBits[i];
+                while (bits != 0) {
+                    terms[n++] = (wordIndex[i] << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+            return terms;
+        }
+
+        int matchedCount(int slot, long[] pantryBits) {
+            int matched = 0;
+            for (int i = wordStart[slot], end = wordStart[slot + 1]; i < end; i++) {
+                matched += Long.bitCount(wordBits[i] & pantryBits[wordIndex[i]]);
+            }
+            return matched;
+        }
+
+        private static int distinctWords(int[] sortedTermIds) {
+            int words = 0;
+            int previousWord = -1;
+            for (int termId : sortedTermIds) {
+                if (termId >>> 6 != previousWord) {
+                    previousWord = termId >>> 6;
+                    words++;
+                }
+            }
+            return words;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.recipeadjuster.ingredient.index;
+
+import java.util.Arrays;
+
+/**
+ * Bounded min-heap of packed ranking keys that keeps the {@code k} largest
+ * offered. The root is the current k-th best key, which is the bar a new
+ * candidate has to clear once the heap is full.
+ */
+final class TopKHeap {
+
+    private final long[] heap;
+    private int size;
+
+    TopKHeap(int k) {
+        this.heap = new long[Math.max(k, 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == heap.length;
+    }
+
+    long min() {
+        return heap[0];
+    }
+
+    /**
+     * @return whether the key was kept
+     */
+    boolean offer(long key) {
+        if (size < heap.length) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= key) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = key;
+            return true;
+        }
+        if (key > heap[0]) {
+            siftDown(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copy of the current keys, largest first; the heap is left intact.
+     */
+    long[] toDescendingArray() {
+        long[] keys = Arrays.copyOf(heap, size);
+        Arrays.sort(keys);
+        for (int i = 0, j = keys.length - 1; i < j; i++, j--) {
+            long swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        return keys;
+    }
+
+    /**
+     * Empties the heap, returning its keys largest first.
+     */
+    long[] drainDescending() {
+        long[] keys = new long[size];
+        for (int i = keys.length - 1; i >= 0; i--) {
+            keys[i] = heap[0];
+            size--;
+            if (size > 0) {
+                siftDown(heap[size]);
+            }
+        }
+        return keys;
+    }
+
+    private void siftDown(long key) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= key) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = key;
+    }
+}
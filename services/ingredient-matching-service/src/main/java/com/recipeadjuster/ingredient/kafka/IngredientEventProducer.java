@@ -5,8 +5,11 @@ import com.recipeadjuster.shared.event.IngredientSubmittedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -14,15 +17,17 @@ public class IngredientEventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
-    public void publishIngredientSubmitted(IngredientSubmittedEvent event) {
-        log.info("Publishing ingredient.submitted event: {}", event.getEventId());
+    public CompletableFuture<SendResult<String, Object>> publishIngredientSubmitted(IngredientSubmittedEvent event) {
+        log.debug("Publishing ingredient.submitted event: {}", event.getEventId());
         
-        kafkaTemplate.send(
+        return kafkaTemplate.send(
             KafkaTopics.INGREDIENT_SUBMITTED,
             event.getEventId(),
             event
         );
-        
-        log.debug("Event published successfully to topic: {}", KafkaTopics.INGREDIENT_SUBMITTED);
+    }
+
+    public void flush() {
+        kafkaTemplate.flush();
     }
 }
@@ -0,0 +1,213 @@
+package com.recipeadjuster.ingredient.kafka;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+import com.recipeadjuster.shared.event.IngredientSubmittedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves ingredient.submitted publication off the request path. Request
+ * threads enqueue an {@link IngredientSubmission} into an
+ * {@link MpscRingBuffer}; one publisher thread drains it in batches, builds
+ * the events and hands them to Kafka, whose producer coalesces each batch
+ * into record batches ({@code linger.ms}).
+ * <p>
+ * When the buffer is full, {@link OverflowPolicy#DROP} discards the event
+ * and {@link OverflowPolicy#BLOCK} waits up to {@code block-timeout} for
+ * room before discarding it. Either way the match itself never fails.
+ * <p>
+ * The publisher starts before and stops after the web server, so requests
+ * still draining during graceful shutdown can enqueue; anything submitted
+ * once it has stopped is counted as dropped.
+ */
+@Slf4j
+@Component
+public class IngredientEventPublisher implements SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    // Below the web server's start/stop phase (DEFAULT_PHASE - 2048), which follows graceful shutdown
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private final IngredientEventProducer producer;
+    private final MpscRingBuffer<IngredientSubmission> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final List<IngredientSubmission> batch;
+
+    private final Counter dropped;
+    private final Counter failed;
+    private final Timer publishLatency;
+
+    private volatile boolean running;
+    private Thread publisherThread;
+
+    public IngredientEventPublisher(
+            IngredientEventProducer producer,
+            MeterRegistry meterRegistry,
+            @Value("${matching.events.queue.capacity:8192}") int capacity,
+            @Value("${matching.events.queue.overflow:DROP}") OverflowPolicy overflowPolicy,
+            @Value("${matching.events.queue.block-timeout:PT0.1S}") Duration blockTimeout,
+            @Value("${matching.events.batch-size:256}") int batchSize) {
+        this.producer = producer;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+
+        Gauge.builder("ingredient.events.queue.depth", buffer, MpscRingBuffer::size)
+            .description("ingredient.submitted events waiting to be published")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("ingredient.events.dropped")
+            .description("ingredient.submitted events discarded because the queue was full or publishing had stopped")
+            .register(meterRegistry);
+        this.failed = Counter.builder("ingredient.events.failed")
+            .description("ingredient.submitted events the broker did not acknowledge")
+            .register(meterRegistry);
+        this.publishLatency = Timer.builder("ingredient.events.publish.latency")
+            .description("Time from enqueue to broker acknowledgement")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Never throws; returns {@code false} when the event was dropped.
+     */
+    public boolean submit(IngredientSubmission submission) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+        if (buffer.offer(submission)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (running && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(submission)) {
+                    return true;
+                }
+            }
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        publisherThread = Thread.ofPlatform()
+            .name("ingredient-event-publisher")
+            .daemon()
+            .start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(publisherThread);
+        try {
+            publisherThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // A submit that passed its running check just before the flag flipped
+        if (!publisherThread.isAlive()) {
+            buffer.drain(this::publish, Integer.MAX_VALUE);
+        }
+        producer.flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void run() {
+        while (running || !buffer.isEmpty()) {
+            if (buffer.drain(batch::add, batchSize) == 0) {
+                if (running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                break;
+            }
+            for (IngredientSubmission submission : batch) {
+                publish(submission);
+            }
+            batch.clear();
+        }
+    }
+
+    private void publish(IngredientSubmission submission) {
+        try {
+            producer.publishIngredientSubmitted(toEvent(submission))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        failed.increment();
+                        log.warn("Failed to publish ingredient.submitted event: {}", error.getMessage());
+                    } else {
+                        publishLatency.record(System.nanoTime() - submission.enqueuedNanos(), TimeUnit.NANOSECONDS);
+                    }
+                });
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Failed to publish ingredient.submitted event: {}", e.getMessage());
+        }
+    }
+
+    private static IngredientSubmittedEvent toEvent(IngredientSubmission submission) {
+        IngredientMatchRequest request = submission.request();
+        
+        IngredientSubmittedEvent.Preferences preferences = null;
+        if (request.getFilters() != null) {
+            preferences = IngredientSubmittedEvent.Preferences.builder()
+                .dietaryRestrictions(request.getFilters().getDietary())
+                .maxCookTime(request.getFilters().getMaxCookTime())
+                .build();
+        }
+        
+        IngredientSubmittedEvent.Payload payload = IngredientSubmittedEvent.Payload.builder()
+            .userId(submission.userId())
+            .sessionId(submission.sessionId() != null ? submission.sessionId() : UUID.randomUUID().toString())
+            .ingredients(request.getIngredients())
+            .preferences(preferences)
+            .build();
+        
+        return IngredientSubmittedEvent.builder()
+            .eventId(UUID.randomUUID().toString())
+            .eventType("ingredient.submitted")
+            .timestamp(submission.submittedAt())
+            .source("ingredient-matching-service")
+            .payload(payload)
+            .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.recipeadjuster.ingredient.kafka;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+
+import java.time.Instant;
+
+/**
+ * What the request thread hands to {@link IngredientEventPublisher}; the
+ * event, its ids and its JSON are built on the publisher thread.
+ */
+public record IngredientSubmission(
+        IngredientMatchRequest request,
+        String userId,
+        String sessionId,
+        Instant submittedAt,
+        long enqueuedNanos) {
+
+    public static IngredientSubmission of(IngredientMatchRequest request, String userId, String sessionId) {
+        return new IngredientSubmission(request, userId, sessionId, Instant.now(), System.nanoTime());
+    }
+}
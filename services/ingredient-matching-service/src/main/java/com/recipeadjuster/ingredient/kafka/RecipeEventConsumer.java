@@ -0,0 +1,93 @@
+package com.recipeadjuster.ingredient.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipeadjuster.ingredient.service.RecipeIndexService;
+import com.recipeadjuster.shared.config.KafkaTopics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@code recipe-events} to the in-process {@link RecipeIndexService}
+ * snapshot as they arrive, instead of waiting for the next full reload.
+ * <p>
+ * Every instance keeps its own copy of the index, so each one consumes in its
+ * own group. The group id is stable per instance, so a restart resumes from
+ * its committed offsets, and a new instance starts from the latest offset; the
+ * startup build covers everything older. Events only name a recipe, which is
+ * re-read from Mongo, so replays are harmless and offsets are not checked for
+ * gaps (transaction markers and compaction leave them anyway); the scheduled
+ * full reload bounds anything missed.
+ */
+@Slf4j
+@Component
+public class RecipeEventConsumer {
+
+    private final RecipeIndexService indexService;
+    private final ObjectMapper objectMapper;
+
+    private final Timer lag;
+    private final Timer applyLatency;
+    private final Counter applied;
+    private final Counter unchanged;
+    private final Counter failed;
+
+    public RecipeEventConsumer(RecipeIndexService indexService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.indexService = indexService;
+        this.objectMapper = objectMapper;
+
+        this.lag = Timer.builder("ingredient.index.delta.lag")
+            .description("Time from a recipe event being produced to it being consumed")
+            .register(meterRegistry);
+        this.applyLatency = Timer.builder("ingredient.index.delta.apply")
+            .description("Time to apply one recipe event to the ingredient index")
+            .register(meterRegistry);
+        this.applied = deltas(meterRegistry, "applied");
+        this.unchanged = deltas(meterRegistry, "unchanged");
+        this.failed = deltas(meterRegistry, "failed");
+    }
+
+    @KafkaListener(
+        topics = KafkaTopics.RECIPE_EVENTS,
+        groupId = "${matching.index.deltas.group-id}",
+        autoStartup = "${matching.index.deltas.enabled:true}",
+        properties = "auto.offset.reset=latest")
+    public void consumeRecipeEvent(ConsumerRecord<String, String> record) {
+        lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - record.timestamp())));
+
+        long start = System.nanoTime();
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            String recipeId = event.path("recipeId").asText(null);
+            if (recipeId == null) {
+                return;
+            }
+            if (indexService.refresh(recipeId)) {
+                applied.increment();
+            } else {
+                unchanged.increment();
+            }
+            log.debug("Applied {} event for recipe {}", event.path("eventType").asText(), recipeId);
+        } catch (Exception e) {
+            failed.increment();
+            log.error("Failed to apply recipe event at {}-{}: {}", record.partition(), record.offset(), e.getMessage());
+        } finally {
+            applyLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Counter deltas(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ingredient.index.deltas")
+            .description("Recipe events applied to the ingredient index")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.recipeadjuster.ingredient.normalize;
+
+import java.util.Map;
+
+/**
+ * Immutable open-addressed {@code String -> String} map with linear probing.
+ * Keys, values and cached hashes sit in three flat arrays at a load factor
+ * of at most one half, so a lookup is a hash, a mask and usually a single
+ * probe, with no entry objects to chase.
+ */
+public final class AliasMap {
+
+    private static final AliasMap EMPTY = of(Map.of());
+
+    private final String[] keys;
+    private final String[] values;
+    private final int[] hashes;
+    private final int mask;
+    private final int size;
+
+    private AliasMap(String[] keys, String[] values, int[] hashes, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.hashes = hashes;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    public static AliasMap empty() {
+        return EMPTY;
+    }
+
+    public static AliasMap of(Map<String, String> entries) {
+        int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 4 - 1);
+        String[] keys = new String[capacity];
+        String[] values = new String[capacity];
+        int[] hashes = new int[capacity];
+        int mask = capacity - 1;
+
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            int hash = spread(entry.getKey().hashCode());
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+            hashes[slot] = hash;
+        }
+        return new AliasMap(keys, values, hashes, entries.size());
+    }
+
+    public String get(String key) {
+        int hash = spread(key.hashCode());
+        for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && keys[slot].equals(key)) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
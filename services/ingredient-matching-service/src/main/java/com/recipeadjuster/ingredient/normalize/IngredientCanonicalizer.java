@@ -0,0 +1,58 @@
+package com.recipeadjuster.ingredient.normalize;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps free-form ingredient text to its canonical catalog name:
+ * {@link IngredientNormalizer#normalize} first, then an exact lookup of the
+ * normalized form in an {@link AliasMap} compiled from every ingredient's name
+ * and aliases. Text that is not a known alias comes back normalized.
+ * Immutable; a fresh instance is compiled with each catalog snapshot.
+ */
+public final class IngredientCanonicalizer {
+
+    private static final IngredientCanonicalizer EMPTY = new IngredientCanonicalizer(AliasMap.empty());
+
+    private final AliasMap aliases;
+
+    private IngredientCanonicalizer(AliasMap aliases) {
+        this.aliases = aliases;
+    }
+
+    public static IngredientCanonicalizer empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param aliasesByName raw alias lists keyed by canonical (already
+     *                      normalized) ingredient name
+     */
+    public static IngredientCanonicalizer build(Map<String, List<String>> aliasesByName) {
+        Map<String, String> lookup = new HashMap<>(aliasesByName.size() * 4);
+        // Names claim their own form before any alias can.
+        for (String name : aliasesByName.keySet()) {
+            lookup.put(name, name);
+        }
+        aliasesByName.forEach((name, aliases) -> {
+            for (String alias : aliases) {
+                if (alias != null) {
+                    lookup.putIfAbsent(IngredientNormalizer.normalize(alias), name);
+                }
+            }
+        });
+        lookup.remove("");
+        return new IngredientCanonicalizer(AliasMap.of(lookup));
+    }
+
+    public String canonical(String text) {
+        String normalized = IngredientNormalizer.normalize(text);
+        String canonical = aliases.get(normalized);
+        return canonical != null ? canonical : normalized;
+    }
+
+    public int size() {
+        return aliases.size();
+    }
+}
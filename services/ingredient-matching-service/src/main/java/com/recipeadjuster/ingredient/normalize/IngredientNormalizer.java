@@ -0,0 +1,121 @@
+package com.recipeadjuster.ingredient.normalize;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Text-level normalization for ingredient names: Unicode folding followed by
+ * per-word plural stemming. Pure and stateless; catalog-specific alias
+ * resolution happens in {@link IngredientCanonicalizer}.
+ */
+public final class IngredientNormalizer {
+
+    private static final Map<String, String> IRREGULAR = Map.of(
+        "leaves", "leaf",
+        "loaves", "loaf",
+        "halves", "half",
+        "knives", "knife",
+        "cookies", "cookie",
+        "brownies", "brownie",
+        "calves", "calf");
+
+    private static final Set<String> INVARIANT = Set.of(
+        "molasses", "brussels", "series", "species", "swiss", "grits", "greens", "oats", "chips");
+
+    private IngredientNormalizer() {
+    }
+
+    /**
+     * Folds then stems every word: {@code "Crème Fraîche"} becomes
+     * {@code "creme fraiche"}, {@code "Cherry  Tomatoes"} becomes
+     * {@code "cherry tomato"}.
+     */
+    public static String normalize(String text) {
+        String folded = fold(text);
+        if (folded.isEmpty()) {
+            return folded;
+        }
+        StringBuilder normalized = new StringBuilder(folded.length());
+        int start = 0;
+        while (start < folded.length()) {
+            int end = folded.indexOf(' ', start);
+            if (end < 0) {
+                end = folded.length();
+            }
+            if (normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(singular(folded.substring(start, end)));
+            start = end + 1;
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Lower-cases, strips diacritics and compatibility forms (NFKD), and
+     * collapses every run of non-alphanumeric characters into one space.
+     * Pure ASCII input skips the Unicode normalizer.
+     */
+    public static String fold(String text) {
+        String decomposed = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (!Character.isLetterOrDigit(c)) {
+                pendingSpace = folded.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                folded.append(' ');
+                pendingSpace = false;
+            }
+            switch (c) {
+                case '\u00df' -> folded.append("ss");
+                case '\u0153', '\u0152' -> folded.append("oe");
+                case '\u00e6', '\u00c6' -> folded.append("ae");
+                default -> folded.append(Character.toLowerCase(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Conservative English plural to singular for a single lower-case word.
+     */
+    public static String singular(String word) {
+        String irregular = IRREGULAR.get(word);
+        if (irregular != null) {
+            return irregular;
+        }
+        int length = word.length();
+        if (length <= 3 || INVARIANT.contains(word) || !word.endsWith("s")) {
+            return word;
+        }
+        if (word.endsWith("ies") && length > 4) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes")
+                || word.endsWith("sses") || word.endsWith("xes")) {
+            return word.substring(0, length - 2);
+        }
+        if (word.endsWith("ss") || word.endsWith("us") || word.endsWith("is")) {
+            return word;
+        }
+        return word.substring(0, length - 1);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
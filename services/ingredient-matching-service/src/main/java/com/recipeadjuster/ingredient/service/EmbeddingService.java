@@ -1,37 +1,99 @@
 package com.recipeadjuster.ingredient.service;
 
+import com.recipeadjuster.ingredient.cache.EmbeddingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.SplittableRandom;
 
+/**
+ * Mock text embeddings. Vectors are a pure function of the text, generated
+ * from a per-call {@link SplittableRandom} so concurrent callers never share
+ * generator state, and served through the {@link EmbeddingCache}. Returned
+ * arrays may be shared and must not be modified.
+ */
 @Slf4j
 @Service
 public class EmbeddingService {
 
-    private static final int EMBEDDING_DIMENSIONS = 384;
-    private final Random random = new Random(42);
+    static final int EMBEDDING_DIMENSIONS = 384;
 
-    public List<Double> embed(String text) {
+    private final EmbeddingCache cache;
+    private final Counter generated;
+
+    public EmbeddingService(EmbeddingCache cache, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.generated = Counter.builder("embedding.generated")
+            .description("Embeddings computed after missing both cache levels")
+            .register(meterRegistry);
+    }
+
+    public float[] embed(String text) {
+        float[] embedding = cache.get(text);
+        if (isValid(embedding)) {
+            return embedding;
+        }
         log.debug("Generating embedding for text: {}", text);
-        return generateMockEmbedding(text);
+        embedding = generate(text);
+        generated.increment();
+        cache.put(text, embedding);
+        return embedding;
     }
 
-    public List<List<Double>> embedBatch(List<String> texts) {
-        return texts.stream()
-            .map(this::embed)
-            .collect(Collectors.toList());
+    /**
+     * Embeddings in input order; only texts missing from both cache levels
+     * are generated, and those are written back in one batch.
+     */
+    public List<float[]> embedBatch(List<String> texts) {
+        Map<String, float[]> cached = cache.getAll(texts);
+        Map<String, float[]> computed = new HashMap<>();
+        List<float[]> embeddings = new ArrayList<>(texts.size());
+
+        for (String text : texts) {
+            float[] embedding = cached.get(text);
+            if (!isValid(embedding)) {
+                embedding = computed.computeIfAbsent(text, EmbeddingService::generate);
+            }
+            embeddings.add(embedding);
+        }
+
+        if (!computed.isEmpty()) {
+            log.debug("Generated {} of {} embeddings", computed.size(), texts.size());
+            generated.increment(computed.size());
+            cache.putAll(computed);
+        }
+        return embeddings;
     }
 
-    private List<Double> generateMockEmbedding(String text) {
-        random.setSeed(text.hashCode());
-        Double[] embedding = new Double[EMBEDDING_DIMENSIONS];
+    static float[] generate(String text) {
+        SplittableRandom random = new SplittableRandom(seed(text));
+        float[] embedding = new float[EMBEDDING_DIMENSIONS];
         for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
-            embedding[i] = random.nextGaussian();
+            embedding[i] = (float) random.nextGaussian();
+        }
+        return embedding;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, so distinct texts share a
+     * vector far less often than with the 32-bit {@code String.hashCode}.
+     */
+    private static long seed(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
         }
-        return Arrays.asList(embedding);
+        return hash;
+    }
+
+    private static boolean isValid(float[] embedding) {
+        return embedding != null && embedding.length == EMBEDDING_DIMENSIONS;
     }
 }
@@ -0,0 +1,11 @@
+package com.recipeadjuster.ingredient.service;
+
+import com.recipeadjuster.ingredient.index.IngredientCatalog;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class IngredientCatalogRefreshedEvent {
+    private final IngredientCatalog catalog;
+}
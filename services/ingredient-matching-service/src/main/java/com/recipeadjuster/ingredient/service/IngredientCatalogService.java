@@ -0,0 +1,82 @@
+package com.recipeadjuster.ingredient.service;
+
+import com.recipeadjuster.ingredient.index.IngredientCatalog;
+import com.recipeadjuster.shared.model.entity.Ingredient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class IngredientCatalogService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile IngredientCatalog current = IngredientCatalog.empty(EmbeddingService.EMBEDDING_DIMENSIONS);
+
+    public IngredientCatalogService(
+            MongoTemplate mongoTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("ingredient.catalog.size", this, s -> s.current.size())
+            .description("Ingredients held in the in-memory catalog")
+            .register(meterRegistry);
+        Gauge.builder("ingredient.catalog.embeddings", this, s -> s.current.embeddings().rows())
+            .description("Ingredient embeddings loaded into the similarity matrix")
+            .register(meterRegistry);
+    }
+
+    public IngredientCatalog current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @Scheduled(
+        initialDelayString = "${matching.catalog.refresh-interval-ms:600000}",
+        fixedDelayString = "${matching.catalog.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        try {
+            // Only what the catalog uses; other fields (e.g. free-text categories) are never mapped.
+            Query query = new Query();
+            query.fields().include("name", "aliases", "embedding");
+            IngredientCatalog loaded = IngredientCatalog.build(
+                mongoTemplate.find(query, Ingredient.class),
+                EmbeddingService.EMBEDDING_DIMENSIONS,
+                versions.incrementAndGet());
+            // Unchanged: keep the current catalog and spare listeners a rebuild
+            if (loaded.sameContent(current)) {
+                log.debug("Ingredient catalog unchanged, keeping v{}", current.getVersion());
+                return;
+            }
+            current = loaded;
+            log.info("Loaded ingredient catalog v{}: {} ingredients, {} embeddings in {} ms",
+                current.getVersion(), current.size(), current.embeddings().rows(), System.currentTimeMillis() - start);
+            eventPublisher.publishEvent(new IngredientCatalogRefreshedEvent(current));
+        } catch (Exception e) {
+            log.error("Failed to refresh ingredient catalog, keeping v{}", current.getVersion(), e);
+        }
+    }
+}
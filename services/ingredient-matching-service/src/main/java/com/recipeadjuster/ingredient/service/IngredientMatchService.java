@@ -1,20 +1,25 @@
 package com.recipeadjuster.ingredient.service;
 
+import com.recipeadjuster.ingredient.cache.MatchKey;
+import com.recipeadjuster.ingredient.cache.MatchResultCache;
+import com.recipeadjuster.ingredient.dto.IngredientMatchFrame;
 import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
 import com.recipeadjuster.ingredient.dto.IngredientMatchResponse;
-import com.recipeadjuster.ingredient.kafka.IngredientEventProducer;
-import com.recipeadjuster.shared.event.IngredientSubmittedEvent;
-import com.recipeadjuster.shared.model.entity.Recipe;
-import com.recipeadjuster.shared.repository.RecipeRepository;
+import com.recipeadjuster.ingredient.index.IncrementalRanking;
+import com.recipeadjuster.ingredient.index.IndexedRecipe;
+import com.recipeadjuster.ingredient.index.MatchScorer;
+import com.recipeadjuster.ingredient.index.RecipeFilter;
+import com.recipeadjuster.ingredient.index.RecipeIndex;
+import com.recipeadjuster.ingredient.kafka.IngredientEventPublisher;
+import com.recipeadjuster.ingredient.kafka.IngredientSubmission;
+import com.recipeadjuster.ingredient.normalize.IngredientCanonicalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,9 +27,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class IngredientMatchService {
 
-    private final RecipeRepository recipeRepository;
-    private final MongoTemplate mongoTemplate;
-    private final IngredientEventProducer eventProducer;
+    private final RecipeIndexService recipeIndexService;
+    private final IngredientCatalogService catalogService;
+    private final IngredientEventPublisher eventPublisher;
+    private final MatchResultCache matchResultCache;
+
+    @Value("${matching.stream.segment-size:4096}")
+    private int segmentSize;
 
     public IngredientMatchResponse matchRecipes(
             IngredientMatchRequest request, 
@@ -33,95 +42,151 @@ public class IngredientMatchService {
         
         List<String> normalizedIngredients = normalizeIngredients(request.getIngredients());
         
-        List<Recipe> recipes = findMatchingRecipes(request, normalizedIngredients);
+        RecipeIndex index = recipeIndexService.current();
+        long[] pantryBits = index.resolvePantry(normalizedIngredients);
+        
+        MatchKey cacheKey = MatchKey.of(index.getVersion(), index.dictionary(), pantryBits, request.getFilters(),
+            request.getMinMatchPercentage(), request.getMaxResults());
+        IngredientMatchResponse cached = matchResultCache.get(cacheKey, MatchKey.shape(request.getFilters()));
+        if (cached != null) {
+            publishEvent(request, userId, sessionId);
+            return cached;
+        }
+        
+        RecipeFilter filter = RecipeFilter.from(request.getFilters());
+        
+        long[] ranked = MatchScorer.rank(
+            index, pantryBits, filter, request.getMinMatchPercentage(), request.getMaxResults());
         
-        List<IngredientMatchResponse.RecipeMatch> matches = recipes.stream()
-            .map(recipe -> calculateMatch(recipe, normalizedIngredients))
-            .filter(match -> match.getMatchPercentage() >= request.getMinMatchPercentage())
-            .sorted(Comparator.comparing(IngredientMatchResponse.RecipeMatch::getMatchPercentage).reversed())
-            .limit(request.getMaxResults())
+        List<IngredientMatchResponse.RecipeMatch> matches = Arrays.stream(ranked)
+            .mapToObj(key -> toRecipeMatch(index, key, pantryBits))
             .collect(Collectors.toList());
         
         publishEvent(request, userId, sessionId);
         
-        return IngredientMatchResponse.builder()
+        IngredientMatchResponse response = IngredientMatchResponse.builder()
             .matches(matches)
             .totalResults(matches.size())
             .build();
+        matchResultCache.put(cacheKey, response);
+        return response;
     }
 
-    private List<String> normalizeIngredients(List<String> ingredients) {
-        return ingredients.stream()
-            .map(String::toLowerCase)
-            .map(String::trim)
-            .distinct()
-            .collect(Collectors.toList());
+    /**
+     * Ranks every request of a batch against the same index snapshot in one
+     * shared pass over the posting lists; see {@link MatchScorer#rankBatch}.
+     */
+    public List<IngredientMatchResponse> matchBatch(
+            List<IngredientMatchRequest> requests, 
+            String userId, 
+            String sessionId) {
+        
+        RecipeIndex index = recipeIndexService.current();
+        IngredientCanonicalizer canonicalizer = catalogService.current().canonicalizer();
+        
+        int size = requests.size();
+        long[][] pantries = new long[size][];
+        RecipeFilter[] filters = new RecipeFilter[size];
+        int[] minMatchPercentages = new int[size];
+        int[] limits = new int[size];
+        for (int q = 0; q < size; q++) {
+            IngredientMatchRequest request = requests.get(q);
+            pantries[q] = index.resolvePantry(normalizeIngredients(canonicalizer, request.getIngredients()));
+            filters[q] = RecipeFilter.from(request.getFilters());
+            minMatchPercentages[q] = request.getMinMatchPercentage();
+            limits[q] = request.getMaxResults();
+        }
+        
+        long[][] ranked = MatchScorer.rankBatch(index, pantries, filters, minMatchPercentages, limits);
+        
+        List<IngredientMatchResponse> responses = new ArrayList<>(size);
+        for (int q = 0; q < size; q++) {
+            long[] pantryBits = pantries[q];
+            List<IngredientMatchResponse.RecipeMatch> matches = Arrays.stream(ranked[q])
+                .mapToObj(key -> toRecipeMatch(index, key, pantryBits))
+                .collect(Collectors.toList());
+            responses.add(IngredientMatchResponse.builder()
+                .matches(matches)
+                .totalResults(matches.size())
+                .build());
+        }
+        
+        requests.forEach(request -> publishEvent(request, userId, sessionId));
+        
+        return responses;
     }
 
-    private List<Recipe> findMatchingRecipes(
+    /**
+     * Scores the index one segment at a time and hands {@code frames} the
+     * running top-K whenever a segment changes it, then a final complete frame.
+     * An exception thrown by {@code frames} aborts the scan.
+     */
+    public void streamMatches(
             IngredientMatchRequest request, 
-            List<String> normalizedIngredients) {
+            String userId, 
+            String sessionId, 
+            Consumer<IngredientMatchFrame> frames) {
         
-        Query query = new Query();
-        query.addCriteria(Criteria.where("isApproved").is(true));
+        List<String> normalizedIngredients = normalizeIngredients(request.getIngredients());
         
-        if (request.getFilters() != null) {
-            IngredientMatchRequest.FilterOptions filters = request.getFilters();
-            
-            if (filters.getCuisines() != null && !filters.getCuisines().isEmpty()) {
-                query.addCriteria(Criteria.where("cuisine").in(filters.getCuisines()));
-            }
-            
-            if (filters.getMaxCookTime() != null) {
-                query.addCriteria(Criteria.where("cookTime").lte(filters.getMaxCookTime()));
-            }
-            
-            if (filters.getDifficulty() != null && !filters.getDifficulty().isEmpty()) {
-                List<Recipe.Difficulty> difficulties = filters.getDifficulty().stream()
-                    .map(String::toUpperCase)
-                    .map(Recipe.Difficulty::valueOf)
-                    .collect(Collectors.toList());
-                query.addCriteria(Criteria.where("difficulty").in(difficulties));
-            }
-            
-            if (filters.getDietary() != null && !filters.getDietary().isEmpty()) {
-                query.addCriteria(Criteria.where("tags").all(filters.getDietary()));
+        RecipeIndex index = recipeIndexService.current();
+        long[] pantryBits = index.resolvePantry(normalizedIngredients);
+        RecipeFilter filter = RecipeFilter.from(request.getFilters());
+        
+        IncrementalRanking ranking = new IncrementalRanking(
+            index, pantryBits, filter, request.getMinMatchPercentage(), request.getMaxResults());
+        
+        while (!ranking.isComplete()) {
+            if (ranking.advance(segmentSize)) {
+                frames.accept(toFrame(index, ranking, pantryBits));
             }
         }
+        frames.accept(toFrame(index, ranking, pantryBits));
         
-        return mongoTemplate.find(query, Recipe.class);
+        publishEvent(request, userId, sessionId);
     }
 
-    private IngredientMatchResponse.RecipeMatch calculateMatch(
-            Recipe recipe, 
-            List<String> userIngredients) {
-        
-        List<String> requiredIngredients = recipe.getIngredients().stream()
-            .filter(i -> i.getOptional() == null || !i.getOptional())
-            .map(i -> i.getName().toLowerCase())
+    private IngredientMatchFrame toFrame(RecipeIndex index, IncrementalRanking ranking, long[] pantryBits) {
+        List<IngredientMatchResponse.RecipeMatch> matches = Arrays.stream(ranking.snapshot())
+            .mapToObj(key -> toRecipeMatch(index, key, pantryBits))
             .collect(Collectors.toList());
         
-        List<String> matched = new ArrayList<>();
-        List<String> missing = new ArrayList<>();
-        
-        for (String required : requiredIngredients) {
-            if (userIngredients.stream().anyMatch(ui -> 
-                    ui.contains(required) || required.contains(ui))) {
-                matched.add(required);
-            } else {
-                missing.add(required);
-            }
-        }
+        return IngredientMatchFrame.builder()
+            .matches(matches)
+            .totalResults(matches.size())
+            .scannedRecipes(ranking.scanned())
+            .totalRecipes(index.size())
+            .complete(ranking.isComplete())
+            .build();
+    }
+
+    private List<String> normalizeIngredients(List<String> ingredients) {
+        return normalizeIngredients(catalogService.current().canonicalizer(), ingredients);
+    }
+
+    private static List<String> normalizeIngredients(IngredientCanonicalizer canonicalizer, List<String> ingredients) {
+        return ingredients.stream()
+            .map(canonicalizer::canonical)
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    private IngredientMatchResponse.RecipeMatch toRecipeMatch(
+            RecipeIndex index, 
+            long key, 
+            long[] pantryBits) {
         
-        double matchPercentage = requiredIngredients.isEmpty() ? 0.0 :
-            (matched.size() * 100.0) / requiredIngredients.size();
+        int ordinal = MatchScorer.ordinal(key);
+        IndexedRecipe recipe = index.recipe(ordinal);
+        RecipeIndex.Coverage coverage = index.coverage(ordinal, pantryBits);
         
         return IngredientMatchResponse.RecipeMatch.builder()
             .recipeId(recipe.getId())
             .title(recipe.getTitle())
-            .matchPercentage(Math.round(matchPercentage * 100.0) / 100.0)
-            .matchedIngredients(matched)
-            .missingIngredients(missing)
+            .matchPercentage(MatchScorer.percentage(key))
+            .matchedIngredients(coverage.matched())
+            .missingIngredients(coverage.missing())
             .thumbnail(recipe.getImageUrl())
             .cuisine(recipe.getCuisine())
             .cookTime(recipe.getCookTime())
@@ -134,29 +199,6 @@ public class IngredientMatchService {
             String userId, 
             String sessionId) {
         
-        IngredientSubmittedEvent.Preferences preferences = null;
-        if (request.getFilters() != null) {
-            preferences = IngredientSubmittedEvent.Preferences.builder()
-                .dietaryRestrictions(request.getFilters().getDietary())
-                .maxCookTime(request.getFilters().getMaxCookTime())
-                .build();
-        }
-        
-        IngredientSubmittedEvent.Payload payload = IngredientSubmittedEvent.Payload.builder()
-            .userId(userId)
-            .sessionId(sessionId != null ? sessionId : UUID.randomUUID().toString())
-            .ingredients(request.getIngredients())
-            .preferences(preferences)
-            .build();
-        
-        IngredientSubmittedEvent event = IngredientSubmittedEvent.builder()
-            .eventId(UUID.randomUUID().toString())
-            .eventType("ingredient.submitted")
-            .timestamp(Instant.now())
-            .source("ingredient-matching-service")
-            .payload(payload)
-            .build();
-        
-        eventProducer.publishIngredientSubmitted(event);
+        eventPublisher.submit(IngredientSubmission.of(request, userId, sessionId));
     }
 }
@@ -0,0 +1,223 @@
+package com.recipeadjuster.ingredient.service;
+
+import com.recipeadjuster.ingredient.cache.Hash128;
+import com.recipeadjuster.ingredient.index.IndexedRecipe;
+import com.recipeadjuster.ingredient.index.IngredientCatalog;
+import com.recipeadjuster.ingredient.index.RecipeIndex;
+import com.recipeadjuster.ingredient.normalize.IngredientCanonicalizer;
+import com.recipeadjuster.ingredient.view.RecipeMatchView;
+import com.recipeadjuster.shared.model.entity.Recipe;
+import com.recipeadjuster.shared.mongo.ProjectedQueryReader;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class RecipeIndexService {
+
+    private final ProjectedQueryReader projectedQueryReader;
+    private final IngredientCatalogService catalogService;
+
+    private volatile RecipeIndex current = RecipeIndex.empty();
+
+    // Writer state, guarded by writeLock. Not synchronized: rebuilds and
+    // deltas block on Mongo and would pin a virtual thread's carrier.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private long contentSum;
+    private int indexedAliasesHash;
+
+    public RecipeIndexService(
+            ProjectedQueryReader projectedQueryReader,
+            IngredientCatalogService catalogService,
+            MeterRegistry meterRegistry) {
+        this.projectedQueryReader = projectedQueryReader;
+        this.catalogService = catalogService;
+
+        Gauge.builder("ingredient.index.recipes", this, s -> s.current.liveCount())
+            .description("Recipes held in the in-memory ingredient index")
+            .register(meterRegistry);
+        Gauge.builder("ingredient.index.terms", this, s -> s.current.termCount())
+            .description("Distinct ingredient terms in the in-memory ingredient index")
+            .register(meterRegistry);
+    }
+
+    public RecipeIndex current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    // Recipe terms are canonicalized against the catalog, so re-derive them when its aliases change.
+    @EventListener
+    public void onCatalogRefreshed(IngredientCatalogRefreshedEvent event) {
+        writeLock.lock();
+        try {
+            if (event.getCatalog().aliasesHash() != indexedAliasesHash) {
+                rebuild();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${matching.index.refresh-interval-ms:3600000}",
+        fixedDelayString = "${matching.index.refresh-interval-ms:3600000}")
+    public void scheduledRefresh() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            IngredientCatalog ingredients = catalogService.current();
+            Query query = new Query(Criteria.where("isApproved").is(true));
+            List<IndexedRecipe> catalog = find("recipe-index", query, ingredients);
+
+            long sum = 0;
+            for (IndexedRecipe recipe : catalog) {
+                sum += contentHash(recipe);
+            }
+            long version = version(sum, ingredients.aliasesHash());
+            if (version == current.getVersion()) {
+                log.debug("Ingredient index v{} unchanged", Long.toHexString(version));
+                return;
+            }
+            current = RecipeIndex.build(catalog, ingredients.matcher(), version);
+            ordinals.clear();
+            for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+                ordinals.put(catalog.get(ordinal).getId(), ordinal);
+            }
+            contentSum = sum;
+            indexedAliasesHash = ingredients.aliasesHash();
+            log.info("Built ingredient index v{}: {} recipes, {} terms in {} ms",
+                Long.toHexString(version), current.liveCount(), current.termCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to rebuild ingredient index, keeping v{}", Long.toHexString(current.getVersion()), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads one recipe and swaps in an index with it added, replaced or
+     * removed (when it is gone or no longer approved). Reading the document
+     * rather than trusting the event makes this idempotent, so replays are
+     * harmless. Falls back to {@link #rebuild} if the catalog changed since the
+     * last full build.
+     *
+     * @return whether the index changed
+     */
+    public boolean refresh(String recipeId) {
+        writeLock.lock();
+        try {
+            IngredientCatalog ingredients = catalogService.current();
+            if (ingredients.aliasesHash() != indexedAliasesHash) {
+                rebuild();
+                return true;
+            }
+            Query query = new Query(Criteria.where("id").is(recipeId).and("isApproved").is(true));
+            List<IndexedRecipe> found = find("recipe-index-delta", query, ingredients);
+            IndexedRecipe recipe = found.isEmpty() ? null : found.get(0);
+
+            Integer ordinal = ordinals.get(recipeId);
+            IndexedRecipe previous = ordinal == null ? null : current.recipe(ordinal);
+            long sum = contentSum
+                - (previous == null ? 0 : contentHash(previous))
+                + (recipe == null ? 0 : contentHash(recipe));
+            long version = version(sum, indexedAliasesHash);
+            if (version == current.getVersion()) {
+                return false;
+            }
+
+            int target = ordinal != null ? ordinal : current.size();
+            current = current.update(target, recipe, version);
+            ordinals.putIfAbsent(recipeId, target);
+            contentSum = sum;
+            log.debug("Applied recipe {} to ingredient index v{}", recipeId, Long.toHexString(version));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private List<IndexedRecipe> find(String queryName, Query query, IngredientCatalog ingredients) {
+        query.fields().include(RecipeMatchView.FIELDS);
+        return projectedQueryReader
+            .find(queryName, query, Recipe.class, RecipeMatchView::from).stream()
+            .map(recipe -> toIndexedRecipe(recipe, ingredients.canonicalizer()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Index version: a content hash of the catalog aliases and the multiset
+     * of indexed recipes. Per-recipe hashes are summed, so it is independent
+     * of load order and can be maintained by {@link #refresh} in O(1).
+     * Instances holding the same content agree on it, so it can key shared
+     * caches, and an unchanged reload keeps the current snapshot.
+     */
+    static long version(long contentSum, int aliasesHash) {
+        return new Hash128().putLong(contentSum).putLong(aliasesHash).high();
+    }
+
+    static long contentHash(IndexedRecipe recipe) {
+        Hash128 hash = new Hash128()
+            .putString(recipe.getId())
+            .putString(recipe.getTitle())
+            .putString(recipe.getImageUrl())
+            .putString(recipe.getCuisine())
+            .putLong(recipe.getCookTime() == null ? -1 : recipe.getCookTime())
+            .putString(recipe.getDifficulty() == null ? null : recipe.getDifficulty().name());
+        putAll(hash, recipe.getTags());
+        putAll(hash, recipe.getRequiredIngredients());
+        return hash.high();
+    }
+
+    private static void putAll(Hash128 hash, List<String> values) {
+        if (values == null) {
+            hash.putLong(-1);
+            return;
+        }
+        hash.putLong(values.size());
+        values.forEach(hash::putString);
+    }
+
+    private IndexedRecipe toIndexedRecipe(RecipeMatchView recipe, IngredientCanonicalizer canonicalizer) {
+        List<String> required = recipe.getIngredients().stream()
+            .filter(i -> !i.isOptional())
+            .filter(i -> i.getName() != null)
+            .map(i -> canonicalizer.canonical(i.getName()))
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+
+        return IndexedRecipe.builder()
+            .id(recipe.getId())
+            .title(recipe.getTitle())
+            .imageUrl(recipe.getImageUrl())
+            .cuisine(recipe.getCuisine())
+            .cookTime(recipe.getCookTime())
+            .difficulty(recipe.getDifficulty())
+            .tags(recipe.getTags())
+            .requiredIngredients(required)
+            .build();
+    }
+}
@@ -1,48 +1,48 @@
 package com.recipeadjuster.ingredient.service;
 
-import com.recipeadjuster.shared.model.entity.Ingredient;
-import com.recipeadjuster.shared.repository.IngredientRepository;
+import com.recipeadjuster.ingredient.index.HnswIndex;
+import com.recipeadjuster.ingredient.index.IngredientCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SemanticMatchService {
 
-    private final IngredientRepository ingredientRepository;
+    private final IngredientCatalogService catalogService;
+    private final VectorSearchService vectorSearchService;
     private final EmbeddingService embeddingService;
     
-    private static final double SIMILARITY_THRESHOLD = 0.8;
+    @Value("${matching.semantic.similarity-threshold:0.8}")
+    private double similarityThreshold;
+    
+    // 0 keeps every catalog ingredient above the threshold the graph search reaches
+    @Value("${matching.semantic.max-expansions:0}")
+    private int maxExpansions;
 
     public List<String> expandIngredients(List<String> userIngredients) {
         Set<String> expandedIngredients = new HashSet<>(userIngredients);
+        IngredientCatalog catalog = catalogService.current();
         
         for (String userIngredient : userIngredients) {
-            List<Double> userEmbedding = embeddingService.embed(userIngredient);
-            
-            List<Ingredient> allIngredients = ingredientRepository.findAll();
+            String name = catalog.canonicalizer().canonical(userIngredient);
+            float[] userEmbedding = embeddingService.embed(name);
             
-            for (Ingredient ingredient : allIngredients) {
-                if (ingredient.getEmbedding() != null && !ingredient.getEmbedding().isEmpty()) {
-                    double similarity = cosineSimilarity(userEmbedding, ingredient.getEmbedding());
-                    
-                    if (similarity >= SIMILARITY_THRESHOLD) {
-                        expandedIngredients.add(ingredient.getName());
-                        log.debug("Semantic match: '{}' -> '{}' (similarity: {})", 
-                            userIngredient, ingredient.getName(), similarity);
-                    }
-                }
+            for (HnswIndex.Neighbor neighbor : vectorSearchService.ingredientsAbove(
+                    userEmbedding, similarityThreshold, maxExpansions)) {
+                expandedIngredients.add(neighbor.label());
+                log.debug("Semantic match: '{}' -> '{}' (similarity: {})", 
+                    userIngredient, neighbor.label(), neighbor.similarity());
             }
             
-            Optional<Ingredient> exactMatch = ingredientRepository.findByName(userIngredient.toLowerCase());
-            if (exactMatch.isPresent()) {
-                expandedIngredients.add(exactMatch.get().getName());
-                expandedIngredients.addAll(exactMatch.get().getAliases());
+            if (catalog.contains(name)) {
+                expandedIngredients.add(name);
+                expandedIngredients.addAll(catalog.aliases(name));
             }
         }
         
@@ -0,0 +1,111 @@
+package com.recipeadjuster.ingredient.service;
+
+import com.recipeadjuster.ingredient.index.EmbeddingMatrix;
+import com.recipeadjuster.ingredient.index.HnswIndex;
+import com.recipeadjuster.ingredient.similarity.VectorSimilarity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Approximate nearest-neighbour search over ingredient embeddings, backed by
+ * an {@link HnswIndex} kept in step with the catalog. A refresh adds only new
+ * or changed embeddings to the live graph; a full rebuild, swapped in
+ * atomically, is needed only when ingredients disappear, since the graph
+ * cannot delete.
+ */
+@Slf4j
+@Service
+public class VectorSearchService {
+
+    private final VectorSimilarity similarity;
+    private final Timer searchTimer;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final boolean exact;
+
+    private volatile HnswIndex ingredientIndex;
+    // What ingredientIndex holds; only touched by catalog refreshes, which run one at a time
+    private EmbeddingMatrix indexed;
+
+    public VectorSearchService(
+            VectorSimilarity similarity,
+            MeterRegistry meterRegistry,
+            @Value("${matching.semantic.hnsw.m:16}") int m,
+            @Value("${matching.semantic.hnsw.ef-construction:100}") int efConstruction,
+            @Value("${matching.semantic.hnsw.ef-search:64}") int efSearch,
+            @Value("${matching.semantic.exact:false}") boolean exact) {
+        this.similarity = similarity;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.exact = exact;
+        this.ingredientIndex = newIndex();
+        this.indexed = EmbeddingMatrix.empty(EmbeddingService.EMBEDDING_DIMENSIONS);
+
+        this.searchTimer = Timer.builder("vector.search.duration")
+            .description("Approximate nearest-neighbour query duration")
+            .register(meterRegistry);
+        Gauge.builder("vector.index.size", this, s -> s.ingredientIndex.size())
+            .tag("entity", "ingredient")
+            .description("Vectors held in the ANN index")
+            .register(meterRegistry);
+    }
+
+    public List<HnswIndex.Neighbor> ingredientsAbove(float[] query, double threshold, int maxResults) {
+        HnswIndex index = ingredientIndex;
+        return searchTimer.record(() -> exact
+            ? index.exactAbove(query, threshold, maxResults)
+            : index.searchAbove(query, threshold, maxResults));
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(IngredientCatalogRefreshedEvent event) {
+        long start = System.currentTimeMillis();
+        EmbeddingMatrix matrix = event.getCatalog().embeddings();
+        if (removesAny(matrix)) {
+            HnswIndex rebuilt = newIndex();
+            for (int row = 0; row < matrix.rows(); row++) {
+                rebuilt.add(matrix.name(row), matrix.row(row));
+            }
+            ingredientIndex = rebuilt;
+            indexed = matrix;
+            log.info("Rebuilt ingredient ANN index: {} vectors in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+            return;
+        }
+
+        int added = 0;
+        for (int row = 0; row < matrix.rows(); row++) {
+            int previous = indexed.rowOf(matrix.name(row));
+            if (previous < 0 || !matrix.sameRow(row, indexed, previous)) {
+                ingredientIndex.add(matrix.name(row), matrix.row(row));
+                added++;
+            }
+        }
+        indexed = matrix;
+        if (added > 0) {
+            log.info("Added {} new or changed embeddings to the ingredient ANN index in {} ms",
+                added, System.currentTimeMillis() - start);
+        }
+    }
+
+    private boolean removesAny(EmbeddingMatrix matrix) {
+        for (int row = 0; row < indexed.rows(); row++) {
+            if (matrix.rowOf(indexed.name(row)) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HnswIndex newIndex() {
+        return new HnswIndex(EmbeddingService.EMBEDDING_DIMENSIONS, m, efConstruction, efSearch, similarity);
+    }
+}
@@ -0,0 +1,55 @@
+package com.recipeadjuster.ingredient.similarity;
+
+public final class ScalarVectorSimilarity implements VectorSimilarity {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        VectorSimilarity.checkLengths(a.length, b.length);
+        float dot = 0f;
+        float normA = 0f;
+        float normB = 0f;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return VectorSimilarity.cosine(dot, normA, normB);
+    }
+
+    @Override
+    public float cosine(byte[] a, byte[] b) {
+        VectorSimilarity.checkLengths(a.length, b.length);
+        int dot = 0;
+        int normA = 0;
+        int normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return VectorSimilarity.cosine(dot, normA, normB);
+    }
+}
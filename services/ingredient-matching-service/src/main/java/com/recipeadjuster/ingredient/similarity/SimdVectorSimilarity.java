@@ -0,0 +1,118 @@
+package com.recipeadjuster.ingredient.similarity;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels. Floats use the platform's preferred species with FMA;
+ * int8 lanes are widened eight at a time to 32-bit integers so products of
+ * 384-dimension vectors cannot overflow.
+ * <p>
+ * Requires {@code --add-modules jdk.incubator.vector}; only instantiate via
+ * {@link VectorSimilarities}, which checks the module is present.
+ */
+public final class SimdVectorSimilarity implements VectorSimilarity {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_64;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_256;
+
+    @Override
+    public String name() {
+        return "simd-" + FLOATS.vectorBitSize();
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int bound = FLOATS.loopBound(length);
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector va = FloatVector.fromArray(FLOATS, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(FLOATS, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = 0;
+        int bound = BYTES.loopBound(length);
+        for (; i < bound; i += BYTES.length()) {
+            IntVector va = widen(a, aOffset + i);
+            IntVector vb = widen(b, bOffset + i);
+            acc = acc.add(va.mul(vb));
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        VectorSimilarity.checkLengths(a.length, b.length);
+        FloatVector dotAcc = FloatVector.zero(FLOATS);
+        FloatVector normAAcc = FloatVector.zero(FLOATS);
+        FloatVector normBAcc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int bound = FLOATS.loopBound(a.length);
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector va = FloatVector.fromArray(FLOATS, a, i);
+            FloatVector vb = FloatVector.fromArray(FLOATS, b, i);
+            dotAcc = va.fma(vb, dotAcc);
+            normAAcc = va.fma(va, normAAcc);
+            normBAcc = vb.fma(vb, normBAcc);
+        }
+        float dot = dotAcc.reduceLanes(VectorOperators.ADD);
+        float normA = normAAcc.reduceLanes(VectorOperators.ADD);
+        float normB = normBAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return VectorSimilarity.cosine(dot, normA, normB);
+    }
+
+    @Override
+    public float cosine(byte[] a, byte[] b) {
+        VectorSimilarity.checkLengths(a.length, b.length);
+        IntVector dotAcc = IntVector.zero(INTS);
+        IntVector normAAcc = IntVector.zero(INTS);
+        IntVector normBAcc = IntVector.zero(INTS);
+        int i = 0;
+        int bound = BYTES.loopBound(a.length);
+        for (; i < bound; i += BYTES.length()) {
+            IntVector va = widen(a, i);
+            IntVector vb = widen(b, i);
+            dotAcc = dotAcc.add(va.mul(vb));
+            normAAcc = normAAcc.add(va.mul(va));
+            normBAcc = normBAcc.add(vb.mul(vb));
+        }
+        int dot = dotAcc.reduceLanes(VectorOperators.ADD);
+        int normA = normAAcc.reduceLanes(VectorOperators.ADD);
+        int normB = normBAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return VectorSimilarity.cosine(dot, normA, normB);
+    }
+
+    private static IntVector widen(byte[] values, int offset) {
+        return (IntVector) ByteVector.fromArray(BYTES, values, offset)
+            .convertShape(VectorOperators.B2I, INTS, 0);
+    }
+}
@@ -0,0 +1,25 @@
+package com.recipeadjuster.ingredient.similarity;
+
+/**
+ * Chooses the similarity kernel at runtime: the Vector API implementation
+ * when requested and the incubator module is available, the scalar loop
+ * otherwise.
+ */
+public final class VectorSimilarities {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private VectorSimilarities() {
+    }
+
+    public static VectorSimilarity create(boolean simd) {
+        if (simd && isVectorApiAvailable()) {
+            return new SimdVectorSimilarity();
+        }
+        return new ScalarVectorSimilarity();
+    }
+
+    public static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
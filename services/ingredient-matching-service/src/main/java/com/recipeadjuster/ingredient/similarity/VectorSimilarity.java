@@ -0,0 +1,45 @@
+package com.recipeadjuster.ingredient.similarity;
+
+/**
+ * Similarity kernels over primitive embedding arrays. Implementations must be
+ * stateless and thread-safe.
+ */
+public interface VectorSimilarity {
+
+    String name();
+
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length);
+
+    /**
+     * Cosine similarity computed in a single fused pass; {@code 0} when either
+     * vector has zero norm.
+     */
+    float cosine(float[] a, float[] b);
+
+    float cosine(byte[] a, byte[] b);
+
+    default float dot(float[] a, float[] b) {
+        checkLengths(a.length, b.length);
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    default int dot(byte[] a, byte[] b) {
+        checkLengths(a.length, b.length);
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    static void checkLengths(int a, int b) {
+        if (a != b) {
+            throw new IllegalArgumentException("Vectors must have the same dimensions");
+        }
+    }
+
+    static float cosine(float dot, float normA, float normB) {
+        if (normA == 0f || normB == 0f) {
+            return 0f;
+        }
+        return (float) (dot / (Math.sqrt(normA) * Math.sqrt(normB)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.recipeadjuster.ingredient.view;
+
+import com.recipeadjuster.shared.model.entity.Recipe;
+import com.recipeadjuster.shared.mongo.BsonReads;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.bson.BsonDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The slice of a {@code recipes} document the ingredient index needs, read
+ * with an explicit projection so embeddings, instructions and nutrition are
+ * never transferred.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RecipeMatchView {
+
+    public static final String[] FIELDS = {
+        "title", "imageUrl", "cuisine", "cookTime", "difficulty", "tags", "ingredients.name", "ingredients.optional"
+    };
+
+    private final String id;
+    private final String title;
+    private final String imageUrl;
+    private final String cuisine;
+    private final Integer cookTime;
+    private final Recipe.Difficulty difficulty;
+    private final List<String> tags;
+    private final List<Ingredient> ingredients;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Ingredient {
+        private final String name;
+        private final boolean optional;
+    }
+
+    public static RecipeMatchView from(BsonDocument document) {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (BsonDocument ingredient : BsonReads.documents(document, "ingredients")) {
+            ingredients.add(new Ingredient(
+                BsonReads.string(ingredient, "name"),
+                Boolean.TRUE.equals(BsonReads.bool(ingredient, "optional"))));
+        }
+        String difficulty = BsonReads.string(document, "difficulty");
+
+        return RecipeMatchView.builder()
+            .id(BsonReads.id(document))
+            .title(BsonReads.string(document, "title"))
+            .imageUrl(BsonReads.string(document, "imageUrl"))
+            .cuisine(BsonReads.string(document, "cuisine"))
+            .cookTime(BsonReads.integer(document, "cookTime"))
+            .difficulty(difficulty == null ? null : Recipe.Difficulty.valueOf(difficulty))
+            .tags(BsonReads.strings(document, "tags"))
+            .ingredients(ingredients)
+            .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.recipeadjuster.ingredient.cache;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest.FilterOptions;
+import com.recipeadjuster.ingredient.index.IngredientDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchKeyTest {
+
+    private static final IngredientDictionary DICTIONARY = dictionary(70);
+    private static final long[] PANTRY = {0b1011L, 1L << 3};
+
+    @Test
+    void shouldIgnoreFilterOrderDuplicatesAndDifficultyCase() {
+        FilterOptions a = FilterOptions.builder()
+            .cuisines(List.of("Italian", "French"))
+            .difficulty(List.of("easy", "MEDIUM"))
+            .dietary(List.of("vegan"))
+            .build();
+        FilterOptions b = FilterOptions.builder()
+            .cuisines(List.of("French", "Italian", "French"))
+            .difficulty(List.of("Medium", "EASY"))
+            .dietary(List.of("vegan", "vegan"))
+            .build();
+
+        assertThat(MatchKey.of(7L, DICTIONARY, PANTRY, a, 50, 20))
+            .isEqualTo(MatchKey.of(7L, DICTIONARY, PANTRY, b, 50, 20));
+    }
+
+    @Test
+    void shouldTreatMissingAndEmptyFiltersAlike() {
+        FilterOptions empty = FilterOptions.builder().cuisines(List.of()).build();
+
+        assertThat(MatchKey.of(7L, DICTIONARY, PANTRY, null, 50, 20))
+            .isEqualTo(MatchKey.of(7L, DICTIONARY, PANTRY, empty, 50, 20));
+        assertThat(MatchKey.shape(empty)).isEqualTo("none");
+    }
+
+    @Test
+    void shouldSeparateEveryInputThatChangesTheResult() {
+        MatchKey base = MatchKey.of(7L, DICTIONARY, PANTRY, null, 50, 20);
+
+        assertThat(MatchKey.of(8L, DICTIONARY, PANTRY, null, 50, 20)).isNotEqualTo(base);
+        assertThat(MatchKey.of(7L, DICTIONARY, new long[]{0b1011L}, null, 50, 20)).isNotEqualTo(base);
+        assertThat(MatchKey.of(7L, DICTIONARY, PANTRY, null, 60, 20)).isNotEqualTo(base);
+        assertThat(MatchKey.of(7L, DICTIONARY, PANTRY, null, 50, 10)).isNotEqualTo(base);
+        assertThat(MatchKey.of(7L, DICTIONARY, PANTRY, FilterOptions.builder().maxCookTime(30).build(), 50, 20))
+            .isNotEqualTo(base);
+        FilterOptions lower = FilterOptions.builder().cuisines(List.of("italian")).build();
+        FilterOptions title = FilterOptions.builder().cuisines(List.of("Italian")).build();
+        assertThat(MatchKey.of(7L, DICTIONARY, PANTRY, lower, 50, 20))
+            .isNotEqualTo(MatchKey.of(7L, DICTIONARY, PANTRY, title, 50, 20));
+    }
+
+    @Test
+    void shouldIgnoreTrailingEmptyPantryWords() {
+        assertThat(MatchKey.of(7L, DICTIONARY, new long[]{0b1011L, 0L}, null, 50, 20))
+            .isEqualTo(MatchKey.of(7L, DICTIONARY, new long[]{0b1011L}, null, 50, 20));
+    }
+
+    @Test
+    void shouldHashTermsByNameNotId() {
+        IngredientDictionary forward = IngredientDictionary.of(List.of("basil", "garlic", "tomato"));
+        IngredientDictionary reversed = IngredientDictionary.of(List.of("tomato", "garlic", "basil"));
+
+        assertThat(MatchKey.of(7L, forward, new long[]{0b011L}, null, 50, 20))
+            .isEqualTo(MatchKey.of(7L, reversed, new long[]{0b110L}, null, 50, 20));
+    }
+
+    @Test
+    void shouldDescribeFilterShape() {
+        FilterOptions filters = FilterOptions.builder()
+            .cuisines(List.of("Thai"))
+            .dietary(List.of("vegan"))
+            .build();
+
+        assertThat(MatchKey.shape(null)).isEqualTo("none");
+        assertThat(MatchKey.shape(filters)).isEqualTo("cuisine+dietary");
+    }
+
+    private static IngredientDictionary dictionary(int terms) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < terms; i++) {
+            names.add("term-" + i);
+        }
+        return IngredientDictionary.of(names);
+    }
+}
@@ -2,6 +2,7 @@ package com.recipeadjuster.ingredient.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+import com.recipeadjuster.ingredient.service.RecipeIndexService;
 import com.recipeadjuster.shared.model.entity.Recipe;
 import com.recipeadjuster.shared.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,10 +54,14 @@ class IngredientMatchControllerTest {
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
     @BeforeEach
     void setUp() {
         recipeRepository.deleteAll();
         seedTestRecipes();
+        recipeIndexService.rebuild();
     }
 
     @Test
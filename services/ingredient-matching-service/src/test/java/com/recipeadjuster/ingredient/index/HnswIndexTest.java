@@ -0,0 +1,107 @@
+package com.recipeadjuster.ingredient.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    void shouldReturnInsertedVectorAsNearestNeighbour() {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 8, 64, 32);
+        float[][] vectors = randomVectors(500, new Random(7));
+        for (int i = 0; i < vectors.length; i++) {
+            index.add("v" + i, vectors[i]);
+        }
+
+        int hits = 0;
+        for (int i = 0; i < vectors.length; i++) {
+            List<HnswIndex.Neighbor> result = index.search(vectors[i], 1);
+            if (!result.isEmpty() && result.get(0).label().equals("v" + i)) {
+                hits++;
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(hits).isGreaterThanOrEqualTo(490);
+    }
+
+    @Test
+    void shouldOnlyReturnNeighboursAboveThreshold() {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 8, 64, 32);
+        float[][] vectors = randomVectors(200, new Random(11));
+        for (int i = 0; i < vectors.length; i++) {
+            index.add("v" + i, vectors[i]);
+        }
+
+        List<HnswIndex.Neighbor> result = index.searchAbove(vectors[42], 0.99, 10);
+
+        assertThat(result).extracting(HnswIndex.Neighbor::label).containsExactly("v42");
+        assertThat(result.get(0).similarity()).isGreaterThan(0.99);
+    }
+
+    @Test
+    void shouldWidenTheBeamUntilEveryNeighbourAboveThresholdIsFound() {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 8, 64, 16);
+        Random random = new Random(5);
+        float[] centre = randomVectors(1, random)[0];
+        for (int i = 0; i < 50; i++) {
+            float[] near = centre.clone();
+            near[i % DIMENSIONS] += (float) (random.nextGaussian() * 0.01);
+            index.add("near" + i, near);
+        }
+        float[][] others = randomVectors(200, random);
+        for (int i = 0; i < others.length; i++) {
+            index.add("other" + i, others[i]);
+        }
+
+        assertThat(index.searchAbove(centre, 0.95, 20)).hasSize(20);
+        // efSearch is 16, so anything past 16 comes from widening the beam
+        assertThat(index.searchAbove(centre, 0.95, 0))
+            .hasSizeGreaterThanOrEqualTo(45)
+            .allSatisfy(neighbor -> assertThat(neighbor.label()).startsWith("near"));
+        assertThat(index.exactAbove(centre, 0.95, 0))
+            .hasSize(50)
+            .allSatisfy(neighbor -> assertThat(neighbor.label()).startsWith("near"));
+        assertThat(index.exactAbove(centre, 0.95, 20)).hasSize(20);
+    }
+
+    @Test
+    void shouldReturnResultsBestFirst() {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 8, 64, 32);
+        for (float[] vector : randomVectors(300, new Random(3))) {
+            index.add(String.valueOf(vector.hashCode()), vector);
+        }
+
+        List<HnswIndex.Neighbor> result = index.search(randomVectors(1, new Random(5))[0], 10);
+
+        assertThat(result).hasSize(10);
+        for (int i = 1; i < result.size(); i++) {
+            assertThat(result.get(i).similarity()).isLessThanOrEqualTo(result.get(i - 1).similarity());
+        }
+    }
+
+    @Test
+    void shouldRejectMismatchedDimensions() {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 8, 64, 32);
+
+        assertThatThrownBy(() -> index.add("bad", new float[DIMENSIONS + 1]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private float[][] randomVectors(int count, Random random) {
+        float[][] vectors = new float[count][DIMENSIONS];
+        for (float[] vector : vectors) {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,44 @@
+package com.recipeadjuster.ingredient.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientMatcherTest {
+
+    private final IngredientMatcher matcher = IngredientMatcher.build(Map.of(
+        "Olive Oil", List.of("EVOO"),
+        "oil", List.of(),
+        "sesame oil", List.of(),
+        "garlic", List.of("garlic clove", "garlic cloves"),
+        "tomato", List.of("tomatoes")));
+
+    @Test
+    void shouldRespectWordBoundaries() {
+        assertThat(names("oil")).containsExactly("oil");
+        assertThat(names("boil")).isEmpty();
+        assertThat(names("oily fish")).isEmpty();
+    }
+
+    @Test
+    void shouldPreferLongestMention() {
+        assertThat(names("extra virgin olive oil")).containsExactly("olive oil");
+        assertThat(names("sesame oil, oil")).containsExactly("sesame oil", "oil");
+    }
+
+    @Test
+    void shouldMapAliasesToCanonicalIngredient() {
+        assertThat(names("EVOO and 3 garlic cloves")).containsExactly("olive oil", "garlic");
+        assertThat(names("tomatoes, tomato")).containsExactly("tomato");
+        assertThat(matcher.resolve("garlic clove")).isEqualTo(matcher.idOf("garlic"));
+        assertThat(matcher.resolve("garlic and tomato")).isEqualTo(IngredientDictionary.UNKNOWN);
+    }
+
+    private List<String> names(String text) {
+        return Arrays.stream(matcher.mentions(text)).mapToObj(matcher::name).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.recipeadjuster.ingredient.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrdinalBitmapTest {
+
+    @Test
+    void shouldIntersectAndUniteAcrossChunksAndContainerKinds() {
+        OrdinalBitmap evens = OrdinalBitmap.of(IntStream.range(0, 70_000).filter(i -> i % 2 == 0).toArray());
+        OrdinalBitmap sparse = OrdinalBitmap.of(new int[] {3, 4, 65_536, 65_537, 200_000});
+
+        OrdinalBitmap both = evens.and(sparse);
+        OrdinalBitmap either = evens.or(sparse);
+
+        assertThat(both.cardinality()).isEqualTo(2);
+        assertThat(both.contains(4)).isTrue();
+        assertThat(both.contains(65_536)).isTrue();
+        assertThat(either.cardinality()).isEqualTo(35_000 + 3);
+        assertThat(either.contains(200_000)).isTrue();
+        assertThat(either.contains(5)).isFalse();
+    }
+
+    @Test
+    void shouldCopyOnWriteAndSwitchContainersAtTheArrayLimit() {
+        OrdinalBitmap dense = OrdinalBitmap.of(IntStream.range(0, OrdinalBitmap.ARRAY_MAX).toArray());
+
+        OrdinalBitmap grown = dense.with(OrdinalBitmap.ARRAY_MAX);
+        OrdinalBitmap shrunk = grown.without(0).without(1);
+
+        assertThat(dense.cardinality()).isEqualTo(OrdinalBitmap.ARRAY_MAX);
+        assertThat(dense.contains(OrdinalBitmap.ARRAY_MAX)).isFalse();
+        assertThat(grown.cardinality()).isEqualTo(OrdinalBitmap.ARRAY_MAX + 1);
+        assertThat(shrunk.cardinality()).isEqualTo(OrdinalBitmap.ARRAY_MAX - 1);
+        assertThat(shrunk.contains(1)).isFalse();
+        assertThat(shrunk.contains(OrdinalBitmap.ARRAY_MAX)).isTrue();
+        assertThat(grown.with(5)).isSameAs(grown);
+        assertThat(OrdinalBitmap.of(new int[] {7}).without(7).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldFlattenOnlyOrdinalsBelowSize() {
+        OrdinalBitmap bitmap = OrdinalBitmap.of(new int[] {1, 63, 64, 130});
+
+        long[] words = bitmap.toWords(100);
+
+        assertThat(words).containsExactly((1L << 1) | (1L << 63), 1L);
+    }
+}
@@ -0,0 +1,271 @@
+package com.recipeadjuster.ingredient.index;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+import com.recipeadjuster.shared.model.entity.Recipe;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeIndexTest {
+
+    @Test
+    void shouldBuildPostingsAndRequiredCounts() {
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "pasta", "garlic"),
+            recipe("r2", "chicken", "rice"),
+            recipe("r3", "tofu", "rice", "rice")
+        ), 1L);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.postings(index.dictionary().idOf("chicken"))).containsExactly(0, 1);
+        assertThat(index.postings(index.dictionary().idOf("rice"))).containsExactly(1, 2);
+        assertThat(index.dictionary().idOf("saffron")).isEqualTo(IngredientDictionary.UNKNOWN);
+        assertThat(index.requiredCount(0)).isEqualTo(3);
+        assertThat(index.requiredCount(2)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldResolvePantryThroughCanonicalIngredients() {
+        IngredientMatcher matcher = IngredientMatcher.build(Map.of(
+            "olive oil", List.of("evoo"),
+            "oil", List.of(),
+            "garlic", List.of("garlic cloves"),
+            "parmesan cheese", List.of("parmesan")));
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "olive oil", "garlic cloves"),
+            recipe("r2", "parmesan cheese", "tomato")
+        ), matcher, 1L);
+
+        long[] pantry = index.resolvePantry(List.of("oil", "garlic", "tomato"));
+
+        assertThat(index.termId("garlic cloves")).isEqualTo(index.dictionary().idOf("garlic"));
+        assertThat(RecipeIndex.contains(pantry, index.termId("garlic cloves"))).isTrue();
+        assertThat(RecipeIndex.contains(pantry, index.termId("olive oil"))).isFalse();
+        assertThat(RecipeIndex.contains(pantry, index.termId("tomato"))).isTrue();
+        assertThat(index.matchedCount(0, pantry)).isEqualTo(1);
+        assertThat(index.matchedCount(1, pantry)).isEqualTo(1);
+        assertThat(index.matchedCount(0, index.resolvePantry(List.of("evoo")))).isEqualTo(1);
+    }
+
+    @Test
+    void shouldListCoveragePerDistinctTerm() {
+        IngredientMatcher matcher = IngredientMatcher.build(Map.of("garlic", List.of("garlic cloves")));
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "garlic", "garlic cloves", "rice")
+        ), matcher, 1L);
+
+        long[] pantry = index.resolvePantry(List.of("garlic"));
+        RecipeIndex.Coverage coverage = index.coverage(0, pantry);
+
+        assertThat(coverage.matched()).containsExactly("garlic");
+        assertThat(coverage.missing()).containsExactly("rice");
+        assertThat(coverage.matched()).hasSize(index.matchedCount(0, pantry));
+        assertThat(coverage.matched().size() + coverage.missing().size()).isEqualTo(index.requiredCount(0));
+    }
+
+    @Test
+    void shouldRankCandidatesByMatchPercentage() {
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "pasta", "garlic"),
+            recipe("r2", "chicken", "garlic"),
+            recipe("r3", "tofu", "rice")
+        ), 1L);
+        long[] pantry = index.resolvePantry(List.of("chicken", "garlic"));
+
+        long[] ranked = MatchScorer.rank(index, pantry, RecipeFilter.from(null), 50);
+
+        assertThat(ranked).hasSize(2);
+        assertThat(MatchScorer.ordinal(ranked[0])).isEqualTo(1);
+        assertThat(MatchScorer.percentage(ranked[0])).isEqualTo(100.0);
+        assertThat(MatchScorer.ordinal(ranked[1])).isEqualTo(0);
+        assertThat(MatchScorer.percentage(ranked[1])).isEqualTo(66.67);
+    }
+
+    @Test
+    void shouldKeepOnlyTopKWithDeterministicTiebreak() {
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "pasta", "garlic", "basil"),
+            recipe("r2", "chicken", "garlic"),
+            recipe("r3", "chicken", "rice"),
+            recipe("r4", "garlic", "onion"),
+            recipe("r5", "chicken", "garlic")
+        ), 1L);
+        long[] pantry = index.resolvePantry(List.of("chicken", "garlic"));
+
+        long[] all = MatchScorer.rank(index, pantry, RecipeFilter.from(null), 0);
+        long[] top = MatchScorer.rank(index, pantry, RecipeFilter.from(null), 0, 3);
+
+        assertThat(top).containsExactly(all[0], all[1], all[2]);
+        assertThat(MatchScorer.ordinal(top[0])).isEqualTo(1);
+        assertThat(MatchScorer.ordinal(top[1])).isEqualTo(4);
+        assertThat(MatchScorer.percentage(top[2])).isEqualTo(50.0);
+        assertThat(MatchScorer.ordinal(top[2])).isEqualTo(0);
+    }
+
+    @Test
+    void shouldConvergeToFullRankingAcrossSegments() {
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "pasta", "garlic", "basil"),
+            recipe("r2", "chicken", "garlic"),
+            recipe("r3", "chicken", "rice"),
+            recipe("r4", "garlic", "onion"),
+            recipe("r5", "chicken", "garlic")
+        ), 1L);
+        long[] pantry = index.resolvePantry(List.of("chicken", "garlic"));
+        IncrementalRanking ranking = new IncrementalRanking(index, pantry, RecipeFilter.from(null), 0, 3);
+
+        assertThat(ranking.advance(2)).isTrue();
+        assertThat(ranking.snapshot()).hasSize(2);
+        assertThat(MatchScorer.ordinal(ranking.snapshot()[0])).isEqualTo(1);
+        while (!ranking.isComplete()) {
+            ranking.advance(2);
+        }
+
+        assertThat(ranking.scanned()).isEqualTo(5);
+        assertThat(ranking.snapshot())
+            .containsExactly(MatchScorer.rank(index, pantry, RecipeFilter.from(null), 0, 3));
+    }
+
+    @Test
+    void shouldAdvanceAtLeastOneRecipePerSegment() {
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "garlic"),
+            recipe("r2", "chicken", "rice")
+        ), 1L);
+        IncrementalRanking ranking = new IncrementalRanking(
+            index, index.resolvePantry(List.of("chicken")), RecipeFilter.from(null), 0, 2);
+
+        ranking.advance(0);
+        ranking.advance(-5);
+
+        assertThat(ranking.isComplete()).isTrue();
+        assertThat(ranking.snapshot()).hasSize(2);
+    }
+
+    @Test
+    void shouldRankBatchLikeIndividualQueries() {
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "pasta", "garlic", "basil"),
+            recipe("r2", "chicken", "garlic"),
+            recipe("r3", "chicken", "rice"),
+            recipe("r4", "garlic", "onion"),
+            recipe("r5", "tomato", "basil")
+        ), 1L);
+        long[][] pantries = {
+            index.resolvePantry(List.of("chicken", "garlic")),
+            index.resolvePantry(List.of("basil", "tomato", "onion")),
+            index.resolvePantry(List.of("rice")),
+            index.resolvePantry(List.of("saffron"))
+        };
+        RecipeFilter none = RecipeFilter.from(null);
+        int[] minimums = {0, 50, 60, 0};
+        int[] limits = {3, 10, 5, 5};
+
+        long[][] batch = MatchScorer.rankBatch(
+            index, pantries, new RecipeFilter[] {none, none, none, none}, minimums, limits);
+
+        for (int q = 0; q < pantries.length; q++) {
+            assertThat(batch[q]).containsExactly(MatchScorer.rank(index, pantries[q], none, minimums[q], limits[q]));
+        }
+        assertThat(batch[1]).hasSize(2);
+        assertThat(batch[3]).isEmpty();
+    }
+
+    @Test
+    void shouldApplyUpdatesWithoutTouchingThePreviousSnapshot() {
+        RecipeIndex base = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "pasta", "garlic"),
+            recipe("r2", "chicken", "rice"),
+            recipe("r3", "tofu", "rice")
+        ), 1L);
+
+        RecipeIndex updated = base
+            .update(1, recipe("r2", "chicken", "garlic"), 2L)
+            .update(2, null, 3L)
+            .update(3, recipe("r4", "saffron", "rice", "garlic"), 4L);
+        RecipeIndex rebuilt = RecipeIndex.build(List.of(
+            recipe("r1", "chicken", "pasta", "garlic"),
+            recipe("r2", "chicken", "garlic"),
+            recipe("r4", "saffron", "rice", "garlic")
+        ), 4L);
+
+        assertThat(updated.getVersion()).isEqualTo(4L);
+        assertThat(updated.size()).isEqualTo(4);
+        assertThat(updated.liveCount()).isEqualTo(3);
+        assertThat(updated.recipe(2)).isNull();
+        assertThat(updated.postings(updated.dictionary().idOf("rice"))).containsExactly(3);
+        assertThat(updated.postings(updated.dictionary().idOf("garlic"))).containsExactly(0, 1, 3);
+        for (List<String> pantry : List.of(List.of("chicken", "garlic"), List.of("rice", "saffron"), List.of("tofu"))) {
+            assertThat(ranked(updated, pantry)).isEqualTo(ranked(rebuilt, pantry));
+        }
+
+        assertThat(base.size()).isEqualTo(3);
+        assertThat(base.dictionary().idOf("saffron")).isEqualTo(IngredientDictionary.UNKNOWN);
+        assertThat(base.postings(base.dictionary().idOf("rice"))).containsExactly(1, 2);
+        assertThat(base.requiredCount(1)).isEqualTo(2);
+        assertThat(base.recipe(2).getId()).isEqualTo("r3");
+    }
+
+    @Test
+    void shouldAdmitOnlyRecipesMatchingEveryFilterClause() {
+        RecipeIndex index = RecipeIndex.build(List.of(
+            recipe("r1", "Italian", 15, Recipe.Difficulty.EASY, List.of("vegan"), "pasta", "garlic"),
+            recipe("r2", "Italian", 45, Recipe.Difficulty.EASY, List.of("vegan"), "pasta", "garlic"),
+            recipe("r3", "Thai", 12, Recipe.Difficulty.EASY, List.of("vegan", "spicy"), "rice", "garlic"),
+            recipe("r4", "Italian", 12, Recipe.Difficulty.HARD, List.of("vegan"), "pasta"),
+            recipe("r5", "Italian", 10, Recipe.Difficulty.EASY, List.of(), "pasta")
+        ), 1L);
+        RecipeFilter filter = RecipeFilter.from(IngredientMatchRequest.FilterOptions.builder()
+            .cuisines(List.of("Italian", "Thai"))
+            .maxCookTime(14)
+            .difficulty(List.of("easy"))
+            .dietary(List.of("vegan"))
+            .build());
+
+        long[] admitted = index.admitted(filter);
+        long[] ranked = MatchScorer.rank(index, index.resolvePantry(List.of("pasta", "garlic", "rice")), filter, 0);
+
+        assertThat(index.admitted(RecipeFilter.from(null))).isNull();
+        assertThat(admitted).containsExactly(1L << 2);
+        assertThat(ranked).hasSize(1);
+        assertThat(index.recipe(MatchScorer.ordinal(ranked[0])).getId()).isEqualTo("r3");
+        assertThat(index.update(0, recipe("r1", "Italian", 14, Recipe.Difficulty.EASY, List.of("vegan"), "pasta"), 2L)
+            .admitted(filter)).containsExactly((1L << 0) | (1L << 2));
+    }
+
+    private static List<String> ranked(RecipeIndex index, List<String> pantry) {
+        long[] bits = index.resolvePantry(pantry);
+        return Arrays.stream(MatchScorer.rank(index, bits, RecipeFilter.from(null), 0))
+            .mapToObj(key -> index.recipe(MatchScorer.ordinal(key)).getId() + "@" + MatchScorer.percentage(key))
+            .toList();
+    }
+
+    private IndexedRecipe recipe(String id, String cuisine, int cookTime, Recipe.Difficulty difficulty,
+                                 List<String> tags, String... required) {
+        return IndexedRecipe.builder()
+            .id(id)
+            .title(id)
+            .cuisine(cuisine)
+            .cookTime(cookTime)
+            .difficulty(difficulty)
+            .tags(tags)
+            .requiredIngredients(List.of(required))
+            .build();
+    }
+
+    private IndexedRecipe recipe(String id, String... required) {
+        return IndexedRecipe.builder()
+            .id(id)
+            .title(id)
+            .cuisine("Italian")
+            .cookTime(20)
+            .difficulty(Recipe.Difficulty.EASY)
+            .tags(List.of())
+            .requiredIngredients(List.of(required))
+            .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.recipeadjuster.ingredient.kafka;
+
+import com.recipeadjuster.ingredient.dto.IngredientMatchRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IngredientEventPublisherTest {
+
+    private IngredientEventProducer producer;
+    private MeterRegistry meterRegistry;
+    private IngredientEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        producer = mock(IngredientEventProducer.class);
+        when(producer.publishIngredientSubmitted(any())).thenReturn(new CompletableFuture<>());
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new IngredientEventPublisher(producer, meterRegistry, 16,
+            IngredientEventPublisher.OverflowPolicy.DROP, Duration.ZERO, 8);
+    }
+
+    @Test
+    void shouldPublishWhatWasQueuedBeforeStopAndCountLaterSubmissionsAsDropped() {
+        publisher.start();
+        assertThat(publisher.submit(submission())).isTrue();
+
+        publisher.stop();
+
+        verify(producer).publishIngredientSubmitted(any());
+        verify(producer).flush();
+        assertThat(publisher.submit(submission())).isFalse();
+        assertThat(meterRegistry.counter("ingredient.events.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldStopAfterTheWebServer() {
+        // The servlet web server starts and stops in DEFAULT_PHASE - 2048
+        assertThat(publisher.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    private static IngredientSubmission submission() {
+        IngredientMatchRequest request = new IngredientMatchRequest();
+        request.setIngredients(List.of("garlic"));
+        return IngredientSubmission.of(request, "user-1", "session-1");
+    }
+}
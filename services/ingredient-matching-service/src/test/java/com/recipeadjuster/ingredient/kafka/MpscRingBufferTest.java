@@ -0,0 +1,83 @@
+package com.recipeadjuster.ingredient.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MpscRingBufferTest {
+
+    @Test
+    void shouldRejectOffersWhenFullAndAcceptAfterDrain() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.offer(6)).isTrue();
+        assertThat(buffer.offer(7)).isFalse();
+    }
+
+    @Test
+    void shouldDeliverEveryElementFromConcurrentProducersOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        boolean[] received = new boolean[producers * perProducer];
+        int[] lastByProducer = new int[producers];
+        Arrays.fill(lastByProducer, -1);
+        int[] total = {0};
+        start.countDown();
+        while (total[0] < received.length) {
+            buffer.drain(value -> {
+                assertThat(received[value]).isFalse();
+                received[value] = true;
+                int producer = value / perProducer;
+                assertThat(value).isGreaterThan(lastByProducer[producer]);
+                lastByProducer[producer] = value;
+                total[0]++;
+            }, 256);
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldRequirePowerOfTwoCapacity() {
+        assertThatThrownBy(() -> new MpscRingBuffer<>(1000))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,31 @@
+package com.recipeadjuster.ingredient.kafka;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProducerPropertiesTest {
+
+    @Test
+    void shouldBindProducerBatchingFromApplicationYml() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        for (PropertySource<?> source : new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml"))) {
+            environment.getPropertySources().addLast(source);
+        }
+
+        KafkaProperties kafka = Binder.get(environment).bind("spring.kafka", KafkaProperties.class).get();
+
+        assertThat(kafka.getProducer().getProperties()).containsEntry("linger.ms", "5");
+        assertThat(kafka.getProducer().getAcks()).isEqualTo("all");
+        assertThat(kafka.getConsumer().getGroupId()).isEqualTo("ingredient-matching-service");
+    }
+}
@@ -0,0 +1,58 @@
+package com.recipeadjuster.ingredient.normalize;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientCanonicalizerTest {
+
+    @Test
+    void shouldFoldUnicodeAndPunctuation() {
+        assertThat(IngredientNormalizer.fold("  Crème   Fraîche! ")).isEqualTo("creme fraiche");
+        assertThat(IngredientNormalizer.fold("JALAPEÑO-Peppers")).isEqualTo("jalapeno peppers");
+        assertThat(IngredientNormalizer.fold("ﬁlo")).isEqualTo("filo");
+    }
+
+    @Test
+    void shouldStemPluralsConservatively() {
+        assertThat(IngredientNormalizer.normalize("Tomatoes")).isEqualTo("tomato");
+        assertThat(IngredientNormalizer.normalize("cherry tomatoes")).isEqualTo("cherry tomato");
+        assertThat(IngredientNormalizer.normalize("berries")).isEqualTo("berry");
+        assertThat(IngredientNormalizer.normalize("peaches")).isEqualTo("peach");
+        assertThat(IngredientNormalizer.normalize("bay leaves")).isEqualTo("bay leaf");
+        assertThat(IngredientNormalizer.normalize("asparagus")).isEqualTo("asparagus");
+        assertThat(IngredientNormalizer.normalize("molasses")).isEqualTo("molasses");
+        assertThat(IngredientNormalizer.normalize("oats")).isEqualTo("oats");
+    }
+
+    @Test
+    void shouldResolveAliasesToCanonicalName() {
+        IngredientCanonicalizer canonicalizer = IngredientCanonicalizer.build(Map.of(
+            "tomato", List.of("tomatoes", "tomato sauce", "Marinara"),
+            "garlic", List.of("garlic cloves")));
+
+        assertThat(canonicalizer.canonical("Tomatoes")).isEqualTo("tomato");
+        assertThat(canonicalizer.canonical("marinara")).isEqualTo("tomato");
+        assertThat(canonicalizer.canonical("Garlic Clove")).isEqualTo("garlic");
+        assertThat(canonicalizer.canonical("Saffron Threads")).isEqualTo("saffron thread");
+    }
+
+    @Test
+    void shouldLookUpEveryEntryInAliasMap() {
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.put("alias-" + i, "name-" + (i % 7));
+        }
+
+        AliasMap map = AliasMap.of(entries);
+
+        assertThat(map.size()).isEqualTo(1000);
+        entries.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+        assertThat(map.get("missing")).isNull();
+        assertThat(AliasMap.empty().get("anything")).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.recipeadjuster.ingredient.service;
+
+import com.recipeadjuster.ingredient.cache.EmbeddingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingServiceTest {
+
+    private MeterRegistry meterRegistry;
+    private EmbeddingService embeddingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        EmbeddingCache cache = new EmbeddingCache(null, meterRegistry, 1000, false, Duration.ofDays(7));
+        embeddingService = new EmbeddingService(cache, meterRegistry);
+    }
+
+    @Test
+    void shouldGenerateDeterministicEmbeddings() {
+        float[] first = EmbeddingService.generate("garlic");
+        float[] second = EmbeddingService.generate("garlic");
+
+        assertThat(first).hasSize(EmbeddingService.EMBEDDING_DIMENSIONS).containsExactly(second);
+        assertThat(EmbeddingService.generate("onion")).isNotEqualTo(first);
+    }
+
+    @Test
+    void shouldProduceSameVectorsUnderConcurrency() throws Exception {
+        List<String> texts = List.of("garlic", "onion", "basil", "tomato", "olive oil", "chicken");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<float[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                String text = texts.get(i % texts.size());
+                futures.add(executor.submit(() -> EmbeddingService.generate(text)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get())
+                    .containsExactly(EmbeddingService.generate(texts.get(i % texts.size())));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        float[] first = embeddingService.embed("garlic");
+        float[] second = embeddingService.embed("garlic");
+
+        assertThat(second).isSameAs(first);
+        assertThat(generatedCount()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("embedding.cache.requests")
+            .tags("level", "l1", "result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldOnlyGenerateBatchMisses() {
+        embeddingService.embed("garlic");
+
+        List<float[]> embeddings = embeddingService.embedBatch(List.of("garlic", "onion", "basil", "onion"));
+
+        assertThat(embeddings).hasSize(4);
+        assertThat(embeddings.get(0)).containsExactly(EmbeddingService.generate("garlic"));
+        assertThat(embeddings.get(1)).isSameAs(embeddings.get(3));
+        assertThat(generatedCount()).isEqualTo(3.0);
+    }
+
+    private double generatedCount() {
+        return meterRegistry.get("embedding.generated").counter().count();
+    }
+}
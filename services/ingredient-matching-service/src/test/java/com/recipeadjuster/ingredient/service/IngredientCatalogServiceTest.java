@@ -0,0 +1,61 @@
+package com.recipeadjuster.ingredient.service;
+
+import com.recipeadjuster.shared.model.entity.Embedding;
+import com.recipeadjuster.shared.model.entity.Ingredient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IngredientCatalogServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private IngredientCatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        catalogService = new IngredientCatalogService(mongoTemplate, eventPublisher, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldOnlyPublishWhenTheCatalogChanges() {
+        stored(ingredient("garlic", "garlic clove"));
+        catalogService.refresh();
+        long version = catalogService.current().getVersion();
+
+        catalogService.refresh();
+
+        assertThat(catalogService.current().getVersion()).isEqualTo(version);
+        verify(eventPublisher, times(1)).publishEvent(any(IngredientCatalogRefreshedEvent.class));
+
+        stored(ingredient("garlic", "garlic clove", "ail"));
+        catalogService.refresh();
+
+        assertThat(catalogService.current().aliases("garlic")).contains("ail");
+        verify(eventPublisher, times(2)).publishEvent(any(IngredientCatalogRefreshedEvent.class));
+    }
+
+    private void stored(Ingredient... ingredients) {
+        when(mongoTemplate.find(any(Query.class), eq(Ingredient.class))).thenReturn(List.of(ingredients));
+    }
+
+    private static Ingredient ingredient(String name, String... aliases) {
+        return Ingredient.builder()
+            .name(name)
+            .aliases(List.of(aliases))
+            .embedding(Embedding.of(EmbeddingService.generate(name)))
+            .build();
+    }
+}
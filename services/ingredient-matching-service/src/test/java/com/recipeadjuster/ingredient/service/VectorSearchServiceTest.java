@@ -0,0 +1,74 @@
+package com.recipeadjuster.ingredient.service;
+
+import com.recipeadjuster.ingredient.index.HnswIndex;
+import com.recipeadjuster.ingredient.index.IngredientCatalog;
+import com.recipeadjuster.ingredient.similarity.ScalarVectorSimilarity;
+import com.recipeadjuster.shared.model.entity.Embedding;
+import com.recipeadjuster.shared.model.entity.Ingredient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VectorSearchServiceTest {
+
+    private VectorSearchService vectorSearch;
+    private long versions;
+
+    @BeforeEach
+    void setUp() {
+        vectorSearch = new VectorSearchService(new ScalarVectorSimilarity(), new SimpleMeterRegistry(), 8, 64, 32, false);
+    }
+
+    @Test
+    void shouldAddOnlyNewEmbeddingsToTheLiveGraph() {
+        refresh("garlic", "onion");
+        HnswIndex graph = graph();
+
+        refresh("garlic", "onion");
+        assertThat(graph()).isSameAs(graph);
+        assertThat(graph.size()).isEqualTo(2);
+
+        refresh("garlic", "onion", "leek");
+        assertThat(graph()).isSameAs(graph);
+        assertThat(labelsAbove("leek")).contains("leek");
+    }
+
+    @Test
+    void shouldRebuildWhenAnIngredientIsRemoved() {
+        refresh("garlic", "onion", "leek");
+        HnswIndex graph = graph();
+
+        refresh("garlic", "onion");
+
+        assertThat(graph()).isNotSameAs(graph);
+        assertThat(graph().size()).isEqualTo(2);
+        assertThat(labelsAbove("leek")).doesNotContain("leek");
+    }
+
+    private void refresh(String... names) {
+        List<Ingredient> ingredients = Arrays.stream(names)
+            .map(name -> Ingredient.builder()
+                .name(name)
+                .embedding(Embedding.of(EmbeddingService.generate(name)))
+                .build())
+            .toList();
+        vectorSearch.onCatalogRefreshed(new IngredientCatalogRefreshedEvent(
+            IngredientCatalog.build(ingredients, EmbeddingService.EMBEDDING_DIMENSIONS, ++versions)));
+    }
+
+    private List<String> labelsAbove(String name) {
+        return vectorSearch.ingredientsAbove(EmbeddingService.generate(name), 0.99, 0).stream()
+            .map(HnswIndex.Neighbor::label)
+            .toList();
+    }
+
+    private HnswIndex graph() {
+        return (HnswIndex) ReflectionTestUtils.getField(vectorSearch, "ingredientIndex");
+    }
+}
@@ -0,0 +1,53 @@
+package com.recipeadjuster.ingredient.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorSimilarityTest {
+
+    private static final int DIMENSIONS = 384;
+
+    private final VectorSimilarity scalar = new ScalarVectorSimilarity();
+    private final VectorSimilarity simd = VectorSimilarities.create(true);
+
+    @Test
+    void shouldMatchScalarKernelForFloats() {
+        Random random = new Random(1);
+        // odd length exercises the tail loop
+        float[] a = randomFloats(random, DIMENSIONS + 3);
+        float[] b = randomFloats(random, DIMENSIONS + 3);
+
+        assertThat(simd.dot(a, b)).isCloseTo(scalar.dot(a, b), within(1e-2f));
+        assertThat(simd.cosine(a, b)).isCloseTo(scalar.cosine(a, b), within(1e-5f));
+        assertThat(simd.cosine(a, a)).isCloseTo(1f, within(1e-5f));
+    }
+
+    @Test
+    void shouldMatchScalarKernelForInt8() {
+        Random random = new Random(2);
+        byte[] a = new byte[DIMENSIONS + 5];
+        byte[] b = new byte[DIMENSIONS + 5];
+        random.nextBytes(a);
+        random.nextBytes(b);
+
+        assertThat(simd.dot(a, b)).isEqualTo(scalar.dot(a, b));
+        assertThat(simd.cosine(a, b)).isCloseTo(scalar.cosine(a, b), within(1e-5f));
+    }
+
+    @Test
+    void shouldReturnZeroForZeroVector() {
+        assertThat(simd.cosine(new float[DIMENSIONS], randomFloats(new Random(4), DIMENSIONS))).isZero();
+    }
+
+    private static float[] randomFloats(Random random, int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -1,12 +1,15 @@
 package com.recipeadjuster.recipedatabase;
 
+import com.recipeadjuster.shared.metrics.VirtualThreadPinningMonitor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication(exclude = {DataSourceAutoConfiguration.class})
 @EnableDiscoveryClient
+@Import(VirtualThreadPinningMonitor.class)
 public class RecipeDatabaseApplication {
     public static void main(String[] args) {
         SpringApplication.run(RecipeDatabaseApplication.class, args);
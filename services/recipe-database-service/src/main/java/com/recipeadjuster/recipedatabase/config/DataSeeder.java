@@ -155,6 +155,7 @@ public class DataSeeder implements CommandLineRunner {
         Ingredient ingredient = new Ingredient();
         ingredient.setName(name);
         ingredient.setCategory(category);
+        ingredient.setAliases(aliases);
         return ingredient;
     }
 }
@@ -12,6 +12,10 @@ public class RecipeEvent {
     private String authorName;
     private String cuisine;
     private String difficulty;
+    // Set on recipe.updated: the values before the edit, so consumers can
+    // invalidate what the recipe used to match
+    private String previousCuisine;
+    private String previousDifficulty;
     private LocalDateTime timestamp;
     private String correlationId;
     
@@ -53,6 +57,12 @@ public class RecipeEvent {
     public String getDifficulty() { return difficulty; }
     public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
     
+    public String getPreviousCuisine() { return previousCuisine; }
+    public void setPreviousCuisine(String previousCuisine) { this.previousCuisine = previousCuisine; }
+    
+    public String getPreviousDifficulty() { return previousDifficulty; }
+    public void setPreviousDifficulty(String previousDifficulty) { this.previousDifficulty = previousDifficulty; }
+    
     public String getCorrelationId() { return correlationId; }
     public void setCorrelationId(String correlationId) { this.correlationId = correlationId; }
 }
@@ -3,6 +3,8 @@ package com.recipeadjuster.recipedatabase.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
+
 @Document(collection = "ingredients")
 public class Ingredient {
     
@@ -10,6 +12,7 @@ public class Ingredient {
     private String id;
     private String name;
     private String category;
+    private List<String> aliases;
     
     public Ingredient() {}
     
@@ -27,4 +30,7 @@ public class Ingredient {
     
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
+    
+    public List<String> getAliases() { return aliases; }
+    public void setAliases(List<String> aliases) { this.aliases = aliases; }
 }
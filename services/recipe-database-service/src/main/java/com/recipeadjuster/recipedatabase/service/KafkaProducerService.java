@@ -30,6 +30,10 @@ public class KafkaProducerService {
         publishEvent("recipe.updated", event);
     }
     
+    public void publishRecipeDeleted(RecipeEvent event) {
+        publishEvent("recipe.deleted", event);
+    }
+    
     private void publishEvent(String eventType, RecipeEvent event) {
         try {
             event.setEventType(eventType);
@@ -71,5 +71,19 @@ public class ModerationService {
         // Soft delete - keep for audit trail
         recipeRepository.deleteById(id);
         log.info("Recipe rejected and deleted: {}", id);
+        
+        // Rejecting an approved recipe takes it out of search
+        if (Boolean.TRUE.equals(recipe.getIsApproved())) {
+            kafkaProducerService.publishRecipeDeleted(new RecipeEvent(
+                "recipe.deleted",
+                recipe.getId(),
+                recipe.getTitle(),
+                recipe.getAuthorId(),
+                recipe.getAuthorName(),
+                recipe.getCuisine(),
+                recipe.getDifficulty(),
+                UUID.randomUUID().toString()
+            ));
+        }
     }
 }
@@ -70,6 +70,9 @@ public class RecipeService {
             throw new UnauthorizedException("You are not authorized to update this recipe");
         }
         
+        String previousCuisine = recipe.getCuisine();
+        String previousDifficulty = recipe.getDifficulty();
+        
         if (request.getTitle() != null) recipe.setTitle(request.getTitle());
         if (request.getDescription() != null) recipe.setDescription(request.getDescription());
         if (request.getIngredients() != null) recipe.setIngredients(request.getIngredients());
@@ -97,6 +100,8 @@ public class RecipeService {
                 updated.getDifficulty(),
                 UUID.randomUUID().toString()
             );
+            event.setPreviousCuisine(previousCuisine);
+            event.setPreviousDifficulty(previousDifficulty);
             kafkaProducerService.publishRecipeUpdated(event);
         }
         
@@ -112,5 +117,19 @@ public class RecipeService {
         }
         
         recipeRepository.deleteById(id);
+        
+        // Publish recipe.deleted only if the recipe was visible to search
+        if (Boolean.TRUE.equals(recipe.getIsApproved())) {
+            kafkaProducerService.publishRecipeDeleted(new RecipeEvent(
+                "recipe.deleted",
+                recipe.getId(),
+                recipe.getTitle(),
+                recipe.getAuthorId(),
+                recipe.getAuthorName(),
+                recipe.getCuisine(),
+                recipe.getDifficulty(),
+                UUID.randomUUID().toString()
+            ));
+        }
     }
 }
@@ -85,6 +85,21 @@ class ModerationServiceTest {
         moderationService.rejectRecipe("recipe456", "Inappropriate content");
         
         verify(recipeRepository).deleteById("recipe456");
+        verify(kafkaProducerService, never()).publishRecipeDeleted(any());
+    }
+    
+    @Test
+    void rejectRecipe_Approved_PublishesDeleted() {
+        Recipe recipe = createRecipe("Approved Recipe", true);
+        recipe.setId("recipe789");
+        
+        when(recipeRepository.findById("recipe789")).thenReturn(Optional.of(recipe));
+        
+        moderationService.rejectRecipe("recipe789", "Copyright claim");
+        
+        verify(recipeRepository).deleteById("recipe789");
+        verify(kafkaProducerService).publishRecipeDeleted(argThat(event ->
+            "recipe.deleted".equals(event.getEventType()) && "recipe789".equals(event.getRecipeId())));
     }
     
     @Test
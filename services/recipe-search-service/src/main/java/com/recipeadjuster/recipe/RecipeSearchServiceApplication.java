@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
     exclude = {DataSourceAutoConfiguration.class},
@@ -14,6 +15,7 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
 @EnableDiscoveryClient
 @EnableMongoRepositories(basePackages = "com.recipeadjuster.shared.repository")
 @EnableCaching
+@EnableScheduling
 public class RecipeSearchServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(RecipeSearchServiceApplication.class, args);
@@ -0,0 +1,171 @@
+package com.recipeadjuster.recipe.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Spring cache with a per-instance Caffeine tier (L1) in front of a shared
+ * one (L2, Redis). Reads try L1, then L2, and promote L2 hits; writes and
+ * evictions go to both. Every {@code put} and eviction is announced through
+ * {@link Publisher} so other instances drop their L1 copy and re-read L2.
+ * Read-through fills go through {@code putIfAbsent}, a single conditional
+ * L2 write: they never replace a value, so no peer can hold a stale copy and
+ * they are not announced.
+ * <p>
+ * A peer that read the old L2 value just before the announcement can put it
+ * back into its L1; the L1 TTL bounds how long that copy lives. Values in L1
+ * are shared between callers and must not be modified.
+ */
+public class NearCache extends AbstractValueAdaptingCache {
+
+    /** Announces a change to {@code key} in {@code cache}; a {@code null} key means the whole cache. */
+    @FunctionalInterface
+    public interface Publisher {
+        void publish(String cache, String key);
+    }
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final Publisher publisher;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Timer localLatency;
+    private final Timer remoteLatency;
+
+    public NearCache(String name, Cache<String, Object> local, org.springframework.cache.Cache remote,
+                     Publisher publisher, MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+
+        this.localHits = requests(meterRegistry, name, "l1", "hit");
+        this.localMisses = requests(meterRegistry, name, "l1", "miss");
+        this.remoteHits = requests(meterRegistry, name, "l2", "hit");
+        this.remoteMisses = requests(meterRegistry, name, "l2", "miss");
+        this.localLatency = latency(meterRegistry, name, "l1");
+        this.remoteLatency = latency(meterRegistry, name, "l2");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = key.toString();
+        long start = System.nanoTime();
+        Object value = local.getIfPresent(localKey);
+        localLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        localMisses.increment();
+
+        start = System.nanoTime();
+        ValueWrapper wrapper = remote.get(key);
+        remoteLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (wrapper == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        Object stored = toStoreValue(wrapper.get());
+        local.put(localKey, stored);
+        return stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        ValueWrapper existing = putIfAbsent(key, value);
+        return existing != null ? (T) existing.get() : value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(key.toString(), toStoreValue(value));
+        publisher.publish(name, key.toString());
+    }
+
+    /** Keeps an L2 value a peer stored first, and returns it. */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(key.toString(), toStoreValue(existing != null ? existing.get() : value));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key.toString());
+        publisher.publish(name, key.toString());
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publish(name, null);
+    }
+
+    /** Applies a peer's announcement: L1 only, L2 has already changed. */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String cache, String level, String result) {
+        return Counter.builder("recipe.cache.requests")
+            .description("Recipe cache lookups per tier")
+            .tag("cache", cache)
+            .tag("level", level)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static Timer latency(MeterRegistry meterRegistry, String cache, String level) {
+        return Timer.builder("recipe.cache.latency")
+            .description("Recipe cache lookup latency per tier")
+            .tag("cache", cache)
+            .tag("level", level)
+            .register(meterRegistry);
+    }
+}
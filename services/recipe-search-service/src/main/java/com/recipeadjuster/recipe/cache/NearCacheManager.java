@@ -0,0 +1,128 @@
+package com.recipeadjuster.recipe.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the Redis cache manager and puts a {@link NearCache} in front of the
+ * caches given a local tier; the others are served from Redis directly.
+ * <p>
+ * Changes are broadcast on {@value #CHANNEL} as {@code origin\ncache[\nkey]}
+ * (no key: the whole cache) and applied here to the local tier of every
+ * other instance. An instance ignores its own messages. A lost message
+ * leaves a peer's copy stale for at most the local TTL.
+ */
+@Slf4j
+public class NearCacheManager implements CacheManager, MessageListener {
+
+    public static final String CHANNEL = "recipes:cache:invalidations";
+
+    /** Bounds of one cache's local tier. */
+    public record LocalTier(long maxSize, Duration ttl) {
+    }
+
+    private final CacheManager remote;
+    private final Map<String, LocalTier> localTiers;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    private final Counter sent;
+    private final Counter received;
+    private final Counter errors;
+
+    public NearCacheManager(CacheManager remote, Map<String, LocalTier> localTiers,
+                            StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.localTiers = Map.copyOf(localTiers);
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+
+        this.sent = invalidations(meterRegistry, "sent");
+        this.received = invalidations(meterRegistry, "received");
+        this.errors = Counter.builder("recipe.cache.invalidation.errors")
+            .description("Cache invalidations that could not be broadcast")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        LocalTier tier = localTiers.get(name);
+        if (tier == null) {
+            return remote.getCache(name);
+        }
+        return caches.computeIfAbsent(name, n -> {
+            NearCache cache = new NearCache(n,
+                Caffeine.newBuilder().maximumSize(tier.maxSize()).expireAfterWrite(tier.ttl()).build(),
+                remote.getCache(n), this::publish, meterRegistry);
+            Gauge.builder("recipe.cache.local.size", cache, NearCache::localSize)
+                .description("Entries held in the in-process tier")
+                .tag("cache", n)
+                .register(meterRegistry);
+            return cache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remote.getCacheNames());
+        names.addAll(localTiers.keySet());
+        return names;
+    }
+
+    void publish(String cache, String key) {
+        String message = instanceId + '\n' + cache + (key == null ? "" : '\n' + key);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+            sent.increment();
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Could not broadcast invalidation of {} in {}: {}", key == null ? "all entries" : key, cache, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int originEnd = body.indexOf('\n');
+        if (originEnd < 0 || body.startsWith(instanceId + '\n')) {
+            return;
+        }
+        int cacheEnd = body.indexOf('\n', originEnd + 1);
+        String name = cacheEnd < 0 ? body.substring(originEnd + 1) : body.substring(originEnd + 1, cacheEnd);
+        String key = cacheEnd < 0 ? null : body.substring(cacheEnd + 1);
+
+        NearCache cache = caches.get(name);
+        if (cache != null) {
+            cache.evictLocal(key);
+            received.increment();
+            log.debug("Evicted {} from local {} on peer invalidation", key == null ? "all entries" : key, name);
+        }
+    }
+
+    private static Counter invalidations(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("recipe.cache.invalidations")
+            .description("Local tier invalidations broadcast to or received from other instances")
+            .tag("direction", direction)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,278 @@
+package com.recipeadjuster.recipe.cache;
+
+import com.recipeadjuster.recipe.dto.RecipeSearchRequest;
+import com.recipeadjuster.recipe.dto.RecipeSearchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Redis index from what a cached {@code recipeSearch} page depends on to its
+ * key, so a recipe change evicts only the pages it can affect.
+ * <p>
+ * A page is tagged with every recipe it shows and with its filter on each
+ * dimension: the cuisines, difficulty and dietary tags it asks for, or
+ * {@value #ANY} when it does not filter on one. A recipe version affects a
+ * page it passes on all three dimensions. Dietary filters need every tag but
+ * the index checks for any one, so a few pages are evicted needlessly.
+ * <p>
+ * Each tag is a sorted set of keys scored by when the page expires; writes
+ * prune expired members and the set expires with the cache TTL, so pages
+ * that just time out do not accumulate.
+ * <p>
+ * A fill that read data from before a change can be stored after the change
+ * was evicted. To catch it, an eviction first advances a generation counter
+ * per cuisine and difficulty it touches, and per recipe. A fill reads the
+ * counters it depends on before its query and {@link #fill} drops the entry
+ * again when every dimension it read has moved. Dietary tags are not in
+ * events, so they cannot narrow this down.
+ */
+@Slf4j
+@Component
+public class SearchCacheTags {
+
+    static final String PREFIX = "recipes:cache:tags:";
+    static final String GENERATIONS = "recipes:cache:generations:";
+    static final String ANY = "*";
+
+    /**
+     * What a search filters on in one version of a recipe. {@code null} tags
+     * are unknown and pass any dietary filter.
+     */
+    public record Facets(String cuisine, String difficulty, List<String> tags) {
+    }
+
+    /**
+     * Generation counters read before a fill's query, by tag. {@code null}
+     * when they could not be read, in which case the fill is not kept.
+     */
+    public record Generations(List<String> tags, List<String> values) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Counter errors;
+    private final Counter staleFills;
+
+    public SearchCacheTags(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${recipes.cache.recipe-search.ttl:PT2H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.errors = Counter.builder("recipe.cache.tag.errors")
+            .description("Failed tag and generation writes; the pages they cover go stale until the TTL")
+            .register(meterRegistry);
+        this.staleFills = Counter.builder("recipe.cache.stale.fills")
+            .description("Cache fills dropped because a recipe change was evicted while they were read")
+            .register(meterRegistry);
+    }
+
+    /** Tags the page cached under {@code key}; failures are logged, not thrown. */
+    public void register(String key, RecipeSearchRequest canonical, RecipeSearchResponse response) {
+        long now = System.currentTimeMillis();
+        double expiry = now + ttl.toMillis();
+        try {
+            pipelined(connection -> {
+                for (String tag : tags(canonical, response)) {
+                    connection.zAdd(PREFIX + tag, expiry, key);
+                    connection.zRemRangeByScore(PREFIX + tag, 0, now);
+                    connection.expire(PREFIX + tag, ttl.toSeconds());
+                }
+            });
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Could not tag cached search {}: {}", key, e.getMessage());
+        }
+    }
+
+    /** Generations a search page depends on: those of its cuisine and difficulty filters. */
+    public Generations generations(RecipeSearchRequest canonical) {
+        Set<String> tags = new LinkedHashSet<>();
+        addFilter(tags, "cuisine", canonical.getCuisines());
+        addFilter(tags, "difficulty", canonical.getDifficulty() == null ? null : List.of(canonical.getDifficulty()));
+        return read(List.copyOf(tags));
+    }
+
+    /** Generation a cached recipe depends on. */
+    public Generations generations(String recipeId) {
+        return read(List.of(tag("recipe", recipeId)));
+    }
+
+    /**
+     * Advances the generations of everything a change to the recipe touches.
+     * Runs before its pages are looked up and evicted, so a fill stored too
+     * late for the eviction to see sees the new generation.
+     */
+    public void advance(String recipeId, Collection<Facets> versions) {
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(tag("recipe", recipeId));
+        for (Facets version : versions) {
+            tags.add(tag("cuisine", version.cuisine()));
+            tags.add(tag("difficulty", version.difficulty()));
+        }
+        tags.addAll(List.of(tag("cuisine", ANY), tag("difficulty", ANY)));
+        try {
+            pipelined(connection -> {
+                for (String tag : tags) {
+                    connection.incr(GENERATIONS + tag);
+                    connection.expire(GENERATIONS + tag, ttl.toSeconds());
+                }
+            });
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Could not advance cache generations of recipe {}: {}", recipeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Stores a value read after {@code before}, unless a peer stored one first
+     * (fills are not announced), then drops it again if every
+     * dimension of {@code before} has moved since: a change it may predate has
+     * been evicted in between. Checking after the put means either this check
+     * or the eviction's tag lookup sees the other.
+     */
+    public void fill(Cache cache, String key, Object value, Generations before) {
+        cache.putIfAbsent(key, value);
+        if (!unchanged(before)) {
+            cache.evict(key);
+            staleFills.increment();
+            log.debug("Dropped cache fill {} that raced a recipe change", key);
+        }
+    }
+
+    boolean unchanged(Generations before) {
+        if (before == null) {
+            return false;
+        }
+        Generations now = read(before.tags());
+        if (now == null) {
+            return false;
+        }
+        Set<String> dimensions = new HashSet<>();
+        Set<String> moved = new HashSet<>();
+        for (int i = 0; i < before.tags().size(); i++) {
+            String dimension = before.tags().get(i).substring(0, before.tags().get(i).indexOf(':'));
+            dimensions.add(dimension);
+            if (!Objects.equals(before.values().get(i), now.values().get(i))) {
+                moved.add(dimension);
+            }
+        }
+        return !moved.containsAll(dimensions);
+    }
+
+    private Generations read(List<String> tags) {
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                .multiGet(tags.stream().map(tag -> GENERATIONS + tag).toList());
+            return values == null ? null : new Generations(tags, values);
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Could not read cache generations: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Keys of the live pages that showed the recipe or that any of its versions passes. */
+    public Set<String> pagesAffectedBy(String recipeId, Collection<Facets> versions) {
+        List<String> tags = new ArrayList<>();
+        tags.add(tag("recipe", recipeId));
+        for (Facets version : versions) {
+            tags.add(tag("cuisine", version.cuisine()));
+            tags.add(tag("difficulty", version.difficulty()));
+            if (version.tags() != null) {
+                version.tags().forEach(t -> tags.add(tag("tag", t)));
+            }
+        }
+        tags.addAll(List.of(tag("cuisine", ANY), tag("difficulty", ANY), tag("tag", ANY)));
+        Map<String, Set<String>> members = members(tags);
+
+        Set<String> affected = new HashSet<>(members.get(tag("recipe", recipeId)));
+        for (Facets version : versions) {
+            Set<String> passing = union(members, tag("cuisine", version.cuisine()), tag("cuisine", ANY));
+            passing.retainAll(union(members, tag("difficulty", version.difficulty()), tag("difficulty", ANY)));
+            if (version.tags() != null) {
+                Set<String> dietary = union(members, tag("tag", ANY));
+                version.tags().forEach(t -> dietary.addAll(members.get(tag("tag", t))));
+                passing.retainAll(dietary);
+            }
+            affected.addAll(passing);
+        }
+        return affected;
+    }
+
+    static Set<String> tags(RecipeSearchRequest canonical, RecipeSearchResponse response) {
+        Set<String> tags = new LinkedHashSet<>();
+        addFilter(tags, "cuisine", canonical.getCuisines());
+        addFilter(tags, "difficulty", canonical.getDifficulty() == null ? null : List.of(canonical.getDifficulty()));
+        addFilter(tags, "tag", canonical.getDietary());
+        if (response.getRecipes() != null) {
+            response.getRecipes().forEach(recipe -> tags.add(tag("recipe", recipe.getId())));
+        }
+        return tags;
+    }
+
+    private static void addFilter(Set<String> tags, String dimension, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            tags.add(tag(dimension, ANY));
+        } else {
+            values.forEach(value -> tags.add(tag(dimension, value)));
+        }
+    }
+
+    // Values are lower-cased: searches and events may spell them differently, and folding only over-evicts
+    private static String tag(String dimension, String value) {
+        return dimension + ':' + (value == null ? "" : value.toLowerCase(Locale.ROOT));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<String>> members(List<String> tags) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(tags));
+        double now = System.currentTimeMillis();
+        List<Object> results = pipelined(connection ->
+            distinct.forEach(tag -> connection.zRangeByScore(PREFIX + tag, now, Double.MAX_VALUE)));
+
+        Map<String, Set<String>> members = new HashMap<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            Object result = results.get(i);
+            members.put(distinct.get(i), result instanceof Set<?> set ? (Set<String>) set : Set.of());
+        }
+        return members;
+    }
+
+    private static Set<String> union(Map<String, Set<String>> members, String... tags) {
+        Set<String> union = new HashSet<>();
+        for (String tag : tags) {
+            union.addAll(members.get(tag));
+        }
+        return union;
+    }
+
+    private List<Object> pipelined(Consumer<StringRedisConnection> commands) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            commands.accept((StringRedisConnection) connection);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.recipeadjuster.recipe.cache;
+
+import com.recipeadjuster.recipe.dto.RecipeSearchRequest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Canonical form and cache key of a {@link RecipeSearchRequest}, so requests
+ * that run the same query share one {@code recipeSearch} entry.
+ * <p>
+ * Only differences the query ignores are folded: the text query's case and
+ * spacing ({@code $text} is case-insensitive), the difficulty's case, and
+ * the order, duplicates and blanks of the list filters, an empty list being
+ * the same as none. Cuisines and dietary tags are matched exactly, so their
+ * values are kept as sent. Page, limit and sort are left out at their
+ * defaults; a cursor carries its own position and sort, so page and sort
+ * are dropped next to it.
+ * <p>
+ * The key is a 128-bit SHA-256 prefix in hex; {@link #raw} is the readable
+ * form it is computed from, for logs only.
+ */
+public final class SearchKey {
+
+    static final int DEFAULT_PAGE = 1;
+    static final int DEFAULT_LIMIT = 20;
+    static final String DEFAULT_SORT = "rating";
+    private static final List<String> SORTS = List.of("rating", "newest", "cookTime");
+
+    private SearchKey() {
+    }
+
+    public static String of(RecipeSearchRequest request) {
+        return hash(raw(canonicalize(request)));
+    }
+
+    public static RecipeSearchRequest canonicalize(RecipeSearchRequest request) {
+        String query = request.getQuery() == null ? null
+            : request.getQuery().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        String difficulty = request.getDifficulty() == null || request.getDifficulty().isBlank() ? null
+            : request.getDifficulty().trim().toUpperCase(Locale.ROOT);
+        String cursor = request.getCursor() == null || request.getCursor().isBlank() ? null
+            : request.getCursor().trim();
+        return RecipeSearchRequest.builder()
+            .query(query == null || query.isEmpty() ? null : query)
+            .cuisines(canonical(request.getCuisines()))
+            .dietary(canonical(request.getDietary()))
+            .difficulty(difficulty)
+            .maxPrepTime(request.getMaxPrepTime())
+            .maxCookTime(request.getMaxCookTime())
+            .page(request.getPage() == null || cursor != null ? DEFAULT_PAGE : request.getPage())
+            .limit(request.getLimit() == null ? DEFAULT_LIMIT : request.getLimit())
+            .sort(request.getSort() != null && SORTS.contains(request.getSort()) && cursor == null
+                ? request.getSort() : DEFAULT_SORT)
+            .cursor(cursor)
+            .build();
+    }
+
+    /**
+     * {@code name=value} pairs of a canonical request in a fixed order,
+     * values URL-encoded so separators inside them cannot collide.
+     */
+    public static String raw(RecipeSearchRequest canonical) {
+        StringBuilder raw = new StringBuilder(64);
+        append(raw, "q", canonical.getQuery());
+        append(raw, "cuisine", canonical.getCuisines());
+        append(raw, "dietary", canonical.getDietary());
+        append(raw, "difficulty", canonical.getDifficulty());
+        append(raw, "maxPrepTime", canonical.getMaxPrepTime());
+        append(raw, "maxCookTime", canonical.getMaxCookTime());
+        append(raw, "page", canonical.getPage() == DEFAULT_PAGE ? null : canonical.getPage());
+        append(raw, "limit", canonical.getLimit() == DEFAULT_LIMIT ? null : canonical.getLimit());
+        append(raw, "sort", DEFAULT_SORT.equals(canonical.getSort()) ? null : canonical.getSort());
+        append(raw, "cursor", canonical.getCursor());
+        return raw.toString();
+    }
+
+    /** Non-blank values, sorted and deduplicated; {@code null} when none are left. */
+    public static List<String> canonical(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        TreeSet<String> canonical = new TreeSet<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                canonical.add(value);
+            }
+        }
+        return canonical.isEmpty() ? null : List.copyOf(canonical);
+    }
+
+    private static void append(StringBuilder raw, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!raw.isEmpty()) {
+            raw.append('&');
+        }
+        raw.append(name).append('=');
+        if (value instanceof Collection<?> values) {
+            boolean first = true;
+            for (Object element : values) {
+                if (!first) {
+                    raw.append(',');
+                }
+                raw.append(encode(element));
+                first = false;
+            }
+        } else {
+            raw.append(encode(value));
+        }
+    }
+
+    private static String encode(Object value) {
+        return URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static String hash(String raw) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every JRE", e);
+        }
+    }
+}
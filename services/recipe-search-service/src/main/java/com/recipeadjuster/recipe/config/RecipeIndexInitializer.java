@@ -0,0 +1,46 @@
+package com.recipeadjuster.recipe.config;
+
+import com.recipeadjuster.shared.model.entity.Recipe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on {@link Recipe} when the service starts,
+ * since {@code auto-index-creation} is off. Search sorts rely on the compound
+ * indexes ending in {@code _id} to page without sorting in memory.
+ * <p>
+ * Existing indexes are left as they are. One that conflicts with an existing
+ * index, or whose unique constraint the data breaks, is logged and skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Recipe.class);
+        MongoPersistentEntityIndexResolver resolver =
+            new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        int ensured = 0;
+        for (IndexDefinition index : resolver.resolveIndexFor(Recipe.class)) {
+            try {
+                indexOps.ensureIndex(index);
+                ensured++;
+            } catch (DataAccessException e) {
+                log.warn("Could not create recipe index {}: {}", index.getIndexOptions().get("name"), e.getMessage());
+            }
+        }
+        log.info("Ensured {} recipe indexes", ensured);
+    }
+}
@@ -1,34 +1,68 @@
 package com.recipeadjuster.recipe.config;
 
-import org.springframework.cache.CacheManager;
+import com.recipeadjuster.recipe.cache.NearCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public NearCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${recipes.cache.recipe-search.ttl:PT2H}") Duration searchRemoteTtl,
+            @Value("${recipes.cache.popular-recipes.ttl:PT6H}") Duration popularRemoteTtl,
+            @Value("${recipes.cache.local.enabled:true}") boolean localEnabled,
+            @Value("${recipes.cache.local.recipe-search.max-size:2000}") long searchMaxSize,
+            @Value("${recipes.cache.local.recipe-search.ttl:PT1M}") Duration searchTtl,
+            @Value("${recipes.cache.local.popular-recipes.max-size:5000}") long popularMaxSize,
+            @Value("${recipes.cache.local.popular-recipes.ttl:PT5M}") Duration popularTtl) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(Duration.ofMinutes(15))
             .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
             .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redis = RedisCacheManager.builder(connectionFactory)
             .cacheDefaults(config)
-            .withCacheConfiguration("recipeSearch", config.entryTtl(Duration.ofMinutes(15)))
-            .withCacheConfiguration("popularRecipes", config.entryTtl(Duration.ofHours(1)))
+            .withCacheConfiguration("recipeSearch", config.entryTtl(searchRemoteTtl))
+            .withCacheConfiguration("popularRecipes", config.entryTtl(popularRemoteTtl))
             .withCacheConfiguration("embeddings", config.entryTtl(Duration.ofDays(7)))
             .build();
+        redis.afterPropertiesSet();
+
+        Map<String, NearCacheManager.LocalTier> localTiers = new HashMap<>();
+        if (localEnabled) {
+            localTiers.put("recipeSearch", new NearCacheManager.LocalTier(searchMaxSize, searchTtl));
+            localTiers.put("popularRecipes", new NearCacheManager.LocalTier(popularMaxSize, popularTtl));
+        }
+        return new NearCacheManager(redis, localTiers, redisTemplate, meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(
+            RedisConnectionFactory connectionFactory, NearCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(NearCacheManager.CHANNEL));
+        return container;
     }
 }
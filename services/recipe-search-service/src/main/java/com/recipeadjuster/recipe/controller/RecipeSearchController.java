@@ -2,6 +2,9 @@ package com.recipeadjuster.recipe.controller;
 
 import com.recipeadjuster.recipe.dto.RecipeSearchRequest;
 import com.recipeadjuster.recipe.dto.RecipeSearchResponse;
+import com.recipeadjuster.recipe.dto.SimilarRecipesResponse;
+import com.recipeadjuster.recipe.exception.InvalidSearchRequestException;
+import com.recipeadjuster.recipe.service.RecipeNeighbourService;
 import com.recipeadjuster.recipe.service.RecipeSearchService;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -11,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -19,6 +23,7 @@ import java.util.List;
 public class RecipeSearchController {
 
     private final RecipeSearchService recipeSearchService;
+    private final RecipeNeighbourService recipeNeighbourService;
     private final MeterRegistry meterRegistry;
 
     @GetMapping
@@ -31,7 +36,8 @@ public class RecipeSearchController {
             @RequestParam(required = false) Integer maxCookTime,
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "20") Integer limit,
-            @RequestParam(defaultValue = "rating") String sort) {
+            @RequestParam(defaultValue = "rating") String sort,
+            @RequestParam(required = false) String cursor) {
         
         RecipeSearchRequest request = RecipeSearchRequest.builder()
             .query(q)
@@ -43,6 +49,7 @@ public class RecipeSearchController {
             .page(page)
             .limit(Math.min(limit, 100))
             .sort(sort)
+            .cursor(cursor)
             .build();
         
         log.info("Searching recipes with query: {}", q);
@@ -67,4 +74,17 @@ public class RecipeSearchController {
             throw e;
         }
     }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<SimilarRecipesResponse> getSimilarRecipes(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        
+        return ResponseEntity.ok(recipeNeighbourService.getSimilar(id, Math.min(limit, 20)));
+    }
+
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(InvalidSearchRequestException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", String.valueOf(e.getMessage())));
+    }
 }
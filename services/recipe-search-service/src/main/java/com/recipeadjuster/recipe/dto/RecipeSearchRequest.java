@@ -21,4 +21,6 @@ public class RecipeSearchRequest {
     private Integer page = 1;
     private Integer limit = 20;
     private String sort = "rating";
+    // Opaque position from a previous response; replaces page and sort
+    private String cursor;
 }
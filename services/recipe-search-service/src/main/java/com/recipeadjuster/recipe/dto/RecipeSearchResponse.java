@@ -14,6 +14,7 @@ import java.util.List;
 public class RecipeSearchResponse {
     private List<RecipeSummary> recipes;
     private PaginationMetadata pagination;
+    private SearchFacets facets;
     
     @Data
     @Builder
@@ -40,5 +41,28 @@ public class RecipeSearchResponse {
         private Integer limit;
         private Long total;
         private Integer totalPages;
+        // The total is a lower bound: counting stopped at the configured limit
+        private Boolean totalCapped;
+        // Passed back as ?cursor= to fetch the page after this one; null on the last page
+        private String nextCursor;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchFacets {
+        private List<FacetCount> cuisine;
+        private List<FacetCount> difficulty;
+        private List<FacetCount> dietary;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private Long count;
     }
 }
@@ -0,0 +1,26 @@
+package com.recipeadjuster.recipe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarRecipesResponse {
+    private String recipeId;
+    private List<SimilarRecipe> recipes;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SimilarRecipe {
+        private RecipeSearchResponse.RecipeSummary recipe;
+        private Double score;
+    }
+}
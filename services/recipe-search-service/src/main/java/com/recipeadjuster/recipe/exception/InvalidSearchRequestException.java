@@ -0,0 +1,16 @@
+package com.recipeadjuster.recipe.exception;
+
+/**
+ * A search parameter the client sent cannot be used, such as an unknown
+ * difficulty or a malformed cursor. The message is returned to the client.
+ */
+public class InvalidSearchRequestException extends RuntimeException {
+
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidSearchRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
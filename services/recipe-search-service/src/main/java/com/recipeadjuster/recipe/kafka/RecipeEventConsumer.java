@@ -0,0 +1,81 @@
+package com.recipeadjuster.recipe.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipeadjuster.recipe.cache.SearchCacheTags;
+import com.recipeadjuster.recipe.service.RecipeCacheService;
+import com.recipeadjuster.shared.config.KafkaTopics;
+import com.recipeadjuster.shared.model.entity.Recipe;
+import com.recipeadjuster.shared.mongo.BsonReads;
+import com.recipeadjuster.shared.mongo.ProjectedQueryReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evicts the cached recipe and the search pages a change can affect, from the
+ * JSON events recipe-database-service publishes on {@code recipe-events}.
+ * Redis is shared, so one consumer in the service group is enough; neighbour
+ * lists are kept by {@link RecipeNeighbourConsumer}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeEventConsumer {
+
+    private final RecipeCacheService recipeCacheService;
+    private final ProjectedQueryReader projectedQueryReader;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = KafkaTopics.RECIPE_EVENTS, groupId = "${spring.application.name}")
+    public void consumeRecipeEvent(String message) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            String eventType = event.path("eventType").asText();
+            String recipeId = event.path("recipeId").asText(null);
+            if (recipeId == null) {
+                return;
+            }
+            if ("recipe.created".equals(eventType) || "recipe.updated".equals(eventType)
+                    || "recipe.deleted".equals(eventType)) {
+                log.debug("Consumed {} event for recipe {}", eventType, recipeId);
+                recipeCacheService.evictRecipe(recipeId, versions(event, recipeId));
+            }
+        } catch (Exception e) {
+            log.error("Failed to process recipe event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The recipe as stored now, as the event describes it and as it was before
+     * an edit. Tags are not in events, so they come from the stored recipe and
+     * are unknown once it is deleted.
+     */
+    private Set<SearchCacheTags.Facets> versions(JsonNode event, String recipeId) {
+        Query query = new Query(Criteria.where("id").is(recipeId));
+        query.fields().include("cuisine", "difficulty", "tags");
+        List<SearchCacheTags.Facets> stored = projectedQueryReader.find("recipe-event-facets", query, Recipe.class,
+            document -> new SearchCacheTags.Facets(BsonReads.string(document, "cuisine"),
+                BsonReads.string(document, "difficulty"), BsonReads.strings(document, "tags")));
+        List<String> tags = stored.isEmpty() ? null : stored.get(0).tags();
+
+        String cuisine = event.path("cuisine").asText(null);
+        String difficulty = event.path("difficulty").asText(null);
+        Set<SearchCacheTags.Facets> versions = new LinkedHashSet<>(stored);
+        versions.add(new SearchCacheTags.Facets(cuisine, difficulty, tags));
+        if (event.hasNonNull("previousCuisine") || event.hasNonNull("previousDifficulty")) {
+            versions.add(new SearchCacheTags.Facets(
+                event.path("previousCuisine").asText(cuisine),
+                event.path("previousDifficulty").asText(difficulty),
+                tags));
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,48 @@
+package com.recipeadjuster.recipe.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipeadjuster.recipe.service.RecipeNeighbourService;
+import com.recipeadjuster.shared.config.KafkaTopics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@code recipe-events} to this instance's {@link RecipeNeighbourService}
+ * index. Every instance keeps its own index, so each one consumes in its own
+ * group from the latest offset and sees every change; the startup rebuild
+ * covers everything older. Events only name a recipe, which is re-read from
+ * Mongo, so every instance writes the same lists and replays are harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeNeighbourConsumer {
+
+    private final RecipeNeighbourService neighbourService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+        topics = KafkaTopics.RECIPE_EVENTS,
+        groupId = "${recipes.neighbours.group-id}",
+        properties = "auto.offset.reset=latest")
+    public void consumeRecipeEvent(String message) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            String eventType = event.path("eventType").asText();
+            String recipeId = event.path("recipeId").asText(null);
+            if (recipeId == null) {
+                return;
+            }
+            if ("recipe.created".equals(eventType) || "recipe.updated".equals(eventType)) {
+                neighbourService.refresh(recipeId);
+            } else if ("recipe.deleted".equals(eventType)) {
+                neighbourService.remove(recipeId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply recipe event to neighbours: {}", e.getMessage());
+        }
+    }
+}
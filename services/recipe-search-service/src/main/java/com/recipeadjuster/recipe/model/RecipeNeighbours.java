@@ -0,0 +1,36 @@
+package com.recipeadjuster.recipe.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Precomputed "more like this" list of one recipe, keyed by its id. Parallel
+ * arrays under short field names keep each document a few hundred bytes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "recipe_neighbours")
+public class RecipeNeighbours {
+
+    @Id
+    private String id;
+
+    @Field("n")
+    private List<String> neighbourIds;
+
+    @Field("s")
+    private List<Float> scores;
+
+    @Field("t")
+    private Instant updatedAt;
+}
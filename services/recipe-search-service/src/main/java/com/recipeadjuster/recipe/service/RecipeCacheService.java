@@ -1,23 +1,70 @@
 package com.recipeadjuster.recipe.service;
 
+import com.recipeadjuster.recipe.cache.SearchCacheTags;
 import com.recipeadjuster.shared.model.entity.Recipe;
 import com.recipeadjuster.shared.repository.RecipeRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RecipeCacheService {
 
     private final RecipeRepository recipeRepository;
+    private final CacheManager cacheManager;
+    private final SearchCacheTags searchCacheTags;
+    private final Counter evictedPages;
+
+    public RecipeCacheService(RecipeRepository recipeRepository, CacheManager cacheManager,
+                              SearchCacheTags searchCacheTags, MeterRegistry meterRegistry) {
+        this.recipeRepository = recipeRepository;
+        this.cacheManager = cacheManager;
+        this.searchCacheTags = searchCacheTags;
+        this.evictedPages = Counter.builder("recipe.cache.tag.evictions")
+            .description("Cached search pages evicted by recipe events")
+            .register(meterRegistry);
+    }
 
-    @Cacheable(value = "popularRecipes", key = "#id")
+    // Filled by hand rather than @Cacheable so a fill that raced an eviction is dropped; see SearchCacheTags.fill
     public Recipe getRecipeById(String id) {
+        Cache recipes = cache("popularRecipes");
+        Recipe cached = recipes.get(id, Recipe.class);
+        if (cached != null) {
+            return cached;
+        }
         log.debug("Cache miss for recipe ID: {}", id);
-        return recipeRepository.findById(id)
+        SearchCacheTags.Generations generations = searchCacheTags.generations(id);
+        Recipe recipe = recipeRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Recipe not found: " + id));
+        searchCacheTags.fill(recipes, id, recipe, generations);
+        return recipe;
+    }
+
+    /**
+     * Drops what is cached about a created, edited or deleted recipe: its own
+     * entry, and every search page that showed it or that one of its versions
+     * passes (see {@link SearchCacheTags}). Generations advance first, so
+     * fills already reading the old data are not kept either.
+     */
+    public void evictRecipe(String id, Collection<SearchCacheTags.Facets> versions) {
+        searchCacheTags.advance(id, versions);
+        cache("popularRecipes").evict(id);
+
+        Cache searches = cache("recipeSearch");
+        Set<String> keys = searchCacheTags.pagesAffectedBy(id, versions);
+        keys.forEach(searches::evict);
+        evictedPages.increment(keys.size());
+        log.debug("Evicted recipe {} and {} search pages", id, keys.size());
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
     }
 }
@@ -0,0 +1,235 @@
+package com.recipeadjuster.recipe.service;
+
+import com.recipeadjuster.recipe.dto.SimilarRecipesResponse;
+import com.recipeadjuster.recipe.model.RecipeNeighbours;
+import com.recipeadjuster.recipe.similarity.MinHash;
+import com.recipeadjuster.recipe.similarity.NeighbourIndex;
+import com.recipeadjuster.recipe.view.RecipeFeaturesView;
+import com.recipeadjuster.recipe.view.RecipeSummaryView;
+import com.recipeadjuster.shared.model.entity.Recipe;
+import com.recipeadjuster.shared.mongo.ProjectedQueryReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code recipe_neighbours} table: a full rebuild on startup
+ * and on a schedule, and incremental updates for single recipes as they are
+ * created, edited, unapproved or deleted. Reads are a primary-key lookup plus
+ * one projected fetch of the neighbours' summaries, which skips neighbours
+ * no longer approved.
+ * <p>
+ * Every instance keeps an index fed every change, so all of them compute the
+ * same lists. A rebuild writes only the lists that differ from the index it
+ * replaces, and deletes only rows whose recipe is gone or unapproved when it
+ * checks, never rows another instance has just written for a new recipe.
+ */
+@Slf4j
+@Service
+public class RecipeNeighbourService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ProjectedQueryReader projectedQueryReader;
+    private final int numHashes;
+    private final int rows;
+    private final int limit;
+    private final double jaccardWeight;
+    private final Counter updatedLists;
+
+    // Guards index and the neighbour writes derived from it.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private NeighbourIndex index;
+
+    public RecipeNeighbourService(
+            MongoTemplate mongoTemplate,
+            ProjectedQueryReader projectedQueryReader,
+            MeterRegistry meterRegistry,
+            @Value("${recipes.neighbours.num-hashes:128}") int numHashes,
+            @Value("${recipes.neighbours.band-rows:2}") int rows,
+            @Value("${recipes.neighbours.limit:20}") int limit,
+            @Value("${recipes.neighbours.jaccard-weight:0.5}") double jaccardWeight) {
+        this.mongoTemplate = mongoTemplate;
+        this.projectedQueryReader = projectedQueryReader;
+        this.numHashes = numHashes;
+        this.rows = rows;
+        this.limit = limit;
+        this.jaccardWeight = jaccardWeight;
+        this.index = newIndex();
+        this.updatedLists = Counter.builder("recipe.neighbours.updated")
+            .description("Neighbour lists rewritten by incremental updates")
+            .register(meterRegistry);
+    }
+
+    public SimilarRecipesResponse getSimilar(String recipeId, int maxResults) {
+        RecipeNeighbours stored = mongoTemplate.findById(recipeId, RecipeNeighbours.class);
+        if (stored == null || stored.getNeighbourIds() == null) {
+            return SimilarRecipesResponse.builder().recipeId(recipeId).recipes(List.of()).build();
+        }
+        int count = Math.min(maxResults, stored.getNeighbourIds().size());
+        List<String> ids = stored.getNeighbourIds().subList(0, count);
+
+        Query query = new Query(Criteria.where("id").in(ids).and("isApproved").is(true));
+        query.fields().include(RecipeSummaryView.FIELDS);
+        Map<String, RecipeSummaryView> summaries = projectedQueryReader
+            .find("recipe-similar", query, Recipe.class, RecipeSummaryView::from).stream()
+            .collect(Collectors.toMap(RecipeSummaryView::getId, Function.identity()));
+
+        List<SimilarRecipesResponse.SimilarRecipe> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RecipeSummaryView summary = summaries.get(ids.get(i));
+            if (summary != null) {
+                recipes.add(SimilarRecipesResponse.SimilarRecipe.builder()
+                    .recipe(summary.toSummary())
+                    .score((double) stored.getScores().get(i))
+                    .build());
+            }
+        }
+        return SimilarRecipesResponse.builder().recipeId(recipeId).recipes(recipes).build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${recipes.neighbours.refresh-interval-ms:3600000}",
+        fixedDelayString = "${recipes.neighbours.refresh-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            Query query = new Query(Criteria.where("isApproved").is(true));
+            query.fields().include(RecipeFeaturesView.FIELDS);
+            List<NeighbourIndex.Features> recipes = projectedQueryReader
+                .find("recipe-neighbours", query, Recipe.class, RecipeFeaturesView::from);
+
+            NeighbourIndex rebuilt = newIndex();
+            rebuilt.addAll(recipes);
+            NeighbourIndex previous = index;
+            Set<String> known = new HashSet<>(previous.ids());
+            List<String> changed = rebuilt.ids().stream()
+                .filter(id -> !known.contains(id) || !rebuilt.neighbours(id).equals(previous.neighbours(id)))
+                .toList();
+            save(rebuilt, changed);
+            int removed = removeStale(rebuilt.ids());
+            index = rebuilt;
+            log.info("Rebuilt recipe neighbours for {} recipes in {} ms: {} lists written, {} removed",
+                rebuilt.size(), System.currentTimeMillis() - start, changed.size(), removed);
+        } catch (Exception e) {
+            log.error("Failed to rebuild recipe neighbours", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads one recipe and rewrites the neighbour lists its change affects;
+     * a recipe no longer approved or no longer stored is removed.
+     */
+    public void refresh(String recipeId) {
+        writeLock.lock();
+        try {
+            Query query = new Query(Criteria.where("id").is(recipeId).and("isApproved").is(true));
+            query.fields().include(RecipeFeaturesView.FIELDS);
+            List<NeighbourIndex.Features> found = projectedQueryReader
+                .find("recipe-neighbours", query, Recipe.class, RecipeFeaturesView::from);
+            if (found.isEmpty()) {
+                log.debug("Recipe {} is not approved or no longer exists, removing its neighbours", recipeId);
+                remove(recipeId);
+                return;
+            }
+
+            Set<String> changed = index.upsert(found.get(0));
+            save(index, changed);
+            updatedLists.increment(changed.size());
+            log.debug("Refreshed neighbours of recipe {}: {} lists changed", recipeId, changed.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drops a deleted or unapproved recipe: its own row, and it from every
+     * list that contained it.
+     */
+    public void remove(String recipeId) {
+        writeLock.lock();
+        try {
+            Set<String> changed = index.remove(recipeId);
+            save(index, changed);
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(recipeId)), RecipeNeighbours.class);
+            updatedLists.increment(changed.size());
+            log.debug("Removed recipe {} from neighbours: {} lists changed", recipeId, changed.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the stored rows outside {@code current} whose recipe is, when
+     * re-read, missing or unapproved; a recipe approved since the rebuild read
+     * keeps the row its event wrote.
+     */
+    private int removeStale(List<String> current) {
+        Query stored = new Query(Criteria.where("_id").nin(current));
+        stored.fields().include("_id");
+        List<String> candidates = mongoTemplate.find(stored, RecipeNeighbours.class).stream()
+            .map(RecipeNeighbours::getId)
+            .toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Query approved = new Query(Criteria.where("id").in(candidates).and("isApproved").is(true));
+        approved.fields().include("_id");
+        Set<String> live = mongoTemplate.find(approved, Recipe.class).stream()
+            .map(Recipe::getId)
+            .collect(Collectors.toSet());
+        List<String> stale = candidates.stream().filter(id -> !live.contains(id)).toList();
+        if (!stale.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(stale)), RecipeNeighbours.class);
+        }
+        return stale.size();
+    }
+
+    private void save(NeighbourIndex source, Collection<String> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecipeNeighbours.class);
+        for (String recipeId : recipeIds) {
+            List<NeighbourIndex.Neighbour> neighbours = source.neighbours(recipeId);
+            List<String> ids = new ArrayList<>(neighbours.size());
+            List<Float> scores = new ArrayList<>(neighbours.size());
+            for (NeighbourIndex.Neighbour neighbour : neighbours) {
+                ids.add(neighbour.id());
+                scores.add(neighbour.score());
+            }
+            bulk.upsert(
+                new Query(Criteria.where("_id").is(recipeId)),
+                new Update().set("neighbourIds", ids).set("scores", scores).set("updatedAt", now));
+        }
+        bulk.execute();
+    }
+
+    private NeighbourIndex newIndex() {
+        return new NeighbourIndex(new MinHash(numHashes), rows, limit, jaccardWeight);
+    }
+}
@@ -1,13 +1,19 @@
 package com.recipeadjuster.recipe.service;
 
+import com.recipeadjuster.recipe.cache.SearchCacheTags;
+import com.recipeadjuster.recipe.cache.SearchKey;
 import com.recipeadjuster.recipe.dto.RecipeSearchRequest;
 import com.recipeadjuster.recipe.dto.RecipeSearchResponse;
+import com.recipeadjuster.recipe.exception.InvalidSearchRequestException;
+import com.recipeadjuster.recipe.view.FacetedSearchView;
+import com.recipeadjuster.recipe.view.RecipeSummaryView;
 import com.recipeadjuster.shared.model.entity.Recipe;
-import lombok.RequiredArgsConstructor;
+import com.recipeadjuster.shared.mongo.ProjectedQueryReader;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -17,59 +23,170 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Recipe search over approved recipes: a count followed by a paged find,
+ * which walks the sort index. With {@code recipes.search.facets.enabled} one
+ * {@code $facet} aggregation returns the page, the total and the facet
+ * counts instead; its page is sorted in memory over all matches.
+ * <p>
+ * Both return a {@link SearchCursor} for the next page. A request with a
+ * cursor is a keyset read on the sort index with no count, so deep pages
+ * cost the same as the first.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RecipeSearchService {
 
     private final MongoTemplate mongoTemplate;
+    private final ProjectedQueryReader projectedQueryReader;
+    private final SearchCacheTags searchCacheTags;
+    private final CacheManager cacheManager;
+    private final boolean facetsEnabled;
+    private final int countLimit;
+    private final int facetSize;
 
-    @Cacheable(value = "recipeSearch", key = "#request.toString()")
+    public RecipeSearchService(
+            MongoTemplate mongoTemplate,
+            ProjectedQueryReader projectedQueryReader,
+            SearchCacheTags searchCacheTags,
+            CacheManager cacheManager,
+            @Value("${recipes.search.facets.enabled:false}") boolean facetsEnabled,
+            @Value("${recipes.search.facets.count-limit:10000}") int countLimit,
+            @Value("${recipes.search.facets.size:20}") int facetSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.projectedQueryReader = projectedQueryReader;
+        this.searchCacheTags = searchCacheTags;
+        this.cacheManager = cacheManager;
+        this.facetsEnabled = facetsEnabled;
+        this.countLimit = countLimit;
+        this.facetSize = facetSize;
+    }
+
+    /**
+     * Cached in {@code recipeSearch} under the canonical request's key (see
+     * {@link SearchKey}); the filters run as sent, paging with its defaults
+     * resolved. Filled by hand rather than with {@code @Cacheable} so a page
+     * that raced a recipe change is not kept; see {@link SearchCacheTags#fill}.
+     */
     public RecipeSearchResponse searchRecipes(RecipeSearchRequest request) {
+        String key = SearchKey.of(request);
+        Cache searches = cacheManager.getCache("recipeSearch");
+        RecipeSearchResponse cached = searches.get(key, RecipeSearchResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        
+        RecipeSearchRequest canonical = SearchKey.canonicalize(request);
+        log.debug("Recipe search cache miss: {}", SearchKey.raw(canonical));
+        SearchCacheTags.Generations generations = searchCacheTags.generations(canonical);
         Query query = buildQuery(request);
         
-        long total = mongoTemplate.count(query, Recipe.class);
+        RecipeSearchResponse response;
+        if (canonical.getCursor() != null) {
+            response = searchAfter(canonical, query, SearchCursor.decode(canonical.getCursor()));
+        } else {
+            response = facetsEnabled ? searchFaceted(canonical, query) : searchPaged(canonical, query);
+        }
         
-        query.with(PageRequest.of(
-            request.getPage() - 1,
-            request.getLimit(),
-            getSort(request.getSort())
-        ));
+        // Tagged before it is stored so recipe events can evict it; see RecipeCacheService.evictRecipe
+        searchCacheTags.register(key, canonical, response);
+        searchCacheTags.fill(searches, key, response, generations);
+        return response;
+    }
+
+    private RecipeSearchResponse searchFaceted(RecipeSearchRequest request, Query query) {
+        FacetedSearchView view = FacetedSearchView.from(
+            projectedQueryReader.facet("recipe-search", page(query, request), Recipe.class,
+                FacetedSearchView.branches(countLimit, facetSize)),
+            countLimit);
         
-        List<Recipe> recipes = mongoTemplate.find(query, Recipe.class);
+        return RecipeSearchResponse.builder()
+            .recipes(summaries(view.getResults()))
+            .pagination(pagination(request, view.getResults(), view.getTotal(), view.isTotalCapped()))
+            .facets(view.getFacets())
+            .build();
+    }
+
+    private RecipeSearchResponse searchPaged(RecipeSearchRequest request, Query query) {
+        long total = mongoTemplate.count(query, Recipe.class);
         
-        List<RecipeSearchResponse.RecipeSummary> summaries = recipes.stream()
-            .map(this::toSummary)
-            .collect(Collectors.toList());
+        List<RecipeSummaryView> results = projectedQueryReader
+            .find("recipe-search", page(query, request), Recipe.class, RecipeSummaryView::from);
         
-        int totalPages = (int) Math.ceil((double) total / request.getLimit());
+        return RecipeSearchResponse.builder()
+            .recipes(summaries(results))
+            .pagination(pagination(request, results, total, false))
+            .build();
+    }
+
+    private RecipeSearchResponse searchAfter(RecipeSearchRequest request, Query query, SearchCursor cursor) {
+        query.addCriteria(cursor.criteria());
+        query.with(SearchCursor.sort(cursor.sort())).limit(request.getLimit() + 1);
+        query.fields().include(RecipeSummaryView.FIELDS);
+        
+        List<RecipeSummaryView> results = projectedQueryReader
+            .find("recipe-search-after", query, Recipe.class, RecipeSummaryView::from);
+        boolean more = results.size() > request.getLimit();
+        if (more) {
+            results = results.subList(0, request.getLimit());
+        }
         
         return RecipeSearchResponse.builder()
-            .recipes(summaries)
+            .recipes(summaries(results))
             .pagination(RecipeSearchResponse.PaginationMetadata.builder()
-                .page(request.getPage())
                 .limit(request.getLimit())
-                .total(total)
-                .totalPages(totalPages)
+                .nextCursor(more ? nextCursor(cursor.sort(), results) : null)
                 .build())
             .build();
     }
 
+    private Query page(Query query, RecipeSearchRequest request) {
+        query.with(PageRequest.of(
+            request.getPage() - 1,
+            request.getLimit(),
+            SearchCursor.sort(request.getSort())
+        ));
+        query.fields().include(RecipeSummaryView.FIELDS);
+        return query;
+    }
+
+    private RecipeSearchResponse.PaginationMetadata pagination(RecipeSearchRequest request, List<RecipeSummaryView> results,
+                                                               long total, boolean capped) {
+        boolean more = capped || (long) request.getPage() * request.getLimit() < total;
+        return RecipeSearchResponse.PaginationMetadata.builder()
+            .page(request.getPage())
+            .limit(request.getLimit())
+            .total(total)
+            .totalPages((int) Math.ceil((double) total / request.getLimit()))
+            .totalCapped(capped)
+            .nextCursor(more ? nextCursor(request.getSort(), results) : null)
+            .build();
+    }
+
+    private static String nextCursor(String sort, List<RecipeSummaryView> results) {
+        return results.isEmpty() ? null : SearchCursor.after(sort, results.get(results.size() - 1)).encode();
+    }
+
+    private static List<RecipeSearchResponse.RecipeSummary> summaries(List<RecipeSummaryView> results) {
+        return results.stream().map(RecipeSummaryView::toSummary).collect(Collectors.toList());
+    }
+
     private Query buildQuery(RecipeSearchRequest request) {
         Query query = new Query();
         
         query.addCriteria(Criteria.where("isApproved").is(true));
         
-        if (request.getQuery() != null && !request.getQuery().isEmpty()) {
+        if (request.getQuery() != null && !request.getQuery().isBlank()) {
             query.addCriteria(TextCriteria.forDefaultLanguage().matching(request.getQuery()));
         }
         
-        if (request.getCuisines() != null && !request.getCuisines().isEmpty()) {
-            query.addCriteria(Criteria.where("cuisine").in(request.getCuisines()));
+        List<String> cuisines = SearchKey.canonical(request.getCuisines());
+        if (cuisines != null) {
+            query.addCriteria(Criteria.where("cuisine").in(cuisines));
         }
         
-        if (request.getDifficulty() != null) {
-            query.addCriteria(Criteria.where("difficulty").is(Recipe.Difficulty.valueOf(request.getDifficulty().toUpperCase())));
+        if (request.getDifficulty() != null && !request.getDifficulty().isBlank()) {
+            query.addCriteria(Criteria.where("difficulty").is(difficulty(request.getDifficulty())));
         }
         
         if (request.getMaxPrepTime() != null) {
@@ -80,32 +197,19 @@ public class RecipeSearchService {
             query.addCriteria(Criteria.where("cookTime").lte(request.getMaxCookTime()));
         }
         
-        if (request.getDietary() != null && !request.getDietary().isEmpty()) {
-            query.addCriteria(Criteria.where("tags").all(request.getDietary()));
+        List<String> dietary = SearchKey.canonical(request.getDietary());
+        if (dietary != null) {
+            query.addCriteria(Criteria.where("tags").all(dietary));
         }
         
         return query;
     }
 
-    private Sort getSort(String sortBy) {
-        return switch (sortBy) {
-            case "newest" -> Sort.by(Sort.Direction.DESC, "createdAt");
-            case "cookTime" -> Sort.by(Sort.Direction.ASC, "cookTime");
-            default -> Sort.by(Sort.Direction.DESC, "ratings.average");
-        };
-    }
-
-    private RecipeSearchResponse.RecipeSummary toSummary(Recipe recipe) {
-        return RecipeSearchResponse.RecipeSummary.builder()
-            .id(recipe.getId())
-            .title(recipe.getTitle())
-            .description(recipe.getDescription())
-            .thumbnail(recipe.getImageUrl())
-            .prepTime(recipe.getPrepTime())
-            .cookTime(recipe.getCookTime())
-            .difficulty(recipe.getDifficulty().name())
-            .rating(recipe.getRatings() != null ? recipe.getRatings().getAverage() : 0.0)
-            .ratingCount(recipe.getRatings() != null ? recipe.getRatings().getCount() : 0)
-            .build();
+    private static Recipe.Difficulty difficulty(String difficulty) {
+        try {
+            return Recipe.Difficulty.valueOf(difficulty.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("Invalid difficulty", e);
+        }
     }
 }
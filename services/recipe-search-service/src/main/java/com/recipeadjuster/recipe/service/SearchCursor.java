@@ -0,0 +1,102 @@
+package com.recipeadjuster.recipe.service;
+
+import com.recipeadjuster.recipe.exception.InvalidSearchRequestException;
+import com.recipeadjuster.recipe.view.RecipeSummaryView;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position in a sorted search: the sort, the sort key of the last
+ * recipe returned and its id. The next page is a range predicate after that
+ * pair on the sort index instead of a skip, so it costs the same at any
+ * depth. Clients see it only as an opaque URL-safe token.
+ * <p>
+ * Every sort breaks ties on {@code _id} in the same direction, so the order
+ * is total and no recipe is skipped or repeated between pages. Recipes
+ * without a sort key sort as null: last when descending, first when
+ * ascending.
+ */
+public record SearchCursor(String sort, Object value, Object id) {
+
+    /** The sort of a search, {@code rating} for unknown names. */
+    static Sort sort(String sort) {
+        Sort.Direction direction = direction(sort);
+        return Sort.by(direction, field(sort)).and(Sort.by(direction, "_id"));
+    }
+
+    static SearchCursor after(String sort, RecipeSummaryView last) {
+        Object value = switch (sort) {
+            case "newest" -> last.getCreatedAt() == null ? null : Date.from(last.getCreatedAt());
+            case "cookTime" -> last.getCookTime();
+            default -> last.getRatingAverage();
+        };
+        return new SearchCursor(sort, value, id(last.getId()));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", -1);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new InvalidSearchRequestException("Invalid cursor");
+            }
+            String sort = parts[0];
+            Object value = parts[1].isEmpty() ? null : switch (sort) {
+                case "newest" -> new Date(Long.parseLong(parts[1]));
+                case "cookTime" -> Integer.parseInt(parts[1]);
+                case "rating" -> Double.parseDouble(parts[1]);
+                default -> throw new InvalidSearchRequestException("Invalid cursor");
+            };
+            return new SearchCursor(sort, value, id(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors included
+            throw new InvalidSearchRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String text = sort + '\n' + (value instanceof Date date ? date.getTime() : value == null ? "" : value) + '\n' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Matches the recipes that sort strictly after this position. */
+    Criteria criteria() {
+        String field = field(sort);
+        if (direction(sort) == Sort.Direction.DESC) {
+            return value == null
+                ? Criteria.where(field).is(null).and("_id").lt(id)
+                : new Criteria().orOperator(
+                    Criteria.where(field).lt(value),
+                    Criteria.where(field).is(value).and("_id").lt(id),
+                    Criteria.where(field).is(null));
+        }
+        return value == null
+            ? new Criteria().orOperator(
+                Criteria.where(field).is(null).and("_id").gt(id),
+                Criteria.where(field).ne(null))
+            : new Criteria().orOperator(
+                Criteria.where(field).gt(value),
+                Criteria.where(field).is(value).and("_id").gt(id));
+    }
+
+    private static String field(String sort) {
+        return switch (sort) {
+            case "newest" -> "createdAt";
+            case "cookTime" -> "cookTime";
+            default -> "ratings.average";
+        };
+    }
+
+    private static Sort.Direction direction(String sort) {
+        return "cookTime".equals(sort) ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
+    // Stored ids are ObjectIds; the range predicate must compare like with like
+    private static Object id(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
@@ -0,0 +1,82 @@
+package com.recipeadjuster.recipe.similarity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures for estimating the Jaccard similarity of string sets.
+ * Each of the {@code k} hash functions is a 64-bit FNV-1a hash of the item
+ * mixed with its own seed; a signature keeps the minimum of each, and the
+ * fraction of equal positions between two signatures estimates
+ * intersection over union with a standard error of about {@code 1 / sqrt(k)}.
+ * Seeds are fixed, so signatures are comparable across instances and restarts.
+ */
+public final class MinHash {
+
+    private final long[] seeds;
+
+    public MinHash(int numHashes) {
+        this(numHashes, 0x5EEDL);
+    }
+
+    public MinHash(int numHashes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.seeds = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int size() {
+        return seeds.length;
+    }
+
+    /**
+     * @return the signature, or {@code null} for an empty set
+     */
+    public int[] signature(Collection<String> items) {
+        if (items.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String item : items) {
+            long base = fnv1a(item);
+            for (int i = 0; i < seeds.length; i++) {
+                int hash = (int) (mix(base ^ seeds[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double jaccard(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static long fnv1a(String item) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
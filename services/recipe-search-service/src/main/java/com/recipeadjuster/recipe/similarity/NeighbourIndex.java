@@ -0,0 +1,277 @@
+package com.recipeadjuster.recipe.similarity;
+
+import java.util.*;
+
+/**
+ * Top-N "more like this" lists for every recipe, kept current as recipes are
+ * added, changed or removed.
+ * <p>
+ * Similarity blends the MinHash estimate of ingredient-set Jaccard with the
+ * cosine of the recipes' embeddings (weighted by {@code jaccardWeight}); when
+ * either recipe has no embedding the Jaccard estimate is used alone.
+ * Candidates come from locality-sensitive hashing over the signatures: each
+ * signature is cut into bands of {@code rows} values and recipes sharing any
+ * band bucket are compared. With 64 bands of 2 rows, pairs with Jaccard 0.2
+ * collide with probability ~0.93 and pairs with no shared ingredient never
+ * do, so a refresh costs the bucket sizes rather than all pairs.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public final class NeighbourIndex {
+
+    public record Features(String id, Collection<String> ingredients, float[] embedding) {
+    }
+
+    public record Neighbour(String id, float score) {
+    }
+
+    private static final Neighbour[] NONE = new Neighbour[0];
+
+    private final MinHash minHash;
+    private final int rows;
+    private final int limit;
+    private final double jaccardWeight;
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final List<int[]> signatures = new ArrayList<>();
+    private final List<float[]> embeddings = new ArrayList<>();
+    private final List<Neighbour[]> neighbours = new ArrayList<>();
+    private final Map<Long, int[]> buckets = new HashMap<>();
+
+    public NeighbourIndex(MinHash minHash, int rows, int limit, double jaccardWeight) {
+        if (rows < 1 || minHash.size() % rows != 0) {
+            throw new IllegalArgumentException(
+                "Signature length " + minHash.size() + " is not a multiple of " + rows + " rows");
+        }
+        this.minHash = minHash;
+        this.rows = rows;
+        this.limit = limit;
+        this.jaccardWeight = jaccardWeight;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public List<String> ids() {
+        return Collections.unmodifiableList(ids);
+    }
+
+    public List<Neighbour> neighbours(String id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal == null ? List.of() : List.of(neighbours.get(ordinal));
+    }
+
+    /**
+     * Indexes every recipe, then computes all lists.
+     */
+    public void addAll(Collection<Features> recipes) {
+        for (Features recipe : recipes) {
+            place(recipe);
+        }
+        for (int ordinal = 0; ordinal < ids.size(); ordinal++) {
+            neighbours.set(ordinal, nearest(ordinal));
+        }
+    }
+
+    /**
+     * Adds or replaces one recipe and recomputes the lists it can affect: its
+     * own, those of its new candidates and those that listed it before.
+     *
+     * @return ids whose neighbour lists changed
+     */
+    public Set<String> upsert(Features recipe) {
+        Integer existing = ordinals.get(recipe.id());
+        Set<Integer> affected = new HashSet<>();
+        if (existing != null) {
+            for (int ordinal = 0; ordinal < ids.size(); ordinal++) {
+                if (lists(ordinal, recipe.id())) {
+                    affected.add(ordinal);
+                }
+            }
+        }
+        int ordinal = place(recipe);
+        affected.add(ordinal);
+        for (int candidate : candidates(ordinal)) {
+            affected.add(candidate);
+        }
+
+        Set<String> changed = new HashSet<>();
+        for (int target : affected) {
+            Neighbour[] updated = nearest(target);
+            if (!Arrays.equals(updated, neighbours.get(target))) {
+                neighbours.set(target, updated);
+                changed.add(ids.get(target));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes one recipe and recomputes the lists that contained it. The last
+     * ordinal moves into the freed one, so ordinals stay dense.
+     *
+     * @return ids whose neighbour lists changed, not including the removed one
+     */
+    public Set<String> remove(String id) {
+        Integer removed = ordinals.get(id);
+        if (removed == null) {
+            return Set.of();
+        }
+        Set<String> affected = new HashSet<>();
+        for (int ordinal = 0; ordinal < ids.size(); ordinal++) {
+            if (ordinal != removed && lists(ordinal, id)) {
+                affected.add(ids.get(ordinal));
+            }
+        }
+
+        unbucket(removed);
+        int last = ids.size() - 1;
+        if (removed != last) {
+            unbucket(last);
+            ids.set(removed, ids.get(last));
+            signatures.set(removed, signatures.get(last));
+            embeddings.set(removed, embeddings.get(last));
+            neighbours.set(removed, neighbours.get(last));
+            ordinals.put(ids.get(removed), removed);
+            bucket(removed);
+        }
+        ids.remove(last);
+        signatures.remove(last);
+        embeddings.remove(last);
+        neighbours.remove(last);
+        ordinals.remove(id);
+
+        for (String target : affected) {
+            int ordinal = ordinals.get(target);
+            neighbours.set(ordinal, nearest(ordinal));
+        }
+        return affected;
+    }
+
+    private int place(Features recipe) {
+        int[] signature = minHash.signature(recipe.ingredients());
+        float[] embedding = normalize(recipe.embedding());
+        Integer existing = ordinals.get(recipe.id());
+        int ordinal;
+        if (existing != null) {
+            ordinal = existing;
+            unbucket(ordinal);
+            signatures.set(ordinal, signature);
+            embeddings.set(ordinal, embedding);
+        } else {
+            ordinal = ids.size();
+            ordinals.put(recipe.id(), ordinal);
+            ids.add(recipe.id());
+            signatures.add(signature);
+            embeddings.add(embedding);
+            neighbours.add(NONE);
+        }
+        bucket(ordinal);
+        return ordinal;
+    }
+
+    private void bucket(int ordinal) {
+        for (long key : bandKeys(signatures.get(ordinal))) {
+            int[] members = buckets.getOrDefault(key, new int[0]);
+            int[] grown = Arrays.copyOf(members, members.length + 1);
+            grown[members.length] = ordinal;
+            buckets.put(key, grown);
+        }
+    }
+
+    private void unbucket(int ordinal) {
+        for (long key : bandKeys(signatures.get(ordinal))) {
+            int[] members = buckets.get(key);
+            if (members == null) {
+                continue;
+            }
+            int[] kept = Arrays.stream(members).filter(member -> member != ordinal).toArray();
+            if (kept.length == 0) {
+                buckets.remove(key);
+            } else {
+                buckets.put(key, kept);
+            }
+        }
+    }
+
+    private Neighbour[] nearest(int ordinal) {
+        int[] candidates = candidates(ordinal);
+        List<Neighbour> scored = new ArrayList<>(candidates.length);
+        for (int candidate : candidates) {
+            scored.add(new Neighbour(ids.get(candidate), score(ordinal, candidate)));
+        }
+        scored.sort(Comparator.comparing(Neighbour::score).reversed().thenComparing(Neighbour::id));
+        return scored.subList(0, Math.min(limit, scored.size())).toArray(NONE);
+    }
+
+    private int[] candidates(int ordinal) {
+        BitSet seen = new BitSet(ids.size());
+        seen.set(ordinal);
+        for (long key : bandKeys(signatures.get(ordinal))) {
+            for (int member : buckets.getOrDefault(key, new int[0])) {
+                seen.set(member);
+            }
+        }
+        seen.clear(ordinal);
+        return seen.stream().toArray();
+    }
+
+    private float score(int a, int b) {
+        double jaccard = MinHash.jaccard(signatures.get(a), signatures.get(b));
+        float[] left = embeddings.get(a);
+        float[] right = embeddings.get(b);
+        if (left == null || right == null || left.length != right.length) {
+            return (float) jaccard;
+        }
+        double cosine = 0;
+        for (int i = 0; i < left.length; i++) {
+            cosine += left[i] * right[i];
+        }
+        return (float) (jaccardWeight * jaccard + (1 - jaccardWeight) * Math.max(0, cosine));
+    }
+
+    private boolean lists(int ordinal, String id) {
+        for (Neighbour neighbour : neighbours.get(ordinal)) {
+            if (neighbour.id().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long[] bandKeys(int[] signature) {
+        if (signature == null) {
+            return new long[0];
+        }
+        long[] keys = new long[signature.length / rows];
+        for (int band = 0; band < keys.length; band++) {
+            long key = band;
+            for (int r = 0; r < rows; r++) {
+                key = key * 0x9E3779B97F4A7C15L + signature[band * rows + r];
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static float[] normalize(float[] vector) {
+        if (vector == null) {
+            return null;
+        }
+        double sumOfSquares = 0;
+        for (float value : vector) {
+            sumOfSquares += value * value;
+        }
+        if (sumOfSquares == 0) {
+            return null;
+        }
+        float inverse = (float) (1 / Math.sqrt(sumOfSquares));
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * inverse;
+        }
+        return normalized;
+    }
+}
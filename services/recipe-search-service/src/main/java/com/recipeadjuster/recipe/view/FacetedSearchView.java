@@ -0,0 +1,80 @@
+package com.recipeadjuster.recipe.view;
+
+import com.mongodb.client.model.Aggregates;
+import com.recipeadjuster.recipe.dto.RecipeSearchResponse;
+import com.recipeadjuster.shared.mongo.BsonReads;
+import com.recipeadjuster.shared.mongo.ProjectedQueryReader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One search answered by a single {@code $facet}: the page of summaries, the
+ * total and the value counts of cuisine, difficulty and tags over all matches.
+ * <p>
+ * Counting reads at most {@code countLimit} matches. Past that the total is
+ * reported as {@code countLimit} and flagged as capped, and the facet
+ * counts are those of the first {@code countLimit} matches only.
+ */
+@Getter
+@AllArgsConstructor
+public class FacetedSearchView {
+
+    static final String TOTAL = "total";
+    static final String CUISINE = "cuisine";
+    static final String DIFFICULTY = "difficulty";
+    static final String DIETARY = "dietary";
+
+    private final List<RecipeSummaryView> results;
+    private final long total;
+    private final boolean totalCapped;
+    private final RecipeSearchResponse.SearchFacets facets;
+
+    /** The {@code $facet} branches next to the page of results. */
+    public static Map<String, List<Bson>> branches(int countLimit, int facetSize) {
+        return Map.of(
+            TOTAL, List.of(Aggregates.limit(countLimit + 1), Aggregates.count(TOTAL)),
+            CUISINE, List.of(Aggregates.limit(countLimit), Aggregates.sortByCount("$cuisine"), Aggregates.limit(facetSize)),
+            DIFFICULTY, List.of(Aggregates.limit(countLimit), Aggregates.sortByCount("$difficulty"), Aggregates.limit(facetSize)),
+            DIETARY, List.of(Aggregates.limit(countLimit), Aggregates.unwind("$tags"), Aggregates.sortByCount("$tags"),
+                Aggregates.limit(facetSize)));
+    }
+
+    public static FacetedSearchView from(BsonDocument document, int countLimit) {
+        List<RecipeSummaryView> results = BsonReads.documents(document, ProjectedQueryReader.RESULTS).stream()
+            .map(RecipeSummaryView::from)
+            .toList();
+        List<BsonDocument> totals = BsonReads.documents(document, TOTAL);
+        Integer counted = totals.isEmpty() ? null : BsonReads.integer(totals.get(0), TOTAL);
+        long total = counted == null ? 0 : counted;
+        boolean capped = total > countLimit;
+
+        RecipeSearchResponse.SearchFacets facets = RecipeSearchResponse.SearchFacets.builder()
+            .cuisine(counts(document, CUISINE))
+            .difficulty(counts(document, DIFFICULTY))
+            .dietary(counts(document, DIETARY))
+            .build();
+        return new FacetedSearchView(results, capped ? countLimit : total, capped, facets);
+    }
+
+    private static List<RecipeSearchResponse.FacetCount> counts(BsonDocument document, String branch) {
+        List<RecipeSearchResponse.FacetCount> counts = new ArrayList<>();
+        for (BsonDocument bucket : BsonReads.documents(document, branch)) {
+            BsonValue value = bucket.get("_id");
+            Integer count = BsonReads.integer(bucket, "count");
+            if (value != null && value.isString() && count != null) {
+                counts.add(RecipeSearchResponse.FacetCount.builder()
+                    .value(value.asString().getValue())
+                    .count(count.longValue())
+                    .build());
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,33 @@
+package com.recipeadjuster.recipe.view;
+
+import com.recipeadjuster.recipe.similarity.NeighbourIndex;
+import com.recipeadjuster.shared.mongo.BsonReads;
+import org.bson.BsonDocument;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The parts of a {@code recipes} document that recipe similarity reads:
+ * ingredient names and the embedding.
+ */
+public final class RecipeFeaturesView {
+
+    public static final String[] FIELDS = {"ingredients.name", "embedding"};
+
+    private RecipeFeaturesView() {
+    }
+
+    public static NeighbourIndex.Features from(BsonDocument document) {
+        Set<String> ingredients = new LinkedHashSet<>();
+        for (BsonDocument ingredient : BsonReads.documents(document, "ingredients")) {
+            String name = BsonReads.string(ingredient, "name");
+            if (name != null && !name.isBlank()) {
+                ingredients.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return new NeighbourIndex.Features(
+            BsonReads.id(document), ingredients, BsonReads.floats(document, "embedding"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.recipeadjuster.recipe.view;
+
+import com.recipeadjuster.recipe.dto.RecipeSearchResponse;
+import com.recipeadjuster.shared.mongo.BsonReads;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.bson.BsonDocument;
+
+import java.time.Instant;
+
+/**
+ * The fields of a {@code recipes} document shown in a search result, read
+ * with an explicit projection so embeddings, ingredients, instructions and
+ * nutrition are never transferred. {@code createdAt} is read only to
+ * position search cursors.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RecipeSummaryView {
+
+    public static final String[] FIELDS = {
+        "title", "description", "imageUrl", "prepTime", "cookTime", "difficulty", "ratings", "createdAt"
+    };
+
+    private final String id;
+    private final String title;
+    private final String description;
+    private final String imageUrl;
+    private final Integer prepTime;
+    private final Integer cookTime;
+    private final String difficulty;
+    private final Double ratingAverage;
+    private final Integer ratingCount;
+    private final Instant createdAt;
+
+    public static RecipeSummaryView from(BsonDocument document) {
+        BsonDocument ratings = BsonReads.document(document, "ratings");
+        return RecipeSummaryView.builder()
+            .id(BsonReads.id(document))
+            .title(BsonReads.string(document, "title"))
+            .description(BsonReads.string(document, "description"))
+            .imageUrl(BsonReads.string(document, "imageUrl"))
+            .prepTime(BsonReads.integer(document, "prepTime"))
+            .cookTime(BsonReads.integer(document, "cookTime"))
+            .difficulty(BsonReads.string(document, "difficulty"))
+            .ratingAverage(ratings == null ? null : BsonReads.decimal(ratings, "average"))
+            .ratingCount(ratings == null ? null : BsonReads.integer(ratings, "count"))
+            .createdAt(BsonReads.instant(document, "createdAt"))
+            .build();
+    }
+
+    public RecipeSearchResponse.RecipeSummary toSummary() {
+        return RecipeSearchResponse.RecipeSummary.builder()
+            .id(id)
+            .title(title)
+            .description(description)
+            .thumbnail(imageUrl)
+            .prepTime(prepTime)
+            .cookTime(cookTime)
+            .difficulty(difficulty)
+            .rating(ratingAverage != null ? ratingAverage : 0.0)
+            .ratingCount(ratingCount != null ? ratingCount : 0)
+            .build();
+    }
+}
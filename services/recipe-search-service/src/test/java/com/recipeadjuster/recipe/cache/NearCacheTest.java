@@ -0,0 +1,120 @@
+package com.recipeadjuster.recipe.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private ConcurrentMapCache remote;
+    private List<String> published;
+    private NearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        remote = new ConcurrentMapCache("recipeSearch");
+        published = new ArrayList<>();
+        cache = new NearCache("recipeSearch", Caffeine.newBuilder().maximumSize(100).build(), remote,
+            (name, key) -> published.add(name + ":" + key), registry);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromTheLocalTier() {
+        remote.put("q", "page-1");
+
+        assertThat(cache.get("q", String.class)).isEqualTo("page-1");
+        remote.put("q", "changed behind the cache");
+        assertThat(cache.get("q", String.class)).isEqualTo("page-1");
+
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l1", "miss")).isEqualTo(1);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWriteThroughAndAnnounceChanges() {
+        cache.put("q", "page-1");
+        cache.put("q", "page-2");
+        assertThat(remote.get("q", String.class)).isEqualTo("page-2");
+        cache.evict("other");
+        cache.clear();
+
+        assertThat(published).containsExactly(
+            "recipeSearch:q", "recipeSearch:q", "recipeSearch:other", "recipeSearch:null");
+        assertThat(remote.get("q")).isNull();
+    }
+
+    @Test
+    void shouldNotAnnounceReadThroughFills() {
+        assertThat(cache.get("q", () -> "page-1")).isEqualTo("page-1");
+        assertThat(cache.get("q", () -> "page-2")).isEqualTo("page-1");
+
+        assertThat(remote.get("q", String.class)).isEqualTo("page-1");
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void shouldKeepAValueAPeerFilledFirst() {
+        remote.put("q", "peer page");
+
+        assertThat(cache.putIfAbsent("q", "our page").get()).isEqualTo("peer page");
+
+        assertThat(cache.get("q", String.class)).isEqualTo("peer page");
+        assertThat(remote.get("q", String.class)).isEqualTo("peer page");
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void shouldCacheNullValues() {
+        cache.put("empty", null);
+
+        Cache.ValueWrapper cached = cache.get("empty");
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.get()).isNull();
+    }
+
+    @Test
+    void shouldDropLocalCopiesOnPeerInvalidation() {
+        ConcurrentMapCacheManager remoteManager = new ConcurrentMapCacheManager();
+        NearCacheManager manager = new NearCacheManager(remoteManager,
+            Map.of("recipeSearch", new NearCacheManager.LocalTier(100, Duration.ofMinutes(1))), null, registry);
+        Cache near = manager.getCache("recipeSearch");
+        Cache backing = remoteManager.getCache("recipeSearch");
+        backing.put("q", "old");
+        assertThat(near.get("q", String.class)).isEqualTo("old");
+
+        backing.put("q", "new");
+        manager.onMessage(message("peer\nrecipeSearch\nq"), null);
+        assertThat(near.get("q", String.class)).isEqualTo("new");
+
+        backing.put("q", "newer");
+        manager.onMessage(message("peer\nrecipeSearch"), null);
+        assertThat(near.get("q", String.class)).isEqualTo("newer");
+        assertThat(manager.getCache("embeddings")).isNotInstanceOf(NearCache.class);
+    }
+
+    private double count(String level, String result) {
+        return registry.get("recipe.cache.requests").tag("level", level).tag("result", result).counter().count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(NearCacheManager.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package com.recipeadjuster.recipe.cache;
+
+import com.recipeadjuster.recipe.dto.RecipeSearchRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchKeyTest {
+
+    @Test
+    void shouldIgnoreOrderAndDuplicatesOfListValues() {
+        RecipeSearchRequest a = request().cuisines(List.of("Italian", "French")).dietary(List.of("vegan", "vegan")).build();
+        RecipeSearchRequest b = request().cuisines(List.of("French", "Italian", " ")).dietary(List.of("vegan")).build();
+
+        assertThat(SearchKey.of(a)).isEqualTo(SearchKey.of(b));
+        assertThat(SearchKey.canonicalize(a).getCuisines()).containsExactly("French", "Italian");
+        assertThat(SearchKey.canonicalize(a).getDietary()).containsExactly("vegan");
+    }
+
+    @Test
+    void shouldKeepTheCaseOfExactMatchValues() {
+        RecipeSearchRequest bbq = request().cuisines(List.of("BBQ")).dietary(List.of("Vegan")).build();
+
+        assertThat(SearchKey.canonicalize(bbq).getCuisines()).containsExactly("BBQ");
+        assertThat(SearchKey.canonicalize(bbq).getDietary()).containsExactly("Vegan");
+        assertThat(SearchKey.of(bbq)).isNotEqualTo(SearchKey.of(request().cuisines(List.of("Bbq")).dietary(List.of("Vegan")).build()))
+            .isNotEqualTo(SearchKey.of(request().cuisines(List.of("BBQ")).dietary(List.of("vegan")).build()));
+    }
+
+    @Test
+    void shouldTreatEmptyBlankAndMissingValuesAlike() {
+        RecipeSearchRequest missing = RecipeSearchRequest.builder().build();
+        RecipeSearchRequest empty = RecipeSearchRequest.builder()
+            .query("  ").cuisines(List.of()).dietary(Arrays.asList("", null)).difficulty("").build();
+
+        assertThat(SearchKey.of(missing)).isEqualTo(SearchKey.of(empty));
+    }
+
+    @Test
+    void shouldDropDefaultsFromTheKey() {
+        RecipeSearchRequest implicit = RecipeSearchRequest.builder().query("chicken").build();
+        RecipeSearchRequest explicit = request().query("Chicken ").page(1).limit(20).sort("rating").build();
+        RecipeSearchRequest unknownSort = request().query("chicken").sort("popularity").build();
+
+        assertThat(SearchKey.of(implicit)).isEqualTo(SearchKey.of(explicit)).isEqualTo(SearchKey.of(unknownSort));
+        assertThat(SearchKey.raw(SearchKey.canonicalize(explicit))).isEqualTo("q=chicken");
+    }
+
+    @Test
+    void shouldKeepDistinctSearchesApart() {
+        String base = SearchKey.of(request().cuisines(List.of("Italian")).build());
+
+        assertThat(SearchKey.of(request().cuisines(List.of("Italian")).page(2).build())).isNotEqualTo(base);
+        assertThat(SearchKey.of(request().dietary(List.of("italian")).build())).isNotEqualTo(base);
+        assertThat(SearchKey.of(request().cuisines(List.of("a,b")).build()))
+            .isNotEqualTo(SearchKey.of(request().cuisines(List.of("a", "b")).build()));
+    }
+
+    @Test
+    void shouldKeyCursorRequestsByCursorAlone() {
+        RecipeSearchRequest next = request().query("chicken").cursor("abc").build();
+        RecipeSearchRequest withPage = request().query("chicken").cursor(" abc ").page(7).sort("newest").build();
+
+        assertThat(SearchKey.of(next)).isEqualTo(SearchKey.of(withPage))
+            .isNotEqualTo(SearchKey.of(request().query("chicken").build()));
+        assertThat(SearchKey.raw(SearchKey.canonicalize(withPage))).isEqualTo("q=chicken&cursor=abc");
+    }
+
+    @Test
+    void shouldProduceFixedLengthHexKeys() {
+        String key = SearchKey.of(request().query("a very long query ".repeat(50)).build());
+
+        assertThat(key).hasSize(32).matches("[0-9a-f]+");
+    }
+
+    private static RecipeSearchRequest.RecipeSearchRequestBuilder request() {
+        return RecipeSearchRequest.builder();
+    }
+}
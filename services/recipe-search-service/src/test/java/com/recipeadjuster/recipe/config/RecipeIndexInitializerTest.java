@@ -0,0 +1,95 @@
+package com.recipeadjuster.recipe.config;
+
+import com.recipeadjuster.shared.model.entity.Recipe;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Testcontainers
+@Import(RecipeIndexInitializer.class)
+class RecipeIndexInitializerTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RecipeIndexInitializer indexInitializer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Recipe.class);
+        List<Document> recipes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            recipes.add(new Document("_id", "r" + i)
+                .append("slug", "recipe-" + i)
+                .append("isApproved", i % 5 != 0)
+                .append("cookTime", i % 7)
+                .append("ratings", new Document("average", (i % 10) / 2.0)));
+        }
+        mongoTemplate.getCollection("recipes").insertMany(recipes);
+        indexInitializer.ensureIndexes();
+    }
+
+    @Test
+    void shouldPageRatingSortsOnTheIdIndexWithoutSorting() {
+        List<Object> stages = winningPlanValues(
+            new Document("isApproved", true), new Document("ratings.average", -1).append("_id", -1), "stage");
+
+        assertThat(stages).doesNotContain("SORT");
+        assertThat(winningPlanValues(new Document("isApproved", true),
+            new Document("ratings.average", -1).append("_id", -1), "indexName")).contains("rating_id_approved_idx");
+        assertThat(winningPlanValues(new Document("isApproved", true),
+            new Document("cookTime", 1).append("_id", 1), "indexName")).contains("cooktime_id_approved_idx");
+    }
+
+    @Test
+    void shouldKeepExistingIndexesOnRestart() {
+        int before = mongoTemplate.indexOps(Recipe.class).getIndexInfo().size();
+
+        indexInitializer.ensureIndexes();
+
+        assertThat(mongoTemplate.indexOps(Recipe.class).getIndexInfo()).hasSize(before);
+    }
+
+    private List<Object> winningPlanValues(Document filter, Document sort, String field) {
+        Document explain = mongoTemplate.getCollection("recipes").find(filter).sort(sort).limit(20).explain();
+        List<Object> values = new ArrayList<>();
+        collect(explain.get("queryPlanner", Document.class).get("winningPlan"), field, values);
+        return values;
+    }
+
+    // Classic and slot-based plans nest stages differently, so walk every subdocument
+    private static void collect(Object node, String field, List<Object> values) {
+        if (node instanceof Document document) {
+            if (document.containsKey(field)) {
+                values.add(document.get(field));
+            }
+            document.values().forEach(value -> collect(value, field, values));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collect(value, field, values));
+        }
+    }
+}
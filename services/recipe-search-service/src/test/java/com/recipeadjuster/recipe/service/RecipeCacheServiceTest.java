@@ -1,15 +1,22 @@
 package com.recipeadjuster.recipe.service;
 
+import com.recipeadjuster.recipe.cache.SearchCacheTags;
+import com.recipeadjuster.recipe.cache.SearchKey;
 import com.recipeadjuster.recipe.config.RedisConfig;
+import com.recipeadjuster.recipe.dto.RecipeSearchRequest;
+import com.recipeadjuster.recipe.dto.RecipeSearchResponse;
 import com.recipeadjuster.shared.model.entity.Recipe;
 import com.recipeadjuster.shared.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -18,6 +25,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,9 +35,12 @@ import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = {
     RecipeCacheService.class,
+    SearchCacheTags.class,
     RedisConfig.class,
     RedisAutoConfiguration.class,
-    CacheAutoConfiguration.class
+    CacheAutoConfiguration.class,
+    MetricsAutoConfiguration.class,
+    SimpleMetricsExportAutoConfiguration.class
 })
 @Testcontainers
 class RecipeCacheServiceTest {
@@ -52,6 +64,9 @@ class RecipeCacheServiceTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private SearchCacheTags searchCacheTags;
+
     @BeforeEach
     void setUp() {
         cacheManager.getCacheNames().forEach(cacheName -> 
@@ -130,6 +145,62 @@ class RecipeCacheServiceTest {
         verify(recipeRepository, times(2)).findById("recipe-3");
     }
 
+    @Test
+    void shouldEvictRecipeAndTheSearchPagesItAffects() {
+        Recipe recipe = createTestRecipe("recipe-4", "Tagged Recipe");
+        when(recipeRepository.findById("recipe-4")).thenReturn(Optional.of(recipe));
+        recipeCacheService.getRecipeById("recipe-4");
+
+        Cache searches = cacheManager.getCache("recipeSearch");
+        String everything = cacheSearch(searches, RecipeSearchRequest.builder().build());
+        String italian = cacheSearch(searches, RecipeSearchRequest.builder().cuisines(List.of("italian")).build());
+        String french = cacheSearch(searches, RecipeSearchRequest.builder().cuisines(List.of("French")).build());
+        String showing = cacheSearch(searches, RecipeSearchRequest.builder().cuisines(List.of("French")).page(2).build(),
+            "recipe-4");
+        String hard = cacheSearch(searches, RecipeSearchRequest.builder().difficulty("hard").build());
+        String vegan = cacheSearch(searches, RecipeSearchRequest.builder().dietary(List.of("vegan")).build());
+
+        recipeCacheService.evictRecipe("recipe-4",
+            List.of(new SearchCacheTags.Facets("Italian", "EASY", List.of("vegetarian"))));
+
+        assertThat(searches.get(everything)).isNull();
+        assertThat(searches.get(italian)).isNull();
+        assertThat(searches.get(showing)).isNull();
+        assertThat(searches.get(french)).isNotNull();
+        assertThat(searches.get(hard)).isNotNull();
+        assertThat(searches.get(vegan)).isNotNull();
+
+        recipeCacheService.getRecipeById("recipe-4");
+        verify(recipeRepository, times(2)).findById("recipe-4");
+    }
+
+    @Test
+    void shouldNotKeepARecipeReadAcrossItsEviction() {
+        Recipe recipe = createTestRecipe("recipe-5", "Racing Recipe");
+        // The recipe changes, and its eviction runs, while the miss is reading it
+        when(recipeRepository.findById("recipe-5")).thenAnswer(invocation -> {
+            recipeCacheService.evictRecipe("recipe-5",
+                List.of(new SearchCacheTags.Facets("Italian", "EASY", null)));
+            return Optional.of(recipe);
+        });
+
+        recipeCacheService.getRecipeById("recipe-5");
+
+        assertThat(cacheManager.getCache("popularRecipes").get("recipe-5")).isNull();
+    }
+
+    private String cacheSearch(Cache searches, RecipeSearchRequest request, String... recipeIds) {
+        RecipeSearchResponse response = RecipeSearchResponse.builder()
+            .recipes(Arrays.stream(recipeIds)
+                .map(id -> RecipeSearchResponse.RecipeSummary.builder().id(id).build())
+                .toList())
+            .build();
+        String key = SearchKey.of(request);
+        searches.put(key, response);
+        searchCacheTags.register(key, SearchKey.canonicalize(request), response);
+        return key;
+    }
+
     private Recipe createTestRecipe(String id, String title) {
         Recipe recipe = new Recipe();
         recipe.setId(id);
@@ -0,0 +1,137 @@
+package com.recipeadjuster.recipe.service;
+
+import com.recipeadjuster.recipe.cache.SearchCacheTags;
+import com.recipeadjuster.recipe.cache.SearchKey;
+import com.recipeadjuster.recipe.dto.RecipeSearchRequest;
+import com.recipeadjuster.recipe.exception.InvalidSearchRequestException;
+import com.recipeadjuster.shared.model.entity.Recipe;
+import com.recipeadjuster.shared.mongo.ProjectedQueryReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecipeSearchServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private ProjectedQueryReader projectedQueryReader;
+    private Map<String, String> redis;
+    private SearchCacheTags searchCacheTags;
+    private Cache searches;
+    private RecipeSearchService searchService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        projectedQueryReader = mock(ProjectedQueryReader.class);
+
+        // Generation counters in a map: INCR in pipelines, MGET to read them
+        redis = new HashMap<>();
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.multiGet(anyCollection())).thenAnswer(invocation ->
+            ((Collection<String>) invocation.getArgument(0)).stream().map(redis::get).toList());
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        when(connection.incr(anyString())).thenAnswer(invocation ->
+            Long.valueOf(redis.merge(invocation.getArgument(0), "1",
+                (current, one) -> String.valueOf(Long.parseLong(current) + 1))));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+
+        searchCacheTags = new SearchCacheTags(redisTemplate, new SimpleMeterRegistry(), Duration.ofHours(2));
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("recipeSearch");
+        searches = cacheManager.getCache("recipeSearch");
+        searchService = new RecipeSearchService(mongoTemplate, projectedQueryReader, searchCacheTags, cacheManager,
+            false, 10000, 20);
+    }
+
+    @Test
+    void shouldFilterOnCuisinesAndTagsAsSent() {
+        searchService.searchRecipes(RecipeSearchRequest.builder()
+            .cuisines(List.of("BBQ", "BBQ", " ")).dietary(List.of("Gluten-Free")).difficulty(" easy").build());
+
+        Document filter = executedQuery().getQueryObject();
+        assertThat(filter.get("cuisine", Document.class).get("$in")).isEqualTo(List.of("BBQ"));
+        assertThat(filter.get("tags", Document.class).get("$all")).isEqualTo(List.of("Gluten-Free"));
+        assertThat(filter.get("difficulty")).isEqualTo(Recipe.Difficulty.EASY);
+    }
+
+    @Test
+    void shouldRejectAnUnknownDifficulty() {
+        assertThatThrownBy(() -> searchService.searchRecipes(RecipeSearchRequest.builder().difficulty("extreme").build()))
+            .isInstanceOf(InvalidSearchRequestException.class)
+            .hasMessage("Invalid difficulty");
+    }
+
+    @Test
+    void shouldServeRepeatedSearchesFromTheCache() {
+        RecipeSearchRequest request = RecipeSearchRequest.builder().cuisines(List.of("Italian")).build();
+
+        searchService.searchRecipes(request);
+        searchService.searchRecipes(request);
+
+        verify(projectedQueryReader, times(1)).find(anyString(), any(Query.class), eq(Recipe.class), any());
+        assertThat(searches.get(SearchKey.of(request))).isNotNull();
+    }
+
+    @Test
+    void shouldDropAPageFilledAcrossAnEvictionThatAffectsIt() {
+        RecipeSearchRequest request = RecipeSearchRequest.builder().cuisines(List.of("Italian")).build();
+        // The recipe changes, and its eviction runs, while the search is reading
+        evictDuringQuery(new SearchCacheTags.Facets("Italian", "EASY", List.of("vegan")));
+
+        assertThat(searchService.searchRecipes(request).getRecipes()).isEmpty();
+
+        assertThat(searches.get(SearchKey.of(request))).isNull();
+    }
+
+    @Test
+    void shouldKeepAPageFilledAcrossAnEvictionThatCannotAffectIt() {
+        RecipeSearchRequest request = RecipeSearchRequest.builder().cuisines(List.of("Italian")).build();
+        evictDuringQuery(new SearchCacheTags.Facets("French", "EASY", null));
+
+        searchService.searchRecipes(request);
+
+        assertThat(searches.get(SearchKey.of(request))).isNotNull();
+    }
+
+    private void evictDuringQuery(SearchCacheTags.Facets version) {
+        when(projectedQueryReader.find(anyString(), any(Query.class), eq(Recipe.class), any())).thenAnswer(invocation -> {
+            searchCacheTags.advance("recipe-1", List.of(version));
+            return List.of();
+        });
+    }
+
+    private Query executedQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(projectedQueryReader).find(anyString(), query.capture(), eq(Recipe.class), any());
+        return query.getValue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.recipeadjuster.recipe.service;
+
+import com.recipeadjuster.recipe.exception.InvalidSearchRequestException;
+import com.recipeadjuster.recipe.view.RecipeSummaryView;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    private final ObjectId id = new ObjectId();
+
+    @Test
+    void shouldRoundTripThroughAnOpaqueToken() {
+        RecipeSummaryView last = RecipeSummaryView.builder()
+            .id(id.toHexString())
+            .createdAt(Instant.ofEpochMilli(1_700_000_000_000L))
+            .build();
+
+        SearchCursor cursor = SearchCursor.after("newest", last);
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(SearchCursor.decode(token)).isEqualTo(cursor);
+        assertThat(cursor.value()).isEqualTo(new Date(1_700_000_000_000L));
+        assertThat(cursor.id()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldRejectMalformedCursors() {
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor")).isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("rating\nhigh\n" + id))).isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("popularity\n3\n" + id))).isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("rating\n4.5"))).isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    void shouldSeekPastTheLastKeyAndIdInSortOrder() {
+        Document descending = new SearchCursor("rating", 4.5, id).criteria().getCriteriaObject();
+        Document ascending = new SearchCursor("cookTime", 30, id).criteria().getCriteriaObject();
+
+        assertThat(descending).isEqualTo(new Document("$or", List.of(
+            new Document("ratings.average", new Document("$lt", 4.5)),
+            new Document("ratings.average", 4.5).append("_id", new Document("$lt", id)),
+            new Document("ratings.average", null))));
+        assertThat(ascending).isEqualTo(new Document("$or", List.of(
+            new Document("cookTime", new Document("$gt", 30)),
+            new Document("cookTime", 30).append("_id", new Document("$gt", id)))));
+    }
+
+    @Test
+    void shouldPlaceMissingKeysAtTheEndOfTheirDirection() {
+        Document descending = new SearchCursor("rating", null, id).criteria().getCriteriaObject();
+        Document ascending = new SearchCursor("cookTime", null, id).criteria().getCriteriaObject();
+
+        assertThat(descending).isEqualTo(new Document("ratings.average", null).append("_id", new Document("$lt", id)));
+        assertThat(ascending).isEqualTo(new Document("$or", List.of(
+            new Document("cookTime", null).append("_id", new Document("$gt", id)),
+            new Document("cookTime", new Document("$ne", null)))));
+    }
+
+    @Test
+    void shouldBreakTiesOnIdInTheSortDirection() {
+        assertThat(SearchCursor.sort("cookTime"))
+            .isEqualTo(Sort.by(Sort.Direction.ASC, "cookTime").and(Sort.by(Sort.Direction.ASC, "_id")));
+        assertThat(SearchCursor.sort("unknown"))
+            .isEqualTo(Sort.by(Sort.Direction.DESC, "ratings.average").and(Sort.by(Sort.Direction.DESC, "_id")));
+    }
+
+    private static String token(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,102 @@
+package com.recipeadjuster.recipe.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class NeighbourIndexTest {
+
+    @Test
+    void shouldEstimateJaccardFromSignatures() {
+        MinHash minHash = new MinHash(256);
+
+        int[] a = minHash.signature(List.of("chicken", "garlic", "rice", "onion"));
+        int[] b = minHash.signature(List.of("chicken", "garlic", "rice", "ginger"));
+
+        assertThat(MinHash.jaccard(a, b)).isCloseTo(3.0 / 5.0, within(0.12));
+        assertThat(minHash.signature(List.of())).isNull();
+    }
+
+    @Test
+    void shouldRankByIngredientOverlapAndSkipDisjointRecipes() {
+        NeighbourIndex index = new NeighbourIndex(new MinHash(128), 2, 2, 0.5);
+        index.addAll(List.of(
+            features("pasta", "spaghetti", "garlic", "olive oil", "parmesan"),
+            features("aglio", "spaghetti", "garlic", "olive oil", "chili"),
+            features("pesto", "spaghetti", "basil", "pine nuts", "parmesan", "garlic"),
+            features("smoothie", "banana", "milk", "honey")
+        ));
+
+        List<NeighbourIndex.Neighbour> similar = index.neighbours("pasta");
+
+        assertThat(similar).extracting(NeighbourIndex.Neighbour::id).containsExactly("aglio", "pesto");
+        assertThat(index.neighbours("smoothie")).isEmpty();
+    }
+
+    @Test
+    void shouldBlendEmbeddingCosineWhenBothRecipesHaveOne() {
+        NeighbourIndex index = new NeighbourIndex(new MinHash(128), 2, 5, 0.5);
+        index.addAll(List.of(
+            new NeighbourIndex.Features("a", List.of("rice", "egg"), new float[] {1, 0}),
+            new NeighbourIndex.Features("b", List.of("rice", "egg"), new float[] {0, 1}),
+            new NeighbourIndex.Features("c", List.of("rice", "egg"), new float[] {1, 0.1f})
+        ));
+
+        assertThat(index.neighbours("a")).extracting(NeighbourIndex.Neighbour::id).containsExactly("c", "b");
+        assertThat(index.neighbours("a").get(1).score()).isCloseTo(0.5f, within(0.001f));
+    }
+
+    @Test
+    void shouldUpdateAffectedListsIncrementally() {
+        NeighbourIndex index = new NeighbourIndex(new MinHash(128), 2, 3, 1.0);
+        index.addAll(List.of(
+            features("curry", "chicken", "curry paste", "coconut milk", "rice"),
+            features("soup", "chicken", "carrot", "celery", "onion")
+        ));
+        assertThat(index.neighbours("curry")).extracting(NeighbourIndex.Neighbour::id).containsExactly("soup");
+
+        Set<String> changed = index.upsert(features("thai", "chicken", "curry paste", "coconut milk", "rice", "basil"));
+
+        assertThat(changed).contains("thai", "curry");
+        assertThat(index.neighbours("curry").get(0).id()).isEqualTo("thai");
+
+        changed = index.upsert(features("soup", "lentils", "carrot", "celery"));
+
+        assertThat(changed).contains("soup", "curry", "thai");
+        assertThat(index.neighbours("curry")).extracting(NeighbourIndex.Neighbour::id).containsExactly("thai");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldDropRemovedRecipesFromEveryList() {
+        NeighbourIndex index = new NeighbourIndex(new MinHash(128), 2, 3, 1.0);
+        index.addAll(List.of(
+            features("curry", "chicken", "curry paste", "coconut milk", "rice"),
+            features("thai", "chicken", "curry paste", "coconut milk", "rice", "basil"),
+            features("soup", "chicken", "carrot", "celery", "onion"),
+            features("stew", "chicken", "carrot", "celery", "potato")
+        ));
+
+        Set<String> changed = index.remove("curry");
+
+        assertThat(changed).contains("thai").doesNotContain("curry");
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.ids()).containsExactlyInAnyOrder("thai", "soup", "stew");
+        assertThat(index.neighbours("curry")).isEmpty();
+        for (String id : index.ids()) {
+            assertThat(index.neighbours(id)).extracting(NeighbourIndex.Neighbour::id).doesNotContain("curry");
+        }
+        // The recipe moved into the freed ordinal is still found through its buckets
+        assertThat(index.neighbours("soup").get(0).id()).isEqualTo("stew");
+        assertThat(index.upsert(features("chowder", "chicken", "carrot", "celery", "corn"))).contains("stew", "soup");
+        assertThat(index.remove("missing")).isEmpty();
+    }
+
+    private static NeighbourIndex.Features features(String id, String... ingredients) {
+        return new NeighbourIndex.Features(id, List.of(ingredients), null);
+    }
+}
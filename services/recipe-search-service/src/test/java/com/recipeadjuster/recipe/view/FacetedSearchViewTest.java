@@ -0,0 +1,68 @@
+package com.recipeadjuster.recipe.view;
+
+import com.recipeadjuster.recipe.dto.RecipeSearchResponse;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetedSearchViewTest {
+
+    @Test
+    void shouldReadPageTotalAndFacetCounts() {
+        FacetedSearchView view = FacetedSearchView.from(facetDocument(42), 10_000);
+
+        assertThat(view.getResults()).extracting(RecipeSummaryView::getTitle).containsExactly("Risotto");
+        assertThat(view.getTotal()).isEqualTo(42);
+        assertThat(view.isTotalCapped()).isFalse();
+        assertThat(view.getFacets().getCuisine()).extracting(RecipeSearchResponse.FacetCount::getValue)
+            .containsExactly("Italian", "French");
+        assertThat(view.getFacets().getCuisine().get(0).getCount()).isEqualTo(30);
+        assertThat(view.getFacets().getDifficulty()).singleElement()
+            .extracting(RecipeSearchResponse.FacetCount::getValue).isEqualTo("EASY");
+        assertThat(view.getFacets().getDietary()).extracting(RecipeSearchResponse.FacetCount::getValue)
+            .containsExactly("vegetarian");
+    }
+
+    @Test
+    void shouldFlagTotalsPastTheCountLimitAsCapped() {
+        FacetedSearchView view = FacetedSearchView.from(facetDocument(101), 100);
+
+        assertThat(view.getTotal()).isEqualTo(100);
+        assertThat(view.isTotalCapped()).isTrue();
+    }
+
+    @Test
+    void shouldReadNoMatchesAsEmpty() {
+        BsonDocument empty = raw(new Document("results", List.of()).append("total", List.of())
+            .append("cuisine", List.of()).append("difficulty", List.of()).append("dietary", List.of()));
+
+        FacetedSearchView view = FacetedSearchView.from(empty, 100);
+
+        assertThat(view.getResults()).isEmpty();
+        assertThat(view.getTotal()).isZero();
+        assertThat(view.getFacets().getCuisine()).isEmpty();
+    }
+
+    private static BsonDocument facetDocument(int total) {
+        return raw(new Document("results", List.of(new Document("_id", "r1").append("title", "Risotto")))
+            .append("total", List.of(new Document("total", total)))
+            .append("cuisine", List.of(bucket("Italian", 30), bucket("French", 12)))
+            // Recipes without a difficulty are counted under a null _id
+            .append("difficulty", List.of(bucket("EASY", 40), bucket(null, 2)))
+            .append("dietary", List.of(bucket("vegetarian", 9))));
+    }
+
+    private static Document bucket(String value, int count) {
+        return new Document("_id", value).append("count", count);
+    }
+
+    private static BsonDocument raw(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+}
@@ -6,6 +6,7 @@ public final class KafkaTopics {
     public static final String SUBSTITUTION_REQUESTED = "substitution.requested";
     public static final String USER_PREFERENCE_UPDATED = "user.preference.updated";
     public static final String ANALYTICS_EVENT = "analytics.event";
+    public static final String RECIPE_EVENTS = "recipe-events";
 
     private KafkaTopics() {
         // Utility class
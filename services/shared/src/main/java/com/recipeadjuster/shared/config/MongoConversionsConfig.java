@@ -0,0 +1,22 @@
+package com.recipeadjuster.shared.config;
+
+import com.recipeadjuster.shared.mongo.EmbeddingCodec;
+import com.recipeadjuster.shared.mongo.EmbeddingConverters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
+public class MongoConversionsConfig {
+
+    /**
+     * Replaces Boot's default conversions. {@code embeddings.storage.format}
+     * is {@code float32} (lossless) or {@code int8} (quantized, a quarter of the size).
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions(
+            @Value("${embeddings.storage.format:float32}") String format) {
+        return new MongoCustomConversions(EmbeddingConverters.all(EmbeddingCodec.Format.parse(format)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.recipeadjuster.shared.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+
+/**
+ * Dense embedding vector. Held as a primitive {@code float[]} (about 1.5 KB
+ * for 384 dimensions instead of ~9 KB of boxed doubles) and stored in Mongo
+ * as packed binary; see {@link com.recipeadjuster.shared.mongo.EmbeddingCodec}.
+ * In JSON it is a plain array of numbers.
+ */
+public final class Embedding {
+
+    private final float[] values;
+
+    private Embedding(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Takes ownership of {@code values}; the caller must not modify it afterwards.
+     */
+    @JsonCreator
+    public static Embedding of(float[] values) {
+        return new Embedding(values);
+    }
+
+    /**
+     * The backing array, shared rather than copied; treat it as read-only.
+     */
+    @JsonValue
+    public float[] values() {
+        return values;
+    }
+
+    public int dimensions() {
+        return values.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Embedding embedding && Arrays.equals(values, embedding.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "Embedding[" + values.length + "]";
+    }
+}
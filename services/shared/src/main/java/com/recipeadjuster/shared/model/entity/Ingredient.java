@@ -37,7 +37,7 @@ public class Ingredient {
     
     private List<String> flavorProfile;
     
-    private List<Double> embedding;
+    private Embedding embedding;
     
     public enum IngredientCategory {
         PROTEIN, VEGETABLE, FRUIT, DAIRY, GRAIN, SPICE, CONDIMENT, OIL, SWEETENER, BEVERAGE, OTHER
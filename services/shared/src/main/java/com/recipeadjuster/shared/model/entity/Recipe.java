@@ -24,6 +24,9 @@ import java.util.UUID;
     @CompoundIndex(name = "cuisine_approved_idx", def = "{'cuisine': 1, 'isApproved': 1}"),
     @CompoundIndex(name = "difficulty_approved_idx", def = "{'difficulty': 1, 'isApproved': 1}"),
     @CompoundIndex(name = "rating_approved_idx", def = "{'ratings.average': -1, 'isApproved': 1}"),
+    @CompoundIndex(name = "rating_id_approved_idx", def = "{'ratings.average': -1, '_id': -1, 'isApproved': 1}"),
+    @CompoundIndex(name = "created_id_approved_idx", def = "{'createdAt': -1, '_id': -1, 'isApproved': 1}"),
+    @CompoundIndex(name = "cooktime_id_approved_idx", def = "{'cookTime': 1, '_id': 1, 'isApproved': 1}"),
     @CompoundIndex(name = "tags_approved_idx", def = "{'tags': 1, 'isApproved': 1}"),
     @CompoundIndex(name = "cuisine_cooktime_idx", def = "{'cuisine': 1, 'cookTime': 1}")
 })
@@ -79,7 +82,7 @@ public class Recipe {
     
     private LocalDateTime updatedAt;
     
-    private List<Double> embedding;
+    private Embedding embedding;
     
     public enum Difficulty {
         EASY, MEDIUM, HARD
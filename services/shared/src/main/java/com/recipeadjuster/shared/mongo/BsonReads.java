@@ -0,0 +1,116 @@
+package com.recipeadjuster.shared.mongo;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Null-tolerant typed reads from a {@link BsonDocument}, for mapping projected
+ * documents by hand. A missing field, a BSON null or an unexpected type all
+ * read as {@code null} (or an empty list).
+ */
+public final class BsonReads {
+
+    private BsonReads() {
+    }
+
+    public static String id(BsonDocument document) {
+        BsonValue value = document.get("_id");
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isObjectId() ? value.asObjectId().getValue().toHexString() : string(value);
+    }
+
+    public static String string(BsonDocument document, String field) {
+        return string(document.get(field));
+    }
+
+    public static Integer integer(BsonDocument document, String field) {
+        BsonValue value = document.get(field);
+        return value != null && value.isNumber() ? value.asNumber().intValue() : null;
+    }
+
+    public static Double decimal(BsonDocument document, String field) {
+        BsonValue value = document.get(field);
+        return value != null && value.isNumber() ? value.asNumber().doubleValue() : null;
+    }
+
+    public static Boolean bool(BsonDocument document, String field) {
+        BsonValue value = document.get(field);
+        return value != null && value.isBoolean() ? value.asBoolean().getValue() : null;
+    }
+
+    public static Instant instant(BsonDocument document, String field) {
+        BsonValue value = document.get(field);
+        return value != null && value.isDateTime() ? Instant.ofEpochMilli(value.asDateTime().getValue()) : null;
+    }
+
+    public static BsonDocument document(BsonDocument document, String field) {
+        BsonValue value = document.get(field);
+        return value != null && value.isDocument() ? value.asDocument() : null;
+    }
+
+    public static List<BsonDocument> documents(BsonDocument document, String field) {
+        BsonArray array = array(document, field);
+        List<BsonDocument> documents = new ArrayList<>(array.size());
+        for (BsonValue value : array) {
+            if (value.isDocument()) {
+                documents.add(value.asDocument());
+            }
+        }
+        return documents;
+    }
+
+    public static List<String> strings(BsonDocument document, String field) {
+        BsonArray array = array(document, field);
+        List<String> strings = new ArrayList<>(array.size());
+        for (BsonValue value : array) {
+            String string = string(value);
+            if (string != null) {
+                strings.add(string);
+            }
+        }
+        return strings;
+    }
+
+    /**
+     * An embedding stored either as {@link EmbeddingCodec} binary or as a
+     * legacy array of numbers.
+     */
+    public static float[] floats(BsonDocument document, String field) {
+        BsonValue value = document.get(field);
+        if (value == null) {
+            return null;
+        }
+        if (value.isBinary()) {
+            return EmbeddingCodec.decode(value.asBinary().getData());
+        }
+        if (!value.isArray()) {
+            return null;
+        }
+        BsonArray array = value.asArray();
+        float[] floats = new float[array.size()];
+        for (int i = 0; i < floats.length; i++) {
+            BsonValue element = array.get(i);
+            if (!element.isNumber()) {
+                return null;
+            }
+            floats[i] = (float) element.asNumber().doubleValue();
+        }
+        return floats;
+    }
+
+    private static BsonArray array(BsonDocument document, String field) {
+        BsonValue value = document.get(field);
+        return value != null && value.isArray() ? value.asArray() : new BsonArray();
+    }
+
+    private static String string(BsonValue value) {
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+}
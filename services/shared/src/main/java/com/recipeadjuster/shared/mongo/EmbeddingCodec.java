@@ -0,0 +1,90 @@
+package com.recipeadjuster.shared.mongo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Packed binary layout for embeddings stored as BSON {@code BinData}.
+ * <p>
+ * The first byte names the format. {@link Format#FLOAT32} follows it with
+ * the values as little-endian IEEE floats (4 bytes per dimension).
+ * {@link Format#INT8} follows it with a little-endian float scale and one
+ * signed byte per dimension, symmetric scalar quantization where
+ * {@code value = q * scale} and {@code scale = max|value| / 127}; the error
+ * per component is at most {@code scale / 2}.
+ */
+public final class EmbeddingCodec {
+
+    private static final byte FLOAT32_TAG = 1;
+    private static final byte INT8_TAG = 2;
+
+    public enum Format {
+        FLOAT32, INT8;
+
+        public static Format parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private EmbeddingCodec() {
+    }
+
+    public static byte[] encode(float[] values, Format format) {
+        return format == Format.INT8 ? encodeInt8(values) : encodeFloat32(values);
+    }
+
+    public static float[] decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        byte tag = buffer.get();
+        if (tag == FLOAT32_TAG) {
+            float[] values = new float[buffer.remaining() / Float.BYTES];
+            buffer.asFloatBuffer().get(values);
+            return values;
+        }
+        if (tag == INT8_TAG) {
+            float scale = buffer.getFloat();
+            float[] values = new float[buffer.remaining()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buffer.get() * scale;
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Unknown embedding format tag " + tag);
+    }
+
+    /**
+     * Legacy storage: a BSON array of doubles.
+     */
+    public static float[] fromNumbers(List<?> numbers) {
+        float[] values = new float[numbers.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ((Number) numbers.get(i)).floatValue();
+        }
+        return values;
+    }
+
+    private static byte[] encodeFloat32(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(FLOAT32_TAG);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static byte[] encodeInt8(float[] values) {
+        float maxAbs = 0f;
+        for (float value : values) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        float scale = maxAbs == 0f ? 0f : maxAbs / 127f;
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Float.BYTES + values.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(INT8_TAG);
+        buffer.putFloat(scale);
+        for (float value : values) {
+            buffer.put(scale == 0f ? 0 : (byte) Math.max(-127, Math.min(127, Math.round(value / scale))));
+        }
+        return buffer.array();
+    }
+}
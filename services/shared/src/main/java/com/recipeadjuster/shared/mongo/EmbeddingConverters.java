@@ -0,0 +1,54 @@
+package com.recipeadjuster.shared.mongo;
+
+import com.recipeadjuster.shared.model.entity.Embedding;
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.List;
+
+/**
+ * Spring Data converters between {@link Embedding} and its stored forms.
+ * Writes always produce {@code BinData}; reads also accept the legacy array
+ * of doubles so documents can be migrated lazily or in bulk.
+ */
+public final class EmbeddingConverters {
+
+    private EmbeddingConverters() {
+    }
+
+    public static List<Converter<?, ?>> all(EmbeddingCodec.Format format) {
+        return List.of(new EmbeddingToBinary(format), new BinaryToEmbedding(), new ListToEmbedding());
+    }
+
+    @WritingConverter
+    static final class EmbeddingToBinary implements Converter<Embedding, Binary> {
+        private final EmbeddingCodec.Format format;
+
+        EmbeddingToBinary(EmbeddingCodec.Format format) {
+            this.format = format;
+        }
+
+        @Override
+        public Binary convert(Embedding source) {
+            return new Binary(EmbeddingCodec.encode(source.values(), format));
+        }
+    }
+
+    @ReadingConverter
+    static final class BinaryToEmbedding implements Converter<Binary, Embedding> {
+        @Override
+        public Embedding convert(Binary source) {
+            return Embedding.of(EmbeddingCodec.decode(source.getData()));
+        }
+    }
+
+    @ReadingConverter
+    static final class ListToEmbedding implements Converter<List<?>, Embedding> {
+        @Override
+        public Embedding convert(List<?> source) {
+            return Embedding.of(EmbeddingCodec.fromNumbers(source));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.recipeadjuster.shared.mongo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-off rewrite of legacy embeddings (BSON arrays of doubles) into the
+ * packed {@link EmbeddingCodec} format, enabled with
+ * {@code embeddings.migration.enabled=true}. Documents are streamed with only
+ * {@code _id} and {@code embedding} projected and updated with unordered bulk
+ * writes; already-binary documents are not matched, so the job can be rerun.
+ * Logs the stored size of the embedding field before and after.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "embeddings.migration.enabled", havingValue = "true")
+public class EmbeddingStorageMigration implements ApplicationRunner {
+
+    private static final List<String> COLLECTIONS = List.of("ingredients", "recipes");
+    private static final String FIELD = "embedding";
+
+    private final MongoTemplate mongoTemplate;
+    private final EmbeddingCodec.Format format;
+    private final int batchSize;
+
+    public EmbeddingStorageMigration(
+            MongoTemplate mongoTemplate,
+            @Value("${embeddings.storage.format:float32}") String format,
+            @Value("${embeddings.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.format = EmbeddingCodec.Format.parse(format);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String collection : COLLECTIONS) {
+            migrate(collection);
+        }
+    }
+
+    public Report migrate(String collectionName) {
+        MongoCollection<RawBsonDocument> collection = mongoTemplate.getCollection(collectionName)
+            .withDocumentClass(RawBsonDocument.class);
+        Bson legacy = Filters.type(FIELD, "array");
+
+        List<WriteModel<RawBsonDocument>> batch = new ArrayList<>(batchSize);
+        long documents = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        try (MongoCursor<RawBsonDocument> cursor = collection.find(legacy)
+                .projection(Projections.include(FIELD))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                RawBsonDocument document = cursor.next();
+                BsonValue id = document.get("_id");
+                BsonArray array = document.getArray(FIELD);
+
+                float[] values = new float[array.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = (float) array.get(i).asNumber().doubleValue();
+                }
+                BsonBinary binary = new BsonBinary(EmbeddingCodec.encode(values, format));
+
+                bytesBefore += fieldSize(array);
+                bytesAfter += fieldSize(binary);
+                documents++;
+                batch.add(new UpdateOneModel<>(Filters.eq("_id", id), Updates.set(FIELD, binary)));
+                if (batch.size() == batchSize) {
+                    flush(collection, batch);
+                }
+            }
+        }
+        flush(collection, batch);
+
+        Report report = new Report(collectionName, documents, bytesBefore, bytesAfter);
+        log.info("Migrated {} {} embeddings to {}: {} -> {} bytes ({}%)", documents, collectionName,
+            format, bytesBefore, bytesAfter, report.percentOfOriginal());
+        return report;
+    }
+
+    private static void flush(MongoCollection<RawBsonDocument> collection, List<WriteModel<RawBsonDocument>> batch) {
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+            batch.clear();
+        }
+    }
+
+    // Encoded size of a single-field document holding the value, minus the document framing.
+    private static int fieldSize(BsonValue value) {
+        RawBsonDocument encoded = new RawBsonDocument(new BsonDocument(FIELD, value), new BsonDocumentCodec());
+        return encoded.getByteBuffer().remaining() - 5;
+    }
+
+    public record Report(String collection, long documents, long bytesBefore, long bytesAfter) {
+        public long percentOfOriginal() {
+            return bytesBefore == 0 ? 100 : Math.round(bytesAfter * 100.0 / bytesBefore);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.recipeadjuster.shared.mongo;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Facet;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Runs a {@link Query} against an entity's collection and hands each result to
+ * a mapper as an undecoded {@link RawBsonDocument}, bypassing the
+ * reflection-based entity converter. Callers are expected to restrict the
+ * query to the fields they read with {@code query.fields().include(...)}.
+ * <p>
+ * Filter, projection and sort still go through Spring's {@link QueryMapper}, so
+ * property names and enum values are translated exactly as for
+ * {@code mongoTemplate.find}. The bytes each query returns are recorded once
+ * per query in the {@code mongo.query.bytes} summary, tagged with the query
+ * name.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectedQueryReader {
+
+    /** The {@link #facet} branch holding the page of projected documents. */
+    public static final String RESULTS = "results";
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public <T> List<T> find(String queryName, Query query, Class<?> entityClass, Function<RawBsonDocument, T> mapper) {
+        MongoPersistentEntity<?> entity = entity(entityClass);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        Document projection = queryMapper.getMappedFields(query.getFieldsObject(), entity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+
+        FindIterable<RawBsonDocument> results = mongoTemplate.getCollection(entity.getCollection())
+            .withDocumentClass(RawBsonDocument.class)
+            .find(filter)
+            .projection(projection)
+            .sort(sort)
+            .skip((int) query.getSkip());
+        if (query.getLimit() > 0) {
+            results = results.limit(query.getLimit());
+        }
+
+        long bytes = 0;
+        List<T> mapped = new ArrayList<>();
+        try (MongoCursor<RawBsonDocument> cursor = results.iterator()) {
+            while (cursor.hasNext()) {
+                RawBsonDocument document = cursor.next();
+                bytes += document.getByteBuffer().remaining();
+                mapped.add(mapper.apply(document));
+            }
+        }
+        bytesRead(queryName).record(bytes);
+        return mapped;
+    }
+
+    /**
+     * Runs a query as a single aggregation: {@code $match} on its filter,
+     * then one {@code $facet} whose {@value #RESULTS} branch sorts, pages and
+     * projects like {@link #find}, next to the given branches over the same
+     * matches. The branches get raw stages, so they name stored fields.
+     * Returns the one document {@code $facet} produces.
+     */
+    public RawBsonDocument facet(String queryName, Query query, Class<?> entityClass, Map<String, List<Bson>> branches) {
+        MongoPersistentEntity<?> entity = entity(entityClass);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+        Document projection = queryMapper.getMappedFields(query.getFieldsObject(), entity);
+        List<Bson> results = new ArrayList<>();
+        if (!sort.isEmpty()) {
+            results.add(Aggregates.sort(sort));
+        }
+        if (query.getSkip() > 0) {
+            results.add(Aggregates.skip((int) query.getSkip()));
+        }
+        if (query.getLimit() > 0) {
+            results.add(Aggregates.limit(query.getLimit()));
+        }
+        if (!projection.isEmpty()) {
+            results.add(Aggregates.project(projection));
+        }
+
+        List<Facet> facets = new ArrayList<>();
+        facets.add(new Facet(RESULTS, results));
+        branches.forEach((name, stages) -> facets.add(new Facet(name, stages)));
+        List<Bson> pipeline = List.of(
+            Aggregates.match(queryMapper.getMappedObject(query.getQueryObject(), entity)),
+            Aggregates.facet(facets));
+
+        RawBsonDocument document = mongoTemplate.getCollection(entity.getCollection())
+            .withDocumentClass(RawBsonDocument.class)
+            .aggregate(pipeline)
+            .allowDiskUse(true)
+            .first();
+        if (document == null) {
+            document = RawBsonDocument.parse("{}");
+        }
+        bytesRead(queryName).record(document.getByteBuffer().remaining());
+        return document;
+    }
+
+    private MongoPersistentEntity<?> entity(Class<?> entityClass) {
+        return mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+    }
+
+    private DistributionSummary bytesRead(String queryName) {
+        return DistributionSummary.builder("mongo.query.bytes")
+            .description("Bytes returned per projected query")
+            .baseUnit("bytes")
+            .tag("query", queryName)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.recipeadjuster.shared.mongo;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BsonReadsTest {
+
+    @Test
+    void shouldReadProjectedFieldsFromRawDocument() {
+        ObjectId id = new ObjectId();
+        BsonDocument document = new RawBsonDocument(new Document("_id", id)
+            .append("title", "Pad Thai")
+            .append("cookTime", 20)
+            .append("createdAt", new Date(1_700_000_000_000L))
+            .append("ratings", new Document("average", 4.5).append("count", 12L))
+            .append("tags", List.of("thai", "noodles"))
+            .append("ingredients", List.of(new Document("name", "rice noodles").append("optional", true))),
+            new DocumentCodec());
+
+        assertThat(BsonReads.id(document)).isEqualTo(id.toHexString());
+        assertThat(BsonReads.string(document, "title")).isEqualTo("Pad Thai");
+        assertThat(BsonReads.integer(document, "cookTime")).isEqualTo(20);
+        assertThat(BsonReads.instant(document, "createdAt")).isEqualTo(Instant.ofEpochMilli(1_700_000_000_000L));
+        assertThat(BsonReads.decimal(BsonReads.document(document, "ratings"), "average")).isEqualTo(4.5);
+        assertThat(BsonReads.integer(BsonReads.document(document, "ratings"), "count")).isEqualTo(12);
+        assertThat(BsonReads.strings(document, "tags")).containsExactly("thai", "noodles");
+        assertThat(BsonReads.documents(document, "ingredients")).hasSize(1);
+        assertThat(BsonReads.bool(BsonReads.documents(document, "ingredients").get(0), "optional")).isTrue();
+    }
+
+    @Test
+    void shouldTreatMissingAndMistypedFieldsAsAbsent() {
+        BsonDocument document = new RawBsonDocument(new Document("_id", "plain-id")
+            .append("title", 42)
+            .append("description", null), new DocumentCodec());
+
+        assertThat(BsonReads.id(document)).isEqualTo("plain-id");
+        assertThat(BsonReads.string(document, "title")).isNull();
+        assertThat(BsonReads.string(document, "description")).isNull();
+        assertThat(BsonReads.integer(document, "cookTime")).isNull();
+        assertThat(BsonReads.instant(document, "title")).isNull();
+        assertThat(BsonReads.document(document, "ratings")).isNull();
+        assertThat(BsonReads.strings(document, "tags")).isEmpty();
+    }
+
+    @Test
+    void shouldReadEmbeddingsFromBinaryAndLegacyArrays() {
+        float[] vector = {0.25f, -0.5f, 1f};
+        BsonDocument document = new RawBsonDocument(new Document("packed",
+                new Binary(EmbeddingCodec.encode(vector, EmbeddingCodec.Format.FLOAT32)))
+            .append("legacy", List.of(0.25, -0.5, 1.0))
+            .append("broken", List.of("a")), new DocumentCodec());
+
+        assertThat(BsonReads.floats(document, "packed")).containsExactly(vector);
+        assertThat(BsonReads.floats(document, "legacy")).containsExactly(vector);
+        assertThat(BsonReads.floats(document, "broken")).isNull();
+        assertThat(BsonReads.floats(document, "missing")).isNull();
+    }
+}
@@ -0,0 +1,75 @@
+package com.recipeadjuster.shared.mongo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EmbeddingCodecTest {
+
+    private static final int DIMENSIONS = 384;
+
+    @Test
+    void shouldRoundTripFloat32Exactly() {
+        float[] vector = randomVector(new SplittableRandom(1));
+
+        byte[] encoded = EmbeddingCodec.encode(vector, EmbeddingCodec.Format.FLOAT32);
+
+        assertThat(encoded).hasSize(1 + DIMENSIONS * Float.BYTES);
+        assertThat(EmbeddingCodec.decode(encoded)).containsExactly(vector);
+    }
+
+    @Test
+    void shouldQuantizeInt8WithinHalfAStep() {
+        float[] vector = randomVector(new SplittableRandom(2));
+        float maxAbs = 0f;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+
+        byte[] encoded = EmbeddingCodec.encode(vector, EmbeddingCodec.Format.INT8);
+        float[] decoded = EmbeddingCodec.decode(encoded);
+
+        assertThat(encoded).hasSize(1 + Float.BYTES + DIMENSIONS);
+        float halfStep = maxAbs / 127f / 2f;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            assertThat(decoded[i]).isCloseTo(vector[i], within(halfStep + 1e-6f));
+        }
+        assertThat(cosine(vector, decoded)).isGreaterThan(0.999);
+    }
+
+    @Test
+    void shouldEncodeZeroVectorAsZeros() {
+        float[] decoded = EmbeddingCodec.decode(EmbeddingCodec.encode(new float[8], EmbeddingCodec.Format.INT8));
+
+        assertThat(decoded).containsOnly(0f);
+    }
+
+    @Test
+    void shouldReadLegacyNumberArrays() {
+        assertThat(EmbeddingCodec.fromNumbers(List.of(0.5, -1.25, 2))).containsExactly(0.5f, -1.25f, 2f);
+    }
+
+    private static float[] randomVector(SplittableRandom random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (random.nextDouble() * 2 - 1);
+        }
+        return vector;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+}
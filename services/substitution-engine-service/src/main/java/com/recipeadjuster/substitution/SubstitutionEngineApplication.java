@@ -1,13 +1,16 @@
 package com.recipeadjuster.substitution;
 
+import com.recipeadjuster.shared.metrics.VirtualThreadPinningMonitor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableCaching
+@Import(VirtualThreadPinningMonitor.class)
 public class SubstitutionEngineApplication {
     public static void main(String[] args) {
         SpringApplication.run(SubstitutionEngineApplication.class, args);
@@ -1,13 +1,16 @@
 package com.recipeadjuster.userprofile;
 
+import com.recipeadjuster.shared.metrics.VirtualThreadPinningMonitor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableScheduling
+@Import(VirtualThreadPinningMonitor.class)
 public class UserProfileServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(UserProfileServiceApplication.class, args);